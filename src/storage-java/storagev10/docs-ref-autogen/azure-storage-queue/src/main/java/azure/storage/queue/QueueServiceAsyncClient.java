@@ -14,11 +14,12 @@ import com.azure.core.util.FluxUtil;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.implementation.AccountSasImplUtil;
-import com.azure.storage.common.implementation.SasImplUtils;
 import com.azure.storage.common.implementation.StorageImplUtils;
 import com.azure.storage.common.sas.AccountSasSignatureValues;
 import com.azure.storage.queue.implementation.AzureQueueStorageImpl;
 import com.azure.storage.queue.implementation.models.ListQueuesIncludeType;
+import com.azure.storage.queue.implementation.util.PagePrefetchUtils;
+import com.azure.storage.queue.implementation.util.SharedKeySigningPolicy;
 import com.azure.storage.queue.models.QueueCorsRule;
 import com.azure.storage.queue.models.QueueItem;
 import com.azure.storage.queue.models.QueueServiceProperties;
@@ -327,7 +328,7 @@ public final class QueueServiceAsyncClient {
                     response.getValue().getNextMarker(),
                     response.getDeserializedHeaders()));
 
-        return new PagedFlux<>(() -> retriever.apply(marker), retriever);
+        return PagePrefetchUtils.create(marker, retriever, options == null ? null : options.getPrefetchPages());
     }
 
     /**
@@ -628,6 +629,6 @@ public final class QueueServiceAsyncClient {
      */
     public String generateAccountSas(AccountSasSignatureValues accountSasSignatureValues) {
         return new AccountSasImplUtil(accountSasSignatureValues)
-            .generateSas(SasImplUtils.extractSharedKeyCredential(getHttpPipeline()));
+            .generateSas(SharedKeySigningPolicy.extractSharedKeyCredential(getHttpPipeline()));
     }
 }
@@ -21,6 +21,7 @@ import com.azure.storage.queue.implementation.AzureQueueStorageBuilder;
 import com.azure.storage.queue.implementation.AzureQueueStorageImpl;
 
 import com.azure.storage.queue.implementation.util.BuilderHelper;
+import com.azure.storage.queue.models.HttpTransportOptions;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -108,9 +109,10 @@ public final class QueueServiceClientBuilder {
     private SasTokenCredential sasTokenCredential;
 
     private HttpClient httpClient;
+    private HttpTransportOptions transportOptions;
     private final List<HttpPipelinePolicy> additionalPolicies = new ArrayList<>();
     private HttpLogOptions logOptions;
-    private RequestRetryOptions retryOptions = new RequestRetryOptions();
+    private RequestRetryOptions retryOptions = BuilderHelper.getDefaultRetryOptions();
     private HttpPipeline httpPipeline;
 
     private Configuration configuration;
@@ -143,7 +145,7 @@ public final class QueueServiceClientBuilder {
         QueueServiceVersion serviceVersion = version != null ? version : QueueServiceVersion.getLatest();
         HttpPipeline pipeline = (httpPipeline != null) ? httpPipeline : BuilderHelper.buildPipeline(
             storageSharedKeyCredential, tokenCredential, sasTokenCredential, endpoint, retryOptions, logOptions,
-            httpClient, additionalPolicies, configuration, logger);
+            httpClient, transportOptions, additionalPolicies, configuration, logger);
 
         AzureQueueStorageImpl azureQueueStorage = new AzureQueueStorageBuilder()
             .url(endpoint)
@@ -285,6 +287,18 @@ public final class QueueServiceClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the options for the connections of the default {@link HttpClient}. They are ignored if an
+     * {@link #httpClient(HttpClient) HttpClient} is set.
+     *
+     * @param transportOptions {@link HttpTransportOptions}. Pass null to open connections as they are needed.
+     * @return the updated QueueServiceClientBuilder object
+     */
+    public QueueServiceClientBuilder transportOptions(HttpTransportOptions transportOptions) {
+        this.transportOptions = transportOptions;
+        return this;
+    }
+
     /**
      * Adds a pipeline policy to apply on each request sent. The policy will be added after the retry policy. If
      * the method is called multiple times, all policies will be added and their order preserved.
@@ -27,8 +27,8 @@ import com.azure.storage.common.policy.RequestRetryOptions;
 import com.azure.storage.common.policy.RequestRetryPolicy;
 import com.azure.storage.common.policy.ResponseValidationPolicyBuilder;
 import com.azure.storage.common.policy.ScrubEtagPolicy;
-import com.azure.storage.common.policy.StorageSharedKeyCredentialPolicy;
 import com.azure.storage.common.sas.CommonSasQueryParameters;
+import com.azure.storage.queue.models.HttpTransportOptions;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -45,6 +45,7 @@ public final class BuilderHelper {
         CoreUtils.getProperties("azure-storage-queue.properties");
     private static final String SDK_NAME = "name";
     private static final String SDK_VERSION = "version";
+    private static final RequestRetryOptions DEFAULT_RETRY_OPTIONS = new RequestRetryOptions();
 
     /**
      * Determines whether or not the passed authority is IP style, that is it is of the format
@@ -136,16 +137,35 @@ public final class BuilderHelper {
      * @param retryOptions Retry options to set in the retry policy.
      * @param logOptions Logging options to set in the logging policy.
      * @param httpClient HttpClient to use in the builder.
+     * @param transportOptions Options for the connections of the default HttpClient, used if there is no HttpClient.
      * @param additionalPolicies Additional {@link HttpPipelinePolicy policies} to set in the pipeline.
      * @param configuration Configuration store contain environment settings.
      * @param logger {@link ClientLogger} used to log any exception.
-     * @return A new {@link HttpPipeline} from the passed values.
+     * @return An {@link HttpPipeline} from the passed values, shared with other builders passing the same values
+     * unless there are additional policies.
      */
     public static HttpPipeline buildPipeline(StorageSharedKeyCredential storageSharedKeyCredential,
         TokenCredential tokenCredential, SasTokenCredential sasTokenCredential, String endpoint,
         RequestRetryOptions retryOptions, HttpLogOptions logOptions, HttpClient httpClient,
-        List<HttpPipelinePolicy> additionalPolicies, Configuration configuration, ClientLogger logger) {
+        HttpTransportOptions transportOptions, List<HttpPipelinePolicy> additionalPolicies,
+        Configuration configuration, ClientLogger logger) {
+        HttpClient client = httpClient == null ? SharedPipelineRegistry.getHttpClient(transportOptions) : httpClient;
+
+        // Additional policies may hold state of their own, so a pipeline holding them is never shared.
+        if (!additionalPolicies.isEmpty()) {
+            return createPipeline(storageSharedKeyCredential, tokenCredential, sasTokenCredential, endpoint,
+                retryOptions, logOptions, client, additionalPolicies, configuration, logger);
+        }
+        return SharedPipelineRegistry.getOrBuild(storageSharedKeyCredential, tokenCredential, sasTokenCredential,
+            endpoint, retryOptions, logOptions, client, configuration,
+            () -> createPipeline(storageSharedKeyCredential, tokenCredential, sasTokenCredential, endpoint,
+                retryOptions, logOptions, client, additionalPolicies, configuration, logger));
+    }
 
+    private static HttpPipeline createPipeline(StorageSharedKeyCredential storageSharedKeyCredential,
+        TokenCredential tokenCredential, SasTokenCredential sasTokenCredential, String endpoint,
+        RequestRetryOptions retryOptions, HttpLogOptions logOptions, HttpClient httpClient,
+        List<HttpPipelinePolicy> additionalPolicies, Configuration configuration, ClientLogger logger) {
         // Closest to API goes first, closest to wire goes last.
         List<HttpPipelinePolicy> policies = new ArrayList<>();
 
@@ -155,11 +175,14 @@ public final class BuilderHelper {
         HttpPolicyProviders.addBeforeRetryPolicies(policies);
         policies.add(new RequestRetryPolicy(retryOptions));
 
+        // Each attempt waits its turn at the endpoint, and is only dated and signed once it may be sent.
+        policies.add(new ConcurrencyGovernorPolicy());
+
         policies.add(new AddDatePolicy());
 
         HttpPipelinePolicy credentialPolicy;
         if (storageSharedKeyCredential != null) {
-            credentialPolicy =  new StorageSharedKeyCredentialPolicy(storageSharedKeyCredential);
+            credentialPolicy =  new SharedKeySigningPolicy(storageSharedKeyCredential);
         } else if (tokenCredential != null) {
             httpsValidation(tokenCredential, "bearer token", endpoint, logger);
             credentialPolicy =  new BearerTokenAuthenticationPolicy(tokenCredential,
@@ -202,6 +225,16 @@ public final class BuilderHelper {
         return defaultOptions;
     }
 
+    /**
+     * Gets the default retry options for Storage Queue. The instance is shared by every builder which is not given
+     * retry options, which lets their pipelines be shared as well.
+     *
+     * @return the default retry options.
+     */
+    public static RequestRetryOptions getDefaultRetryOptions() {
+        return DEFAULT_RETRY_OPTIONS;
+    }
+
     /*
      * Creates a {@link UserAgentPolicy} using the default blob module name and version.
      *
@@ -0,0 +1,169 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.queue.implementation.util;
+
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This policy limits the requests in flight to each storage account endpoint from this process, shrinking the limit
+ * when the service throttles and growing it back while it does not, so that clients running many operations at their
+ * full concurrency back off together rather than each retrying into a throttling service.
+ *
+ * <p>Each attempt waits for a permit from the governor of its endpoint before it is dated, signed and sent. The limit
+ * starts unbounded, so nothing waits until the endpoint first throttles. A 503 response, or a 500 response with the
+ * OperationTimedOut error code, halves the limit, at most once for all of the attempts in flight when it happened. Each
+ * other response grows the limit by one over as many responses as the limit, that is by about one each round trip,
+ * as long as the limit is what holds requests back. A permit is returned once the response headers arrive.</p>
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class ConcurrencyGovernorPolicy implements HttpPipelinePolicy {
+    private static final String ERROR_CODE_HEADER = "x-ms-error-code";
+    private static final String OPERATION_TIMED_OUT = "OperationTimedOut";
+
+    private static final Map<String, Governor> GOVERNORS = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        URL url = context.getHttpRequest().getUrl();
+        Governor governor = GOVERNORS.computeIfAbsent(url.getHost().toLowerCase(Locale.ROOT) + ":" + url.getPort(),
+            ignored -> new Governor());
+
+        // The rest of the pipeline only runs once a permit is held, so the request is dated when it is sent.
+        return governor.acquire().flatMap(permit -> Mono.defer(next::process)
+            .doOnNext(response -> permit.release(isThrottled(response) ? Outcome.THROTTLED : Outcome.SUCCEEDED))
+            .doFinally(ignored -> permit.release(Outcome.FAILED)));
+    }
+
+    private static boolean isThrottled(HttpResponse response) {
+        return response.getStatusCode() == 503
+            || (response.getStatusCode() == 500
+                && OPERATION_TIMED_OUT.equals(response.getHeaderValue(ERROR_CODE_HEADER)));
+    }
+
+    private enum Outcome {
+        SUCCEEDED,
+        THROTTLED,
+        FAILED
+    }
+
+    /*
+    The limit and the attempts in flight and waiting for one endpoint. Every change is made holding the governor's
+    lock, which is only held for bookkeeping, never while a request is sent.
+     */
+    private static final class Governor {
+        private static final double MIN_LIMIT = 1;
+        private static final double DECREASE_FACTOR = 0.5;
+
+        private final Queue<Permit> waiting = new ArrayDeque<>();
+        private double limit = Double.POSITIVE_INFINITY;
+        private int inFlight;
+
+        // Incremented on each decrease, so that the attempts in flight at the time cannot decrease the limit again.
+        private long generation;
+
+        Mono<Permit> acquire() {
+            return Mono.create(sink -> {
+                Permit permit = new Permit(this, sink);
+                boolean granted;
+                synchronized (this) {
+                    sink.onCancel(() -> cancel(permit));
+                    if (permit.cancelled) {
+                        return;
+                    }
+                    granted = waiting.isEmpty() && hasCapacity();
+                    if (granted) {
+                        grant(permit);
+                    } else {
+                        waiting.add(permit);
+                    }
+                }
+                if (granted) {
+                    sink.success(permit);
+                }
+            });
+        }
+
+        private boolean hasCapacity() {
+            return inFlight + 1 <= limit;
+        }
+
+        private void grant(Permit permit) {
+            inFlight++;
+            permit.granted = true;
+            permit.generation = generation;
+        }
+
+        private void cancel(Permit permit) {
+            synchronized (this) {
+                permit.cancelled = true;
+                if (waiting.remove(permit)) {
+                    return;
+                }
+            }
+            permit.release(Outcome.FAILED);
+        }
+
+        void release(Permit permit, Outcome outcome) {
+            List<Permit> granted = new ArrayList<>();
+            synchronized (this) {
+                if (!permit.granted || permit.released) {
+                    return;
+                }
+                permit.released = true;
+
+                boolean limited = inFlight + waiting.size() >= limit;
+                inFlight--;
+                if (outcome == Outcome.THROTTLED && permit.generation == generation) {
+                    limit = Math.max(MIN_LIMIT, Math.min(limit, inFlight + 1) * DECREASE_FACTOR);
+                    generation++;
+                } else if (outcome == Outcome.SUCCEEDED && limited) {
+                    limit += 1 / limit;
+                }
+
+                while (!waiting.isEmpty() && hasCapacity()) {
+                    Permit next = waiting.poll();
+                    grant(next);
+                    granted.add(next);
+                }
+            }
+
+            for (Permit next : granted) {
+                next.sink.success(next);
+            }
+        }
+    }
+
+    private static final class Permit {
+        private final Governor governor;
+        private final MonoSink<Permit> sink;
+        private boolean granted;
+        private boolean cancelled;
+        private boolean released;
+        private long generation;
+
+        Permit(Governor governor, MonoSink<Permit> sink) {
+            this.governor = governor;
+            this.sink = sink;
+        }
+
+        void release(Outcome outcome) {
+            governor.release(this, outcome);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.queue.implementation.util;
+
+import com.azure.core.http.rest.PagedFlux;
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.util.CoreUtils;
+import com.azure.core.util.paging.PageRetriever;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * This class provides helper methods for listings which fetch pages ahead of the consumer.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public class PagePrefetchUtils {
+
+    /*
+    Creates a PagedFlux starting at the continuation token which, once prefetchPages is positive, requests up to that
+    many pages beyond the one being consumed, so that the latency of fetching the next page overlaps processing of the
+    current one. With no prefetch, each page is requested only once the consumer asks for it.
+     */
+    public static <T> PagedFlux<T> create(String continuationToken,
+        Function<String, Mono<PagedResponse<T>>> retriever, Integer prefetchPages) {
+        if (prefetchPages == null || prefetchPages == 0) {
+            return new PagedFlux<>(() -> retriever.apply(continuationToken), retriever);
+        }
+
+        // The retriever is asked once per traversal for every remaining page, so prefetched pages are never shared
+        // between traversals. Pages are still fetched one after another, as each needs the marker of the last.
+        return PagedFlux.create(() -> (PageRetriever<String, PagedResponse<T>>) (token, pageSize) ->
+            retriever.apply(token == null ? continuationToken : token)
+                .expand(page -> CoreUtils.isNullOrEmpty(page.getContinuationToken())
+                    ? Mono.empty()
+                    : retriever.apply(page.getContinuationToken()))
+                .limitRate(prefetchPages, 1));
+    }
+}
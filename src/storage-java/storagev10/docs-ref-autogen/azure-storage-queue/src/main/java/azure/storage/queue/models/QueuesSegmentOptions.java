@@ -6,6 +6,7 @@ package com.azure.storage.queue.models;
 import com.azure.core.annotation.Fluent;
 import com.azure.storage.queue.QueueServiceAsyncClient;
 import com.azure.storage.queue.QueueServiceClient;
+import com.azure.storage.common.implementation.StorageImplUtils;
 
 /**
  * A set of options for selecting queues from Storage Queue service.
@@ -37,6 +38,8 @@ public final class QueuesSegmentOptions {
 
     private Integer maxResultsPerPage;
 
+    private Integer prefetchPages;
+
     /**
      * @return the status of including metadata when listing queues
      */
@@ -90,4 +93,31 @@ public final class QueuesSegmentOptions {
         this.maxResultsPerPage = maxResultsPerPage;
         return this;
     }
+
+    /**
+     * Specifies the number of pages requested ahead of the page being consumed. If not set, or 0, each page is
+     * requested only once the previous page has been consumed.
+     *
+     * @return the number of pages requested ahead of the consumer
+     */
+    public Integer getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Specifies the number of pages requested ahead of the page being consumed, so that fetching the next page
+     * overlaps processing of the current one. Pages are still requested one after another, since each needs the
+     * marker returned by the page before it. Each prefetched page is held in memory until it is consumed.
+     *
+     * @param prefetchPages The number of pages to request ahead, or null or 0 to request pages only as consumed
+     * @return the updated QueuesSegmentOptions object
+     * @throws IllegalArgumentException If {@code prefetchPages} is negative.
+     */
+    public QueuesSegmentOptions setPrefetchPages(Integer prefetchPages) {
+        if (prefetchPages != null) {
+            StorageImplUtils.assertInBounds("prefetchPages", prefetchPages, 0, Integer.MAX_VALUE);
+        }
+        this.prefetchPages = prefetchPages;
+        return this;
+    }
 }
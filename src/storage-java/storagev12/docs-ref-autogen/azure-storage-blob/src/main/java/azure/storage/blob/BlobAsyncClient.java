@@ -8,6 +8,7 @@ import com.azure.core.http.rest.Response;
 import com.azure.core.util.FluxUtil;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.storage.blob.implementation.models.EncryptionScope;
+import com.azure.storage.blob.implementation.util.GzipUtils;
 import com.azure.storage.blob.implementation.util.ModelHelper;
 import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.BlobHttpHeaders;
@@ -21,6 +22,7 @@ import com.azure.storage.blob.options.BlockBlobSimpleUploadOptions;
 import com.azure.storage.blob.models.CpkInfo;
 import com.azure.storage.blob.models.CustomerProvidedKey;
 import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.models.TransferCompression;
 import com.azure.storage.blob.specialized.AppendBlobAsyncClient;
 import com.azure.storage.blob.specialized.BlobAsyncClientBase;
 import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
@@ -34,6 +36,7 @@ import com.azure.storage.common.implementation.UploadBufferPool;
 import com.azure.storage.common.implementation.UploadUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -520,10 +523,14 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
 
             BlockBlobAsyncClient blockBlobAsyncClient = getBlockBlobAsyncClient();
 
+            TransferCompression compression = options.getTransferCompression();
+            BlobHttpHeaders headers = compression == null ? options.getHeaders()
+                : applyContentEncoding(options.getHeaders(), compression);
+
             Function<Flux<ByteBuffer>, Mono<Response<BlockBlobItem>>> uploadInChunksFunction = (stream) ->
                 uploadInChunks(blockBlobAsyncClient, stream, validatedParallelTransferOptions,
-                    options.getHeaders(), options.getMetadata(), options.getTags(),
-                    options.getTier(), validatedRequestConditions);
+                    headers, options.getMetadata(), options.getTags(),
+                    options.getTier(), validatedRequestConditions, compression);
 
             BiFunction<Flux<ByteBuffer>, Long, Mono<Response<BlockBlobItem>>> uploadFullBlobMethod =
                 (stream, length) -> blockBlobAsyncClient.uploadWithResponse(new BlockBlobSimpleUploadOptions(
@@ -537,6 +544,11 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
                 // We can only buffer up to max int due to restrictions in ByteBuffer.
                 (int) Math.min(Integer.MAX_VALUE, validatedParallelTransferOptions.getBlockSizeLong()))
                 : options.getDataFlux();
+
+            // Blocks are compressed independently, so compressed data is always staged in blocks.
+            if (compression != null) {
+                return uploadInChunksFunction.apply(data);
+            }
             return UploadUtils.uploadFullOrChunked(data, ModelHelper.wrapBlobOptions(validatedParallelTransferOptions),
                 uploadInChunksFunction, uploadFullBlobMethod);
         } catch (RuntimeException ex) {
@@ -547,7 +559,7 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
     private Mono<Response<BlockBlobItem>> uploadInChunks(BlockBlobAsyncClient blockBlobAsyncClient,
         Flux<ByteBuffer> data, ParallelTransferOptions parallelTransferOptions, BlobHttpHeaders headers,
         Map<String, String> metadata, Map<String, String> tags, AccessTier tier,
-        BlobRequestConditions requestConditions) {
+        BlobRequestConditions requestConditions, TransferCompression compression) {
         // TODO: Sample/api reference
         // See ProgressReporter for an explanation on why this lock is necessary and why we use AtomicLong.
         AtomicLong totalProgress = new AtomicLong();
@@ -579,8 +591,17 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
 
                 final String blockId = Base64.getEncoder().encodeToString(
                     UUID.randomUUID().toString().getBytes(UTF_8));
-                return blockBlobAsyncClient.stageBlockWithResponse(blockId, progressData, bufferAggregator.length(),
-                    null, requestConditions.getLeaseId())
+                Mono<Response<Void>> stageBlock = compression == null
+                    ? blockBlobAsyncClient.stageBlockWithResponse(blockId, progressData, bufferAggregator.length(),
+                        null, requestConditions.getLeaseId())
+                    // Compression is CPU bound, so each block is compressed on the parallel scheduler.
+                    : FluxUtil.collectBytesInByteBufferStream(progressData)
+                        .publishOn(Schedulers.parallel())
+                        .map(GzipUtils::compress)
+                        .flatMap(compressed -> blockBlobAsyncClient.stageBlockWithResponse(blockId,
+                            Flux.just(ByteBuffer.wrap(compressed)), compressed.length, null,
+                            requestConditions.getLeaseId()));
+                return stageBlock
                     // We only care about the stageBlock insofar as it was successful,
                     // but we need to collect the ids.
                     .map(x -> blockId)
@@ -594,6 +615,30 @@ public class BlobAsyncClient extends BlobAsyncClientBase {
                         .setRequestConditions(requestConditions)));
     }
 
+    /*
+     * Copies the headers so the caller's object is not modified and sets the Content-Encoding of the codec. A
+     * Content-MD5 given by the caller describes the data before it is compressed, so it cannot be stored with the
+     * compressed blob.
+     */
+    private BlobHttpHeaders applyContentEncoding(BlobHttpHeaders headers, TransferCompression compression) {
+        BlobHttpHeaders source = headers == null ? new BlobHttpHeaders() : headers;
+        if (source.getContentEncoding() != null
+            && !compression.getContentEncoding().equalsIgnoreCase(source.getContentEncoding())) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                "'contentEncoding' cannot be set to a different encoding when transfer compression is used."));
+        }
+        if (source.getContentMd5() != null) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                "'contentMd5' cannot be set when transfer compression is used."));
+        }
+        return new BlobHttpHeaders()
+            .setCacheControl(source.getCacheControl())
+            .setContentDisposition(source.getContentDisposition())
+            .setContentLanguage(source.getContentLanguage())
+            .setContentType(source.getContentType())
+            .setContentEncoding(compression.getContentEncoding());
+    }
+
     /**
      * Creates a new block blob with the content of the specified file. By default this method will not overwrite an
      * existing blob.
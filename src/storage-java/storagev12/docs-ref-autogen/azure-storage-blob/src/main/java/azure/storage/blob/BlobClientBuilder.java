@@ -16,6 +16,8 @@ import com.azure.storage.blob.implementation.models.EncryptionScope;
 import com.azure.storage.blob.implementation.util.BuilderHelper;
 import com.azure.storage.blob.models.CpkInfo;
 import com.azure.storage.blob.models.CustomerProvidedKey;
+import com.azure.storage.blob.models.HttpTransportOptions;
+import com.azure.storage.blob.models.SecondaryReadOptions;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.Utility;
 import com.azure.storage.common.implementation.connectionstring.StorageAuthenticationSettings;
@@ -63,9 +65,11 @@ public final class BlobClientBuilder {
     private SasTokenCredential sasTokenCredential;
 
     private HttpClient httpClient;
+    private HttpTransportOptions transportOptions;
     private final List<HttpPipelinePolicy> additionalPolicies = new ArrayList<>();
     private HttpLogOptions logOptions;
-    private RequestRetryOptions retryOptions = new RequestRetryOptions();
+    private RequestRetryOptions retryOptions = BuilderHelper.getDefaultRetryOptions();
+    private SecondaryReadOptions secondaryReadOptions;
     private HttpPipeline httpPipeline;
 
     private Configuration configuration;
@@ -136,8 +140,8 @@ public final class BlobClientBuilder {
         BlobServiceVersion serviceVersion = version != null ? version : BlobServiceVersion.getLatest();
 
         HttpPipeline pipeline = (httpPipeline != null) ? httpPipeline : BuilderHelper.buildPipeline(
-            storageSharedKeyCredential, tokenCredential, sasTokenCredential, endpoint, retryOptions, logOptions,
-            httpClient, additionalPolicies, configuration, logger);
+            storageSharedKeyCredential, tokenCredential, sasTokenCredential, endpoint, retryOptions,
+            secondaryReadOptions, logOptions, httpClient, transportOptions, additionalPolicies, configuration, logger);
 
         return new BlobAsyncClient(pipeline, String.format("%s/%s/%s", endpoint, blobContainerName, blobName),
             serviceVersion, accountName, blobContainerName, blobName, snapshot, customerProvidedKey, encryptionScope,
@@ -364,6 +368,18 @@ public final class BlobClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the options for the connections of the default {@link HttpClient}. They are ignored if an
+     * {@link #httpClient(HttpClient) HttpClient} is set.
+     *
+     * @param transportOptions {@link HttpTransportOptions}. Pass null to open connections as they are needed.
+     * @return the updated BlobClientBuilder object
+     */
+    public BlobClientBuilder transportOptions(HttpTransportOptions transportOptions) {
+        this.transportOptions = transportOptions;
+        return this;
+    }
+
     /**
      * Adds a pipeline policy to apply on each request sent. The policy will be added after the retry policy. If
      * the method is called multiple times, all policies will be added and their order preserved.
@@ -421,6 +437,19 @@ public final class BlobClientBuilder {
         return this;
     }
 
+    /**
+     * Sets the options for routing reads to the secondary endpoint of a read-access geo-redundant storage account.
+     * Reads are only routed to the secondary if {@link SecondaryReadOptions#isAllowStaleReads() stale reads} are
+     * allowed.
+     *
+     * @param secondaryReadOptions {@link SecondaryReadOptions}. Pass null to always read from the primary.
+     * @return the updated BlobClientBuilder object
+     */
+    public BlobClientBuilder secondaryReadOptions(SecondaryReadOptions secondaryReadOptions) {
+        this.secondaryReadOptions = secondaryReadOptions;
+        return this;
+    }
+
     /**
      * Sets the {@link HttpPipeline} to use for the service client.
      *
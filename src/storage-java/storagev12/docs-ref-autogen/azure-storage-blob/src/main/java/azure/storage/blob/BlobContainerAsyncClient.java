@@ -4,6 +4,7 @@
 package com.azure.storage.blob;
 
 import com.azure.core.annotation.ServiceClient;
+import com.azure.core.exception.HttpResponseException;
 import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.HttpResponse;
 import com.azure.core.http.rest.PagedFlux;
@@ -14,47 +15,91 @@ import com.azure.core.http.rest.SimpleResponse;
 import com.azure.core.util.Context;
 import com.azure.core.util.FluxUtil;
 import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.batch.BlobBatchAsyncClient;
+import com.azure.storage.blob.batch.BlobBatchClientBuilder;
+import com.azure.storage.blob.batch.BlobBatchOperationResult;
 import com.azure.storage.blob.implementation.AzureBlobStorageBuilder;
 import com.azure.storage.blob.implementation.AzureBlobStorageImpl;
 import com.azure.storage.blob.implementation.models.ContainerGetAccountInfoHeaders;
 import com.azure.storage.blob.implementation.models.ContainerGetPropertiesHeaders;
-import com.azure.storage.blob.implementation.models.ContainersListBlobFlatSegmentResponse;
-import com.azure.storage.blob.implementation.models.ContainersListBlobHierarchySegmentResponse;
 import com.azure.storage.blob.implementation.models.EncryptionScope;
+import com.azure.storage.blob.implementation.util.BlobListingParser;
+import com.azure.storage.blob.implementation.util.BlobListingStreamClient;
+import com.azure.storage.blob.implementation.util.BlobQueryHelper;
 import com.azure.storage.blob.implementation.util.BlobSasImplUtil;
-import com.azure.storage.blob.implementation.util.ModelHelper;
+import com.azure.storage.blob.implementation.util.DirectoryDownloadUtils;
+import com.azure.storage.blob.implementation.util.HierarchyWalkUtils;
+import com.azure.storage.blob.implementation.util.PagePrefetchUtils;
+import com.azure.storage.blob.implementation.util.SharedKeySigningPolicy;
+import com.azure.storage.blob.models.BlobBeginCopySourceRequestConditions;
 import com.azure.storage.blob.models.BlobContainerAccessPolicies;
 import com.azure.storage.blob.models.BlobContainerEncryptionScope;
 import com.azure.storage.blob.models.BlobContainerProperties;
+import com.azure.storage.blob.models.BlobErrorCode;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobListDetails;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobQueryError;
+import com.azure.storage.blob.models.BlobQueryProgress;
+import com.azure.storage.blob.models.BlobQueryResult;
+import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.BlobSignedIdentifier;
 import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.BlobSummaryField;
+import com.azure.storage.blob.models.BlobSummaryItem;
+import com.azure.storage.blob.models.CopyStatusType;
 import com.azure.storage.blob.models.CpkInfo;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
 import com.azure.storage.blob.models.ListBlobsIncludeItem;
 import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.models.PathRenameMode;
 import com.azure.storage.blob.models.PublicAccessType;
 import com.azure.storage.blob.models.StorageAccountInfo;
 import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.options.BlobBatchOptions;
+import com.azure.storage.blob.options.BlobBeginCopyOptions;
+import com.azure.storage.blob.options.BlobContainerQueryOptions;
+import com.azure.storage.blob.options.BlobDeleteByPrefixOptions;
+import com.azure.storage.blob.options.BlobDirectoryOptions;
+import com.azure.storage.blob.options.BlobDownloadToDirectoryOptions;
+import com.azure.storage.blob.options.BlobHierarchyWalkOptions;
+import com.azure.storage.blob.options.BlobParallelListOptions;
+import com.azure.storage.blob.options.BlobQueryOptions;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.Utility;
-import com.azure.storage.common.implementation.SasImplUtils;
+import com.azure.storage.common.implementation.Constants;
 import com.azure.storage.common.implementation.StorageImplUtils;
+import com.azure.storage.common.implementation.policy.SasTokenCredentialPolicy;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
+import static com.azure.core.util.FluxUtil.fluxContext;
+import static com.azure.core.util.FluxUtil.fluxError;
 import static com.azure.core.util.FluxUtil.monoError;
 import static com.azure.core.util.FluxUtil.pagedFluxError;
 import static com.azure.core.util.FluxUtil.withContext;
@@ -89,8 +134,11 @@ public final class BlobContainerAsyncClient {
 
     public static final String LOG_CONTAINER_NAME = "$logs";
 
+    private static final String HDI_IS_FOLDER_METADATA = "hdi_isfolder";
+
     private final ClientLogger logger = new ClientLogger(BlobContainerAsyncClient.class);
     private final AzureBlobStorageImpl azureBlobStorage;
+    private final BlobListingStreamClient listingClient;
 
     private final String accountName;
     private final String containerName;
@@ -127,6 +175,7 @@ public final class BlobContainerAsyncClient {
             .url(url)
             .version(serviceVersion.getVersion())
             .build();
+        this.listingClient = new BlobListingStreamClient(azureBlobStorage);
         this.serviceVersion = serviceVersion;
 
         this.accountName = accountName;
@@ -907,8 +956,8 @@ public final class BlobContainerAsyncClient {
 
     /*
      * Implementation for this paged listing operation, supporting an optional timeout provided by the synchronous
-     * ContainerClient. Applies the given timeout to each Mono<ContainersListBlobFlatSegmentResponse> backing the
-     * PagedFlux.
+     * ContainerClient. Applies the given timeout to each Mono<BlobListingStreamClient.FlatSegmentResponse>
+     * backing the PagedFlux.
      *
      * @param options {@link ListBlobsOptions}.
      * @param timeout An optional timeout to be applied to the network asynchronous operations.
@@ -916,25 +965,26 @@ public final class BlobContainerAsyncClient {
      */
     PagedFlux<BlobItem> listBlobsFlatWithOptionalTimeout(ListBlobsOptions options, String continuationToken,
         Duration timeout) {
-        Function<String, Mono<PagedResponse<BlobItem>>> func =
-            marker -> listBlobsFlatSegment(marker, options, timeout)
-                .map(response -> {
-                    List<BlobItem> value = response.getValue().getSegment() == null
-                        ? Collections.emptyList()
-                        : response.getValue().getSegment().getBlobItems().stream()
-                        .map(ModelHelper::populateBlobItem)
-                        .collect(Collectors.toList());
-
-                    return new PagedResponseBase<>(
-                        response.getRequest(),
-                        response.getStatusCode(),
-                        response.getHeaders(),
-                        value,
-                        response.getValue().getNextMarker(),
-                        response.getDeserializedHeaders());
-                });
-
-        return new PagedFlux<>(() -> func.apply(continuationToken), func);
+        // The listing is parsed straight from the response body, sharing repeated values across its pages. The parser
+        // is not thread safe, so each traversal of the listing gets its own.
+        Supplier<Function<String, Mono<PagedResponse<BlobItem>>>> retrieverSupplier = () -> {
+            BlobListingParser parser = new BlobListingParser();
+            return marker -> listBlobsFlatSegment(marker, options, timeout)
+                .flatMap(response -> FluxUtil.collectBytesInByteBufferStream(response.getValue())
+                    .map(body -> {
+                        BlobListingParser.Segment<BlobItem> segment = parser.parse(body);
+                        return new PagedResponseBase<>(
+                            response.getRequest(),
+                            response.getStatusCode(),
+                            response.getHeaders(),
+                            segment.getBlobItems(),
+                            segment.getNextMarker(),
+                            response.getDeserializedHeaders());
+                    }));
+        };
+
+        return PagePrefetchUtils.create(continuationToken, retrieverSupplier,
+            options == null ? null : options.getPrefetchPages());
     }
 
     /*
@@ -953,19 +1003,150 @@ public final class BlobContainerAsyncClient {
      *
      * @return Emits the successful response.
      */
-    private Mono<ContainersListBlobFlatSegmentResponse> listBlobsFlatSegment(String marker, ListBlobsOptions options,
-        Duration timeout) {
+    private Mono<BlobListingStreamClient.FlatSegmentResponse> listBlobsFlatSegment(String marker,
+        ListBlobsOptions options, Duration timeout) {
         options = options == null ? new ListBlobsOptions() : options;
 
         ArrayList<ListBlobsIncludeItem> include =
             options.getDetails().toList().isEmpty() ? null : options.getDetails().toList();
 
         return StorageImplUtils.applyOptionalTimeout(
-            this.azureBlobStorage.containers().listBlobFlatSegmentWithRestResponseAsync(null, options.getPrefix(),
-                marker, options.getMaxResultsPerPage(), include,
+            this.listingClient.listBlobFlatSegment(options.getPrefix(), marker, options.getMaxResultsPerPage(), include,
                 null, null, Context.NONE), timeout);
     }
 
+    /**
+     * Returns a reactive Publisher emitting a summary of every blob in this container, flattened as in
+     * {@link #listBlobs(ListBlobsOptions)}, holding only the requested fields.
+     *
+     * <p>Each {@link BlobSummaryItem} holds the name of the blob and the requested {@link BlobSummaryField fields}.
+     * The remaining properties are skipped while the listing is parsed, so summaries are far smaller than
+     * {@link BlobItem BlobItems} and suit jobs which keep large listings in memory.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.listBlobSummaries&#40;new ListBlobsOptions&#40;&#41;,
+     *     EnumSet.of&#40;BlobSummaryField.CONTENT_LENGTH, BlobSummaryField.ETAG, BlobSummaryField.LAST_MODIFIED&#41;&#41;
+     *     .subscribe&#40;blob -&gt; System.out.printf&#40;&quot;Name: %s, Size: %d%n&quot;, blob.getName&#40;&#41;,
+     *         blob.getContentLength&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * @param options {@link ListBlobsOptions}
+     * @param fields The {@link BlobSummaryField fields} read into each summary.
+     * @return A reactive response emitting the summaries of the listed blobs, flattened.
+     */
+    public PagedFlux<BlobSummaryItem> listBlobSummaries(ListBlobsOptions options, Set<BlobSummaryField> fields) {
+        try {
+            return listBlobSummariesWithOptionalTimeout(options, fields, null);
+        } catch (RuntimeException ex) {
+            return pagedFluxError(logger, ex);
+        }
+    }
+
+    /*
+     * Implementation for the summary listing, supporting an optional timeout provided by the synchronous
+     * ContainerClient. The request is the same as a flat listing, only the parsing of each page differs.
+     */
+    PagedFlux<BlobSummaryItem> listBlobSummariesWithOptionalTimeout(ListBlobsOptions options,
+        Set<BlobSummaryField> fields, Duration timeout) {
+        StorageImplUtils.assertNotNull("fields", fields);
+        Set<BlobSummaryField> projection = fields.isEmpty()
+            ? EnumSet.noneOf(BlobSummaryField.class) : EnumSet.copyOf(fields);
+
+        Supplier<Function<String, Mono<PagedResponse<BlobSummaryItem>>>> retrieverSupplier = () -> {
+            BlobListingParser parser = new BlobListingParser();
+            return marker -> listBlobsFlatSegment(marker, options, timeout)
+                .flatMap(response -> FluxUtil.collectBytesInByteBufferStream(response.getValue())
+                    .map(body -> {
+                        BlobListingParser.Segment<BlobSummaryItem> segment = parser.parseSummaries(body, projection);
+                        return new PagedResponseBase<>(
+                            response.getRequest(),
+                            response.getStatusCode(),
+                            response.getHeaders(),
+                            segment.getBlobItems(),
+                            segment.getNextMarker(),
+                            response.getDeserializedHeaders());
+                    }));
+        };
+
+        return PagePrefetchUtils.create(null, retrieverSupplier, options == null ? null : options.getPrefetchPages());
+    }
+
+    /**
+     * Returns a reactive Publisher emitting all the blobs under the prefix in the options, listing several partitions
+     * of the namespace at once.
+     *
+     * <p>A regular listing requests one page at a time, since each page is requested with the marker returned by the
+     * page before it. This lists each of the {@link BlobParallelListOptions#getPartitions() partitions} as a separate
+     * listing, up to {@link BlobParallelListOptions#getMaxConcurrency() maxConcurrency} at a time. Blobs whose names
+     * continue with a string outside of the partitions are not listed, so the partitions must be set to cover every
+     * name which is to be listed. Unless
+     * {@link BlobParallelListOptions#setPreserveOrder(boolean) preserveOrder} is set, the blobs of different
+     * partitions are interleaved as they arrive.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * BlobParallelListOptions options = new BlobParallelListOptions&#40;&#41;
+     *     .setListBlobsOptions&#40;new ListBlobsOptions&#40;&#41;.setPrefix&#40;&quot;logs&#47;&quot;&#41;&#41;
+     *     .setPartitions&#40;Arrays.asList&#40;&quot;0&quot;, &quot;1&quot;, &quot;2&quot;, &quot;3&quot;, &quot;4&quot;, &quot;5&quot;, &quot;6&quot;, &quot;7&quot;, &quot;8&quot;, &quot;9&quot;&#41;&#41;
+     *     .setMaxConcurrency&#40;10&#41;;
+     *
+     * client.listBlobsParallel&#40;options&#41;.subscribe&#40;blob -&gt; System.out.printf&#40;&quot;Name: %s%n&quot;, blob.getName&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/rest/api/storageservices/list-blobs">Azure Docs</a></p>
+     *
+     * @param options {@link BlobParallelListOptions}
+     * @return A reactive response emitting the listed blobs.
+     * @throws NullPointerException If {@code options} or its partitions are null.
+     */
+    public Flux<BlobItem> listBlobsParallel(BlobParallelListOptions options) {
+        try {
+            return listBlobsParallelWithOptionalTimeout(options, null);
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobItem> listBlobsParallelWithOptionalTimeout(BlobParallelListOptions options, Duration timeout) {
+        StorageImplUtils.assertNotNull("options", options);
+        StorageImplUtils.assertNotNull("partitions", options.getPartitions());
+        ListBlobsOptions listOptions = options.getListBlobsOptions() == null
+            ? new ListBlobsOptions() : options.getListBlobsOptions();
+        String prefix = listOptions.getPrefix() == null ? "" : listOptions.getPrefix();
+        int maxConcurrency = options.getMaxConcurrency() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS : options.getMaxConcurrency();
+
+        // A blob named exactly the prefix belongs to no partition. It sorts before every other name, so it is found by
+        // the first page of an unpartitioned listing.
+        Flux<BlobItem> prefixBlobs = prefix.isEmpty()
+            ? Flux.empty()
+            : listBlobsFlatWithOptionalTimeout(withPrefix(listOptions, prefix).setMaxResultsPerPage(1), null,
+                timeout)
+                .takeWhile(blob -> prefix.equals(blob.getName()));
+
+        // Partitions are sorted and none begins with another, so every name in a partition sorts before every name in
+        // the partitions after it.
+        Flux<Flux<BlobItem>> partitions = Flux.fromIterable(options.getPartitions())
+            .map(partition -> listBlobsFlatWithOptionalTimeout(withPrefix(listOptions, prefix + partition), null,
+                timeout));
+
+        return options.isPreserveOrder()
+            ? prefixBlobs.concatWith(partitions.flatMapSequential(Function.identity(), maxConcurrency))
+            : Flux.merge(prefixBlobs, partitions.flatMap(Function.identity(), maxConcurrency));
+    }
+
+    private static ListBlobsOptions withPrefix(ListBlobsOptions options, String prefix) {
+        return new ListBlobsOptions()
+            .setPrefix(prefix)
+            .setDetails(options.getDetails())
+            .setMaxResultsPerPage(options.getMaxResultsPerPage())
+            .setPrefetchPages(options.getPrefetchPages());
+    }
+
     /**
      * Returns a reactive Publisher emitting all the blobs and directories (prefixes) under the given directory
      * (prefix). Directories will have {@link BlobItem#isPrefix()} set to true.
@@ -1063,8 +1244,8 @@ public final class BlobContainerAsyncClient {
 
     /*
      * Implementation for this paged listing operation, supporting an optional timeout provided by the synchronous
-     * ContainerClient. Applies the given timeout to each Mono<ContainersListBlobHierarchySegmentResponse> backing the
-     * PagedFlux.
+     * ContainerClient. Applies the given timeout to each
+     * Mono<BlobListingStreamClient.HierarchySegmentResponse> backing the PagedFlux.
      *
      * @param delimiter The delimiter for blob hierarchy, "/" for hierarchy based on directories
      * @param options {@link ListBlobsOptions}
@@ -1073,31 +1254,27 @@ public final class BlobContainerAsyncClient {
      */
     PagedFlux<BlobItem> listBlobsHierarchyWithOptionalTimeout(String delimiter, ListBlobsOptions options,
         Duration timeout) {
-        Function<String, Mono<PagedResponse<BlobItem>>> func =
-            marker -> listBlobsHierarchySegment(marker, delimiter, options, timeout)
-                .map(response -> {
-                    List<BlobItem> value = response.getValue().getSegment() == null
-                        ? Collections.emptyList()
-                        : Stream.concat(
-                        response.getValue().getSegment().getBlobItems().stream().map(ModelHelper::populateBlobItem),
-                        response.getValue().getSegment().getBlobPrefixes().stream()
-                            .map(blobPrefix -> new BlobItem().setName(blobPrefix.getName()).setIsPrefix(true))
-                    ).collect(Collectors.toList());
-
-                    return new PagedResponseBase<>(
-                        response.getRequest(),
-                        response.getStatusCode(),
-                        response.getHeaders(),
-                        value,
-                        response.getValue().getNextMarker(),
-                        response.getDeserializedHeaders());
-                });
-
-        return new PagedFlux<>(() -> func.apply(null), func);
+        Supplier<Function<String, Mono<PagedResponse<BlobItem>>>> retrieverSupplier = () -> {
+            BlobListingParser parser = new BlobListingParser();
+            return marker -> listBlobsHierarchySegment(marker, delimiter, options, timeout)
+                .flatMap(response -> FluxUtil.collectBytesInByteBufferStream(response.getValue())
+                    .map(body -> {
+                        BlobListingParser.Segment<BlobItem> segment = parser.parse(body);
+                        return new PagedResponseBase<>(
+                            response.getRequest(),
+                            response.getStatusCode(),
+                            response.getHeaders(),
+                            segment.getBlobItems(),
+                            segment.getNextMarker(),
+                            response.getDeserializedHeaders());
+                    }));
+        };
+
+        return PagePrefetchUtils.create(null, retrieverSupplier, options == null ? null : options.getPrefetchPages());
     }
 
-    private Mono<ContainersListBlobHierarchySegmentResponse> listBlobsHierarchySegment(String marker, String delimiter,
-        ListBlobsOptions options, Duration timeout) {
+    private Mono<BlobListingStreamClient.HierarchySegmentResponse> listBlobsHierarchySegment(String marker,
+        String delimiter, ListBlobsOptions options, Duration timeout) {
         options = options == null ? new ListBlobsOptions() : options;
         if (options.getDetails().getRetrieveSnapshots()) {
             throw logger.logExceptionAsError(
@@ -1108,12 +1285,633 @@ public final class BlobContainerAsyncClient {
             options.getDetails().toList().isEmpty() ? null : options.getDetails().toList();
 
         return StorageImplUtils.applyOptionalTimeout(
-            this.azureBlobStorage.containers().listBlobHierarchySegmentWithRestResponseAsync(null, delimiter,
-                options.getPrefix(), marker, options.getMaxResultsPerPage(), include, null, null,
-                Context.NONE),
+            this.listingClient.listBlobHierarchySegment(delimiter, options.getPrefix(), marker,
+                options.getMaxResultsPerPage(), include, null, null, Context.NONE),
             timeout);
     }
 
+    /**
+     * Returns a reactive Publisher emitting every blob and directory (prefix) in the virtual directory tree under the
+     * prefix in the options. Directories will have {@link BlobItem#isPrefix()} set to true.
+     *
+     * <p>Each directory found is listed by hierarchy in turn, so the whole tree is enumerated without the caller
+     * recursing through {@link #listBlobsByHierarchy(String, ListBlobsOptions)}. Directories are listed up to
+     * {@link BlobHierarchyWalkOptions#getMaxConcurrency() maxConcurrency} at a time, taking the next directory found
+     * anywhere in the tree whenever a listing finishes, and items are emitted as each listing returns them.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * BlobHierarchyWalkOptions options = new BlobHierarchyWalkOptions&#40;&#41;
+     *     .setListBlobsOptions&#40;new ListBlobsOptions&#40;&#41;.setPrefix&#40;&quot;data&#47;&quot;&#41;&#41;
+     *     .setMaxConcurrency&#40;16&#41;;
+     *
+     * client.walkBlobHierarchy&#40;&quot;&#47;&quot;, options&#41;.subscribe&#40;blob -&gt;
+     *     System.out.printf&#40;&quot;Name: %s, Directory? %b%n&quot;, blob.getName&#40;&#41;, blob.isPrefix&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/rest/api/storageservices/list-blobs">Azure Docs</a></p>
+     *
+     * @param delimiter The delimiter for blob hierarchy, "/" for hierarchy based on directories
+     * @param options {@link BlobHierarchyWalkOptions}
+     * @return A reactive response emitting the blobs and directories of the tree.
+     */
+    public Flux<BlobItem> walkBlobHierarchy(String delimiter, BlobHierarchyWalkOptions options) {
+        try {
+            return walkBlobHierarchyWithOptionalTimeout(delimiter, options, null);
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobItem> walkBlobHierarchyWithOptionalTimeout(String delimiter, BlobHierarchyWalkOptions options,
+        Duration timeout) {
+        StorageImplUtils.assertNotNull("delimiter", delimiter);
+        options = options == null ? new BlobHierarchyWalkOptions() : options;
+        ListBlobsOptions listOptions = options.getListBlobsOptions() == null
+            ? new ListBlobsOptions() : options.getListBlobsOptions();
+        int maxConcurrency = options.getMaxConcurrency() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS : options.getMaxConcurrency();
+        int maxDepth = options.getMaxDepth() == null ? Integer.MAX_VALUE : options.getMaxDepth();
+
+        return HierarchyWalkUtils.walk(listOptions.getPrefix(),
+            directory -> listBlobsHierarchyWithOptionalTimeout(delimiter, withPrefix(listOptions, directory),
+                timeout),
+            maxConcurrency, maxDepth);
+    }
+
+    /**
+     * Deletes every blob whose name begins with the given prefix, sending the deletes in batches as the listing
+     * returns the blobs.
+     *
+     * <p>The listing is consumed as batches complete rather than up front, so listing and deleting overlap and the
+     * blobs held in memory are bounded however many match. Up to {@link BlobBatchOptions#getMaxConcurrency()
+     * maxConcurrency} batches of up to {@link BlobBatchOptions#MAX_BATCH_SIZE} deletes are in flight at a time. By
+     * default the snapshots of each blob are deleted along with it. If
+     * {@link BlobDeleteByPrefixOptions#setDeleteVersions(boolean) deleteVersions} is set, the previous versions under
+     * the prefix are listed and deleted once every blob has been deleted, including the versions those deletes
+     * left behind.</p>
+     *
+     * <p>Batches are submitted to the account rather than the container, so the client must be authorized with an
+     * account level credential, such as a shared key, a token credential or an account SAS. A batch submitted by a
+     * client authorized with a container or blob SAS is rejected, and fails the operation with an
+     * {@link UnsupportedOperationException}.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.deleteByPrefix&#40;&quot;logs&#47;2019&#47;&quot;, new BlobDeleteByPrefixOptions&#40;&#41;.setDeleteVersions&#40;true&#41;&#41;
+     *     .filter&#40;result -&gt; !result.isSuccess&#40;&#41;&#41;
+     *     .subscribe&#40;result -&gt; System.out.printf&#40;&quot;Failed to delete %s: %s%n&quot;,
+     *         result.getBlobUrl&#40;&#41;, result.getErrorCode&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * @param prefix The prefix of the blobs to delete. An empty prefix deletes every blob in the container.
+     * @param options {@link BlobDeleteByPrefixOptions}
+     * @return A reactive response emitting the result of deleting each blob, snapshot or version.
+     */
+    public Flux<BlobBatchOperationResult> deleteByPrefix(String prefix, BlobDeleteByPrefixOptions options) {
+        try {
+            return deleteByPrefixWithOptionalTimeout(prefix, options, null);
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobBatchOperationResult> deleteByPrefixWithOptionalTimeout(String prefix,
+        BlobDeleteByPrefixOptions options, Duration timeout) {
+        StorageImplUtils.assertNotNull("prefix", prefix);
+        BlobDeleteByPrefixOptions deleteOptions = options == null ? new BlobDeleteByPrefixOptions() : options;
+        BlobBatchAsyncClient batchClient = new BlobBatchClientBuilder(this).buildAsyncClient();
+        String listPrefix = prefix.isEmpty() ? null : prefix;
+
+        Flux<String> blobUrls = listBlobsFlatWithOptionalTimeout(new ListBlobsOptions().setPrefix(listPrefix), null,
+            timeout)
+            .map(blob -> getBlobUrl(blob.getName(), null));
+        Flux<BlobBatchOperationResult> blobs = batchClient.deleteBlobs(blobUrls,
+            deleteOptions.getDeleteSnapshotsOptions(), deleteOptions.getBatchOptions())
+            .onErrorMap(this::isBatchRejectedForSas, this::toBatchSasException);
+        if (!deleteOptions.isDeleteVersions()) {
+            return blobs;
+        }
+
+        // Deleting the current version of a blob keeps it as a previous version, so the versions are listed only once
+        // every blob is deleted. The current version of a blob cannot be deleted by its version id.
+        Flux<String> versionUrls = Flux.defer(() -> listBlobsFlatWithOptionalTimeout(new ListBlobsOptions()
+            .setPrefix(listPrefix)
+            .setDetails(new BlobListDetails().setRetrieveVersions(true)), null, timeout))
+            .filter(blob -> blob.getVersionId() != null && !Boolean.TRUE.equals(blob.isCurrentVersion()))
+            .map(blob -> getBlobUrl(blob.getName(), blob.getVersionId()));
+        return blobs.concatWith(batchClient.deleteBlobs(versionUrls, null, deleteOptions.getBatchOptions())
+            .onErrorMap(this::isBatchRejectedForSas, this::toBatchSasException));
+    }
+
+    /*
+    A SAS scoped to the container or a blob does not authorize a batch submitted to the account, which the service
+    answers with a 403 for the whole batch. The kind of SAS cannot be told from the pipeline, so only the rejection
+    says which one the client holds.
+     */
+    private boolean isBatchRejectedForSas(Throwable throwable) {
+        return throwable instanceof BlobStorageException
+            && ((BlobStorageException) throwable).getStatusCode() == 403
+            && isSasAuthorized();
+    }
+
+    private Throwable toBatchSasException(Throwable throwable) {
+        return logger.logExceptionAsError(new UnsupportedOperationException(
+            "The batch was rejected. Batches are submitted to the account, so deleting blobs by prefix requires an "
+                + "account level credential, such as an account SAS, rather than a container or blob SAS.",
+            throwable));
+    }
+
+    private String getBlobUrl(String blobName, String versionId) {
+        String blobUrl = StorageImplUtils.appendToUrlPath(getBlobContainerUrl(), Utility.urlEncode(blobName))
+            .toString();
+        return versionId == null
+            ? blobUrl
+            : blobUrl + "?" + Constants.UrlConstants.VERSIONID_QUERY_PARAMETER + "=" + Utility.urlEncode(versionId);
+    }
+
+    /**
+     * Renames a directory, moving every blob whose name begins with {@code sourceDirectory + "/"} to the same name
+     * under {@code destinationDirectory}.
+     *
+     * <p>On an account with a hierarchical namespace the service renames the directory in a single operation however
+     * many blobs it holds, and the continuation markers it returns are followed until the rename completes. Otherwise
+     * each blob under the directory is copied to its new name and then deleted, with up to
+     * {@link BlobDirectoryOptions#getMaxConcurrency() maxConcurrency} blobs in flight at a time. Each copy and delete
+     * is conditioned on the ETag the blob was listed with, so a blob overwritten during the rename fails it rather
+     * than being lost, as does a blob with snapshots. Blobs moved before a failure stay moved. An empty blob named
+     * after the directory whose {@code hdi_isfolder} metadata marks it as a folder, as tools such as the Hadoop WASB
+     * driver keep, is moved last. See {@link BlobDirectoryOptions#setHierarchicalNamespace(Boolean)} for how the kind
+     * of account is determined.</p>
+     *
+     * <p>The source of each rename or copy is authorized by the client's credential, which a SAS cannot do, so the
+     * rename fails with an {@link UnsupportedOperationException} for a client authorized with a SAS.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.renameDirectory&#40;&quot;staging&#47;2020&quot;, &quot;published&#47;2020&quot;, null&#41;
+     *     .subscribe&#40;response -&gt; &#123; &#125;, error -&gt; System.out.printf&#40;&quot;Rename failed: %s%n&quot;, error&#41;,
+     *         &#40;&#41; -&gt; System.out.println&#40;&quot;Rename completed&quot;&#41;&#41;;
+     * </pre>
+     *
+     * @param sourceDirectory The directory to rename, without a trailing "/".
+     * @param destinationDirectory The new name of the directory, without a trailing "/".
+     * @param options {@link BlobDirectoryOptions}
+     * @return A reactive response signalling completion.
+     */
+    public Mono<Void> renameDirectory(String sourceDirectory, String destinationDirectory,
+        BlobDirectoryOptions options) {
+        try {
+            return withContext(context -> renameDirectory(sourceDirectory, destinationDirectory, options, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<Void> renameDirectory(String sourceDirectory, String destinationDirectory, BlobDirectoryOptions options,
+        Context context) {
+        String source = trimDirectory("sourceDirectory", sourceDirectory);
+        String destination = trimDirectory("destinationDirectory", destinationDirectory);
+        BlobDirectoryOptions directoryOptions = options == null ? new BlobDirectoryOptions() : options;
+        int maxConcurrency = directoryOptions.getMaxConcurrency() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS : directoryOptions.getMaxConcurrency();
+
+        if (isSasAuthorized()) {
+            throw logger.logExceptionAsError(new UnsupportedOperationException(
+                "Renaming a directory is not supported by a client authorized with a SAS, as the source of each rename "
+                    + "or copy would need a SAS of its own."));
+        }
+
+        String sourcePrefix = source + "/";
+        Mono<Void> flatRename = listBlobsFlatWithOptionalTimeout(new ListBlobsOptions().setPrefix(sourcePrefix), null,
+            null)
+            .flatMap(blob -> moveBlob(blob.getName(), blob.getProperties().getETag(),
+                destination + "/" + blob.getName().substring(sourcePrefix.length())), maxConcurrency)
+            .then(getFolderMarker(source).flatMap(marker -> moveBlob(source, marker.getETag(), destination)));
+
+        return isHierarchicalNamespace(source, directoryOptions).flatMap(hierarchicalNamespace -> {
+            if (!hierarchicalNamespace) {
+                return flatRename;
+            }
+
+            AzureBlobStorageImpl directoryStorage = getDirectoryStorage();
+            String renameSource = "/" + containerName + "/" + Utility.urlEncode(source);
+            Mono<Void> rename = followMarkers(marker -> directoryStorage.directorys().renameWithRestResponseAsync(
+                containerName, destination, renameSource, null, marker, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, context)
+                .flatMap(response -> Mono.justOrEmpty(response.getDeserializedHeaders().getMarker())));
+            return directoryOptions.isHierarchicalNamespace() == null
+                ? rename.onErrorResume(this::isDirectoryOperationRejected, ignored -> flatRename)
+                : rename;
+        });
+    }
+
+    /**
+     * Deletes a directory along with every blob whose name begins with {@code directory + "/"}.
+     *
+     * <p>On an account with a hierarchical namespace the service deletes the directory recursively, and the
+     * continuation markers it returns are followed until the delete completes. Otherwise the blobs under the
+     * directory are deleted in batches as they are listed, along with their snapshots, as
+     * {@link #deleteByPrefix(String, BlobDeleteByPrefixOptions)} does, and the first blob which fails to delete fails
+     * the operation. Those batches require the client to be authorized with an account level credential rather than
+     * a container SAS. An empty blob named after the directory whose {@code hdi_isfolder} metadata marks it as a
+     * folder, as tools such as the Hadoop WASB driver keep, is deleted last. See
+     * {@link BlobDirectoryOptions#setHierarchicalNamespace(Boolean)} for how the kind of account is determined.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.deleteDirectory&#40;&quot;staging&#47;2020&quot;, null&#41;
+     *     .subscribe&#40;response -&gt; &#123; &#125;, error -&gt; System.out.printf&#40;&quot;Delete failed: %s%n&quot;, error&#41;,
+     *         &#40;&#41; -&gt; System.out.println&#40;&quot;Delete completed&quot;&#41;&#41;;
+     * </pre>
+     *
+     * @param directory The directory to delete, without a trailing "/".
+     * @param options {@link BlobDirectoryOptions}
+     * @return A reactive response signalling completion.
+     */
+    public Mono<Void> deleteDirectory(String directory, BlobDirectoryOptions options) {
+        try {
+            return withContext(context -> deleteDirectory(directory, options, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<Void> deleteDirectory(String directory, BlobDirectoryOptions options, Context context) {
+        String path = trimDirectory("directory", directory);
+        BlobDirectoryOptions directoryOptions = options == null ? new BlobDirectoryOptions() : options;
+
+        // A blob deleted by someone else in the meantime is as good as deleted.
+        Mono<Void> flatDelete = deleteByPrefixWithOptionalTimeout(path + "/",
+            new BlobDeleteByPrefixOptions().setBatchOptions(directoryOptions.getBatchOptions()), null)
+            .filter(result -> !result.isSuccess() && result.getStatusCode() != 404)
+            .next()
+            .flatMap(result -> Mono.<Void>error(logger.logExceptionAsError(new IllegalStateException(
+                String.format("Failed to delete blob %s: %s", result.getBlobUrl(), result.getErrorCode())))))
+            .then(getFolderMarker(path).flatMap(marker -> getBlobClientForUrl(path)
+                .deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE,
+                    new BlobRequestConditions().setIfMatch(marker.getETag()))
+                .onErrorResume(t -> t instanceof BlobStorageException
+                    && ((BlobStorageException) t).getStatusCode() == 404, t -> Mono.empty())
+                .then()));
+
+        return isHierarchicalNamespace(path, directoryOptions).flatMap(hierarchicalNamespace -> {
+            if (!hierarchicalNamespace) {
+                return flatDelete;
+            }
+
+            AzureBlobStorageImpl directoryStorage = getDirectoryStorage();
+            Mono<Void> delete = followMarkers(marker -> directoryStorage.directorys().deleteWithRestResponseAsync(
+                containerName, path, true, null, marker, null, null, null, null, null, null, context)
+                .flatMap(response -> Mono.justOrEmpty(response.getDeserializedHeaders().getMarker())));
+            return directoryOptions.isHierarchicalNamespace() == null
+                ? delete.onErrorResume(this::isDirectoryOperationRejected, ignored -> flatDelete)
+                : delete;
+        });
+    }
+
+    private String trimDirectory(String parameterName, String directory) {
+        StorageImplUtils.assertNotNull(parameterName, directory);
+        int end = directory.length();
+        while (end > 0 && directory.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (end == 0) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                String.format("'%s' must name a directory.", parameterName)));
+        }
+        return directory.substring(0, end);
+    }
+
+    /*
+    A directory of an account with a hierarchical namespace shows through the blob endpoint as an empty blob whose
+    metadata marks it as a folder. Accounts without one have no blob for the directory, so a missing or unmarked blob
+    means the blobs under the directory must be handled one by one. Tools such as the Hadoop WASB driver mark folder
+    blobs the same way on accounts without one, so a marked blob is only a guess; see isDirectoryOperationRejected.
+     */
+    private Mono<Boolean> isHierarchicalNamespace(String directory, BlobDirectoryOptions options) {
+        if (options.isHierarchicalNamespace() != null) {
+            return Mono.just(options.isHierarchicalNamespace());
+        }
+        return getFolderMarker(directory).hasElement();
+    }
+
+    /*
+    Emits the properties of the blob marking the directory as a folder, or nothing if there is none. On an account
+    without a hierarchical namespace such a blob is left by tools such as the Hadoop WASB driver, and is moved or
+    deleted along with the blobs under the directory.
+     */
+    private Mono<BlobProperties> getFolderMarker(String directory) {
+        return getBlobClientForUrl(directory).getProperties()
+            .filter(properties -> properties.getMetadata() != null
+                && Boolean.parseBoolean(properties.getMetadata().get(HDI_IS_FOLDER_METADATA)))
+            .onErrorResume(t -> t instanceof BlobStorageException && ((BlobStorageException) t).getStatusCode() == 404,
+                t -> Mono.empty());
+    }
+
+    /*
+    Whether a directory operation was answered as an account without a hierarchical namespace answers it: as a blob
+    operation missing its blob headers (400), one it does not allow on the path (405), or, for a delete, by deleting
+    the folder blob itself (202) or refusing to as it has snapshots. The blobs under the directory are then handled one
+    by one, as on any account without a hierarchical namespace.
+     */
+    private boolean isDirectoryOperationRejected(Throwable throwable) {
+        if (!(throwable instanceof HttpResponseException)
+            || ((HttpResponseException) throwable).getResponse() == null) {
+            return false;
+        }
+        HttpResponse response = ((HttpResponseException) throwable).getResponse();
+        int statusCode = response.getStatusCode();
+        return statusCode == 400 || statusCode == 405 || statusCode == 202
+            || (statusCode == 409 && BlobErrorCode.SNAPSHOTS_PRESENT.toString()
+                .equals(response.getHeaderValue(Constants.HeaderConstants.ERROR_CODE)));
+    }
+
+    /*
+    The pipeline of a client authorized with a SAS adds the SAS to each request itself, and does not expose it.
+     */
+    private boolean isSasAuthorized() {
+        HttpPipeline pipeline = getHttpPipeline();
+        for (int i = 0; i < pipeline.getPolicyCount(); i++) {
+            if (pipeline.getPolicy(i) instanceof SasTokenCredentialPolicy) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    The directory operations address a path under the account, with the container as its file system.
+     */
+    private AzureBlobStorageImpl getDirectoryStorage() {
+        return new AzureBlobStorageBuilder()
+            .pipeline(getHttpPipeline())
+            .url(BlobUrlParts.parse(getBlobContainerUrl()).setContainerName(null).toUrl().toString())
+            .version(serviceVersion.getVersion())
+            .pathRenameMode(PathRenameMode.LEGACY)
+            .build();
+    }
+
+    private static Mono<Void> followMarkers(Function<String, Mono<String>> operation) {
+        return operation.apply(null).expand(operation).then();
+    }
+
+    private Mono<Void> moveBlob(String sourceName, String eTag, String destinationName) {
+        BlobAsyncClient sourceClient = getBlobClientForUrl(sourceName);
+
+        return getBlobClientForUrl(destinationName).beginCopy(new BlobBeginCopyOptions(sourceClient.getBlobUrl())
+            .setSourceRequestConditions(new BlobBeginCopySourceRequestConditions().setIfMatch(eTag)))
+            .last()
+            .flatMap(response -> response.getValue().getCopyStatus() == CopyStatusType.SUCCESS
+                ? sourceClient.deleteWithResponse(null, new BlobRequestConditions().setIfMatch(eTag)).then()
+                : Mono.error(logger.logExceptionAsError(new IllegalStateException(String.format(
+                    "Failed to copy blob %s to %s: %s", sourceName, destinationName,
+                    response.getValue().getError())))));
+    }
+
+    private BlobAsyncClient getBlobClientForUrl(String blobName) {
+        return new BlobAsyncClient(getHttpPipeline(), getBlobUrl(blobName, null), getServiceVersion(),
+            getAccountName(), getBlobContainerName(), blobName, null, getCustomerProvidedKey(), encryptionScope);
+    }
+
+    /**
+     * Downloads every blob whose name begins with the given prefix into a local directory. Each blob is written to
+     * the file found by resolving its full name against {@code directory}, creating subdirectories as needed.
+     *
+     * <p>The listing is consumed as the downloads progress rather than up front. Blobs no larger than the block size
+     * are downloaded with a single request and larger blobs are split into block sized requests; requests for all
+     * blobs share one pool of concurrency and one memory budget. By default a blob is skipped if its local file has
+     * the same size and was last modified no earlier than the blob, and every downloaded file has its last modified
+     * time set to the blob's so that later calls can skip it.</p>
+     *
+     * <p>Blobs whose names end in "/" or would resolve outside of {@code directory} are skipped, as are empty blobs
+     * whose {@code hdi_isfolder} metadata marks them as folders. A blob whose local path collides with a file or
+     * directory, such as a blob {@code a} alongside a blob {@code a/b}, is skipped and reported to the
+     * {@link BlobDownloadToDirectoryOptions#setErrorConsumer(BiConsumer) error consumer} without failing the rest of
+     * the download.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.downloadToDirectory&#40;&quot;logs&#47;&quot;, Paths.get&#40;&quot;mirror&quot;&#41;, null&#41;
+     *     .subscribe&#40;ignored -&gt; &#123; &#125;, error -&gt; System.out.printf&#40;&quot;Download failed: %s%n&quot;, error&#41;,
+     *         &#40;&#41; -&gt; System.out.println&#40;&quot;Download completed&quot;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param prefix Only blobs whose names begin with this prefix are downloaded. May be null to download every blob.
+     * @param directory The local directory to download into.
+     * @param options {@link BlobDownloadToDirectoryOptions}
+     * @return A reactive response signalling completion.
+     * @throws NullPointerException If {@code directory} is null.
+     * @throws UncheckedIOException If an I/O error occurs.
+     */
+    public Mono<Void> downloadToDirectory(String prefix, Path directory, BlobDownloadToDirectoryOptions options) {
+        try {
+            return withContext(context -> downloadToDirectory(prefix, directory, options, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<Void> downloadToDirectory(String prefix, Path directory, BlobDownloadToDirectoryOptions options,
+        Context context) {
+        StorageImplUtils.assertNotNull("directory", directory);
+        BlobDownloadToDirectoryOptions finalOptions = options == null ? new BlobDownloadToDirectoryOptions() : options;
+        long blockSize = finalOptions.getBlockSize() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_UPLOAD_BLOCK_SIZE : finalOptions.getBlockSize();
+        int maxConcurrency = finalOptions.getMaxConcurrency() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS : finalOptions.getMaxConcurrency();
+
+        // Every request is at most one block, so the memory budget caps the number of requests in flight.
+        if (finalOptions.getMaxMemorySize() != null) {
+            maxConcurrency = (int) Math.max(1, Math.min(maxConcurrency, finalOptions.getMaxMemorySize() / blockSize));
+        }
+
+        // Files still open when the download fails or is cancelled are removed so they are never seen as unchanged.
+        Set<DirectoryDownloadUtils.FileTarget> openTargets = ConcurrentHashMap.newKeySet();
+
+        // Metadata tells folder marker blobs apart from empty files.
+        ListBlobsOptions listOptions = new ListBlobsOptions().setPrefix(prefix)
+            .setDetails(new BlobListDetails().setRetrieveMetadata(true));
+        return listBlobsFlatWithOptionalTimeout(listOptions, null, null)
+            .concatMapIterable(blob -> planBlobDownload(blob, directory, blockSize, finalOptions, openTargets,
+                context))
+            .flatMap(Function.identity(), maxConcurrency)
+            .then()
+            .doFinally(signalType -> {
+                if (signalType != SignalType.ON_COMPLETE) {
+                    openTargets.forEach(DirectoryDownloadUtils.FileTarget::abort);
+                }
+            });
+    }
+
+    /*
+     * Splits the download of a single blob into requests of at most blockSize bytes. Returns no requests if the blob
+     * is skipped. Empty blobs get a single request which only creates the file, unless they mark a folder.
+     */
+    private List<Mono<Void>> planBlobDownload(BlobItem blob, Path directory, long blockSize,
+        BlobDownloadToDirectoryOptions options, Set<DirectoryDownloadUtils.FileTarget> openTargets,
+        Context context) {
+        Path path = DirectoryDownloadUtils.resolve(directory, blob.getName());
+        BlobItemProperties properties = blob.getProperties();
+        if (path == null || Boolean.TRUE.equals(blob.isPrefix()) || properties == null
+            || properties.getContentLength() == null
+            || (properties.getContentLength() == 0 && blob.getMetadata() != null
+                && Boolean.parseBoolean(blob.getMetadata().get(HDI_IS_FOLDER_METADATA)))
+            || (options.isSkipUnchanged() && DirectoryDownloadUtils.isUnchanged(path, properties))) {
+            return Collections.emptyList();
+        }
+
+        long blobSize = properties.getContentLength();
+        int numRequests = (int) Math.max(1, (blobSize + blockSize - 1) / blockSize);
+        DirectoryDownloadUtils.FileTarget target =
+            new DirectoryDownloadUtils.FileTarget(path, properties.getLastModified(), numRequests);
+        BlobAsyncClient blobClient = getBlobAsyncClient(blob.getName());
+        BlobRequestConditions conditions = new BlobRequestConditions().setIfMatch(properties.getETag());
+
+        List<Mono<Void>> requests = new ArrayList<>(numRequests);
+        for (int i = 0; i < numRequests; i++) {
+            long offset = i * blockSize;
+            long count = Math.min(blockSize, blobSize - offset);
+            requests.add(Mono.defer(() -> {
+                openTargets.add(target);
+                AsynchronousFileChannel channel = openDownloadTarget(target, blob.getName(), options);
+                if (channel == null || count == 0) {
+                    return Mono.<Void>empty();
+                }
+                return blobClient.downloadWithResponse(new BlobRange(offset, count),
+                    options.getDownloadRetryOptions(), conditions, false)
+                    .flatMap(response -> FluxUtil.writeFile(response.getValue(), channel, offset))
+                    .subscriberContext(FluxUtil.toReactorContext(context));
+            }).then(Mono.fromRunnable(() -> completeDownloadTarget(target, openTargets))));
+        }
+        return requests;
+    }
+
+    /*
+     * Returns null if the blob is skipped because its path collides with a file or directory. The collision is only
+     * reported by the first of the blob's requests to find it.
+     */
+    private AsynchronousFileChannel openDownloadTarget(DirectoryDownloadUtils.FileTarget target, String blobName,
+        BlobDownloadToDirectoryOptions options) {
+        try {
+            return target.getChannel();
+        } catch (FileAlreadyExistsException e) {
+            if (options.getErrorConsumer() == null) {
+                logger.warning("Skipped blob {} as its local path collides with {}.", blobName, e.getFile());
+            } else {
+                options.getErrorConsumer().accept(blobName, e);
+            }
+            return null;
+        } catch (IOException e) {
+            throw logger.logExceptionAsError(new UncheckedIOException(e));
+        }
+    }
+
+    private void completeDownloadTarget(DirectoryDownloadUtils.FileTarget target,
+        Set<DirectoryDownloadUtils.FileTarget> openTargets) {
+        try {
+            if (target.complete()) {
+                openTargets.remove(target);
+            }
+        } catch (IOException e) {
+            throw logger.logExceptionAsError(new UncheckedIOException(e));
+        }
+    }
+
+    /**
+     * Runs a query against every blob whose name begins with the prefix in the options. Blobs are queried as the
+     * listing is consumed, up to {@link BlobContainerQueryOptions#getMaxConcurrency() maxConcurrency} at a time.
+     *
+     * <p>Each element of the returned stream is a piece of one blob's output, tagged with the blob's name. Unless
+     * {@link BlobContainerQueryOptions#setPreserveOrder(boolean) preserveOrder} is set, the output of different blobs
+     * is interleaved as it arrives.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * BlobContainerQueryOptions queryOptions = new BlobContainerQueryOptions&#40;&quot;SELECT * from BlobStorage&quot;&#41;
+     *     .setPrefix&#40;&quot;logs&#47;&quot;&#41;
+     *     .setMaxConcurrency&#40;32&#41;
+     *     .setErrorConsumer&#40;&#40;blobName, error&#41; -&gt; System.out.printf&#40;&quot;%s: %s%n&quot;, blobName, error&#41;&#41;
+     *     .setProgressConsumer&#40;progress -&gt; System.out.printf&#40;&quot;Scanned %d bytes%n&quot;,
+     *         progress.getBytesScanned&#40;&#41;&#41;&#41;;
+     *
+     * client.queryBlobs&#40;queryOptions&#41;
+     *     .subscribe&#40;result -&gt; System.out.printf&#40;&quot;%d bytes from %s%n&quot;, result.getData&#40;&#41;.remaining&#40;&#41;,
+     *         result.getBlobName&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/query-blob-contents">Azure Docs</a></p>
+     *
+     * @param queryOptions {@link BlobContainerQueryOptions The query options}.
+     * @return A reactive stream of the output of every queried blob.
+     * @throws NullPointerException If {@code queryOptions} is null.
+     */
+    public Flux<BlobQueryResult> queryBlobs(BlobContainerQueryOptions queryOptions) {
+        try {
+            return fluxContext(context -> queryBlobs(queryOptions, context));
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobQueryResult> queryBlobs(BlobContainerQueryOptions queryOptions, Context context) {
+        StorageImplUtils.assertNotNull("queryOptions", queryOptions);
+        int maxConcurrency = queryOptions.getMaxConcurrency() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS : queryOptions.getMaxConcurrency();
+
+        // Running sums of the latest progress reported by each blob. Also guards delivery to the progress consumer.
+        long[] totals = new long[2];
+
+        Flux<BlobItem> blobs = listBlobsFlatWithOptionalTimeout(
+            new ListBlobsOptions().setPrefix(queryOptions.getPrefix()), null, null)
+            .filter(blob -> !Boolean.TRUE.equals(blob.isPrefix()));
+        Function<BlobItem, Flux<BlobQueryResult>> query = blob -> queryBlob(blob, queryOptions, totals, context);
+
+        return queryOptions.isPreserveOrder()
+            ? blobs.flatMapSequential(query, maxConcurrency)
+            : blobs.flatMap(query, maxConcurrency);
+    }
+
+    private Flux<BlobQueryResult> queryBlob(BlobItem blob, BlobContainerQueryOptions queryOptions, long[] totals,
+        Context context) {
+        String blobName = blob.getName();
+        BiConsumer<String, BlobQueryError> errorConsumer = queryOptions.getErrorConsumer();
+        Consumer<BlobQueryProgress> progressConsumer = queryOptions.getProgressConsumer();
+        long[] reported = new long[2];
+
+        BlobQueryOptions blobQueryOptions = new BlobQueryOptions(queryOptions.getExpression())
+            .setInputSerialization(queryOptions.getInputSerialization())
+            .setOutputSerialization(queryOptions.getOutputSerialization())
+            .setCache(queryOptions.getCache())
+            .setErrorConsumer(errorConsumer == null ? null : error -> errorConsumer.accept(blobName, error))
+            .setProgressConsumer(progressConsumer == null ? null : progress -> {
+                synchronized (totals) {
+                    totals[0] += progress.getBytesScanned() - reported[0];
+                    totals[1] += progress.getTotalBytes() - reported[1];
+                    reported[0] = progress.getBytesScanned();
+                    reported[1] = progress.getTotalBytes();
+                    progressConsumer.accept(new BlobQueryProgress(totals[0], totals[1]));
+                }
+            });
+
+        // The listing already holds the ETag, so the cache needs no request to check that its output is current.
+        String listedETag = queryOptions.getCache() == null || blob.getProperties() == null
+            ? null : blob.getProperties().getETag();
+        return BlobQueryHelper.queryWithResponse(getBlobAsyncClient(blobName), blobQueryOptions, listedETag, context)
+            .flatMapMany(response -> response.getValue().map(data -> new BlobQueryResult(blobName, data)));
+    }
+
     /**
      * Returns the sku name and account kind for the account. For more information, please see the
      * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-account-information">Azure Docs</a>.
@@ -1222,7 +2020,7 @@ public final class BlobContainerAsyncClient {
      */
     public String generateSas(BlobServiceSasSignatureValues blobServiceSasSignatureValues) {
         return new BlobSasImplUtil(blobServiceSasSignatureValues, getBlobContainerName())
-            .generateSas(SasImplUtils.extractSharedKeyCredential(getHttpPipeline()));
+            .generateSas(SharedKeySigningPolicy.extractSharedKeyCredential(getHttpPipeline()));
     }
 
     private boolean validateNoETag(BlobRequestConditions modifiedRequestConditions) {
@@ -8,24 +8,39 @@ import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.rest.PagedIterable;
 import com.azure.core.http.rest.Response;
 import com.azure.core.util.Context;
+import com.azure.core.util.IterableStream;
+import com.azure.storage.blob.batch.BlobBatchOperationResult;
 import com.azure.storage.blob.models.BlobContainerAccessPolicies;
 import com.azure.storage.blob.models.BlobContainerProperties;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobQueryResult;
 import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.BlobSignedIdentifier;
+import com.azure.storage.blob.models.BlobSummaryField;
+import com.azure.storage.blob.models.BlobSummaryItem;
 import com.azure.storage.blob.models.CpkInfo;
 import com.azure.storage.blob.models.ListBlobsOptions;
 import com.azure.storage.blob.models.PublicAccessType;
 import com.azure.storage.blob.models.StorageAccountInfo;
 import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.options.BlobContainerQueryOptions;
+import com.azure.storage.blob.options.BlobDeleteByPrefixOptions;
+import com.azure.storage.blob.options.BlobDirectoryOptions;
+import com.azure.storage.blob.options.BlobDownloadToDirectoryOptions;
+import com.azure.storage.blob.options.BlobHierarchyWalkOptions;
+import com.azure.storage.blob.options.BlobParallelListOptions;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.azure.storage.common.StorageSharedKeyCredential;
+import com.azure.storage.common.implementation.StorageImplUtils;
 import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.azure.storage.common.implementation.StorageImplUtils.blockWithOptionalTimeout;
 
@@ -653,6 +668,135 @@ public final class BlobContainerClient {
         return new PagedIterable<>(client.listBlobsFlatWithOptionalTimeout(options, continuationToken, timeout));
     }
 
+    /**
+     * Returns a lazy loaded list of summaries of the blobs in this container, with folder structures flattened,
+     * holding only the requested fields.
+     *
+     * <p>See {@link BlobContainerAsyncClient#listBlobSummaries(ListBlobsOptions, Set)} for what a summary holds.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.listBlobSummaries&#40;new ListBlobsOptions&#40;&#41;,
+     *     EnumSet.of&#40;BlobSummaryField.CONTENT_LENGTH, BlobSummaryField.ETAG&#41;, timeout&#41;
+     *     .forEach&#40;blob -&gt; System.out.printf&#40;&quot;Name: %s, ETag: %s%n&quot;, blob.getName&#40;&#41;, blob.getETag&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * @param options {@link ListBlobsOptions}
+     * @param fields The {@link BlobSummaryField fields} read into each summary.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @return The summaries of the listed blobs, flattened.
+     */
+    public PagedIterable<BlobSummaryItem> listBlobSummaries(ListBlobsOptions options, Set<BlobSummaryField> fields,
+        Duration timeout) {
+        return new PagedIterable<>(client.listBlobSummariesWithOptionalTimeout(options, fields, timeout));
+    }
+
+    /**
+     * Returns the blobs under the prefix in the options, listing several partitions of the namespace at once.
+     *
+     * <p>See {@link BlobContainerAsyncClient#listBlobsParallel(BlobParallelListOptions)} for how the namespace is
+     * partitioned and how the partitions are merged.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * BlobParallelListOptions options = new BlobParallelListOptions&#40;&#41;
+     *     .setListBlobsOptions&#40;new ListBlobsOptions&#40;&#41;.setPrefix&#40;&quot;logs&#47;&quot;&#41;&#41;
+     *     .setPartitions&#40;BlobParallelListOptions.PRINTABLE_ASCII_PARTITIONS&#41;
+     *     .setPreserveOrder&#40;true&#41;;
+     *
+     * client.listBlobsParallel&#40;options, timeout&#41;.forEach&#40;blob -&gt; System.out.printf&#40;&quot;Name: %s%n&quot;, blob.getName&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/rest/api/storageservices/list-blobs">Azure Docs</a></p>
+     *
+     * @param options {@link BlobParallelListOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @return The listed blobs.
+     * @throws NullPointerException If {@code options} or its partitions are null.
+     */
+    public IterableStream<BlobItem> listBlobsParallel(BlobParallelListOptions options, Duration timeout) {
+        return new IterableStream<>(client.listBlobsParallelWithOptionalTimeout(options, timeout));
+    }
+
+    /**
+     * Deletes every blob whose name begins with the given prefix, sending the deletes in batches as the listing
+     * returns the blobs.
+     *
+     * <p>See {@link BlobContainerAsyncClient#deleteByPrefix(String, BlobDeleteByPrefixOptions)} for how blobs,
+     * snapshots and versions are deleted.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * for &#40;BlobBatchOperationResult result : client.deleteByPrefix&#40;&quot;logs&#47;2019&#47;&quot;, null, timeout&#41;&#41; &#123;
+     *     if &#40;!result.isSuccess&#40;&#41;&#41; &#123;
+     *         System.out.printf&#40;&quot;Failed to delete %s: %s%n&quot;, result.getBlobUrl&#40;&#41;, result.getErrorCode&#40;&#41;&#41;;
+     *     &#125;
+     * &#125;
+     * </pre>
+     *
+     * @param prefix The prefix of the blobs to delete. An empty prefix deletes every blob in the container.
+     * @param options {@link BlobDeleteByPrefixOptions}
+     * @param timeout An optional timeout applied to each listing request, beyond which a {@link RuntimeException}
+     * will be raised.
+     * @return The result of deleting each blob, snapshot or version.
+     */
+    public IterableStream<BlobBatchOperationResult> deleteByPrefix(String prefix, BlobDeleteByPrefixOptions options,
+        Duration timeout) {
+        return new IterableStream<>(client.deleteByPrefixWithOptionalTimeout(prefix, options, timeout));
+    }
+
+    /**
+     * Renames a directory, moving every blob whose name begins with {@code sourceDirectory + "/"} to the same name
+     * under {@code destinationDirectory}.
+     *
+     * <p>See {@link BlobContainerAsyncClient#renameDirectory(String, String, BlobDirectoryOptions)} for how the
+     * directory is renamed on accounts with and without a hierarchical namespace.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.renameDirectory&#40;&quot;staging&#47;2020&quot;, &quot;published&#47;2020&quot;, null, timeout, Context.NONE&#41;;
+     * System.out.println&#40;&quot;Rename completed&quot;&#41;;
+     * </pre>
+     *
+     * @param sourceDirectory The directory to rename, without a trailing "/".
+     * @param destinationDirectory The new name of the directory, without a trailing "/".
+     * @param options {@link BlobDirectoryOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     */
+    public void renameDirectory(String sourceDirectory, String destinationDirectory, BlobDirectoryOptions options,
+        Duration timeout, Context context) {
+        blockWithOptionalTimeout(client.renameDirectory(sourceDirectory, destinationDirectory, options, context),
+            timeout);
+    }
+
+    /**
+     * Deletes a directory along with every blob whose name begins with {@code directory + "/"}.
+     *
+     * <p>See {@link BlobContainerAsyncClient#deleteDirectory(String, BlobDirectoryOptions)} for how the directory is
+     * deleted on accounts with and without a hierarchical namespace.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.deleteDirectory&#40;&quot;staging&#47;2020&quot;, null, timeout, Context.NONE&#41;;
+     * System.out.println&#40;&quot;Delete completed&quot;&#41;;
+     * </pre>
+     *
+     * @param directory The directory to delete, without a trailing "/".
+     * @param options {@link BlobDirectoryOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     */
+    public void deleteDirectory(String directory, BlobDirectoryOptions options, Duration timeout, Context context) {
+        blockWithOptionalTimeout(client.deleteDirectory(directory, options, context), timeout);
+    }
+
     /**
      * Returns a reactive Publisher emitting all the blobs and directories (prefixes) under the given directory
      * (prefix). Directories will have {@link BlobItem#isPrefix()} set to true.
@@ -742,6 +886,101 @@ public final class BlobContainerClient {
             .listBlobsHierarchyWithOptionalTimeout(delimiter, options, timeout));
     }
 
+    /**
+     * Returns every blob and directory (prefix) in the virtual directory tree under the prefix in the options.
+     * Directories will have {@link BlobItem#isPrefix()} set to true.
+     *
+     * <p>See {@link BlobContainerAsyncClient#walkBlobHierarchy(String, BlobHierarchyWalkOptions)} for how directories
+     * are scheduled.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * BlobHierarchyWalkOptions options = new BlobHierarchyWalkOptions&#40;&#41;
+     *     .setListBlobsOptions&#40;new ListBlobsOptions&#40;&#41;.setPrefix&#40;&quot;data&#47;&quot;&#41;&#41;
+     *     .setMaxDepth&#40;3&#41;;
+     *
+     * client.walkBlobHierarchy&#40;&quot;&#47;&quot;, options, timeout&#41;.forEach&#40;blob -&gt;
+     *     System.out.printf&#40;&quot;Name: %s, Directory? %b%n&quot;, blob.getName&#40;&#41;, blob.isPrefix&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/rest/api/storageservices/list-blobs">Azure Docs</a></p>
+     *
+     * @param delimiter The delimiter for blob hierarchy, "/" for hierarchy based on directories
+     * @param options {@link BlobHierarchyWalkOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @return The blobs and directories of the tree.
+     */
+    public IterableStream<BlobItem> walkBlobHierarchy(String delimiter, BlobHierarchyWalkOptions options,
+        Duration timeout) {
+        return new IterableStream<>(client.walkBlobHierarchyWithOptionalTimeout(delimiter, options, timeout));
+    }
+
+    /**
+     * Downloads every blob whose name begins with the given prefix into a local directory. Each blob is written to
+     * the file found by resolving its full name against {@code directory}, creating subdirectories as needed.
+     *
+     * <p>See {@link BlobContainerAsyncClient#downloadToDirectory(String, Path, BlobDownloadToDirectoryOptions)} for
+     * how requests are scheduled and which blobs are skipped.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.downloadToDirectory&#40;&quot;logs&#47;&quot;, Paths.get&#40;&quot;mirror&quot;&#41;, null, timeout, Context.NONE&#41;;
+     * System.out.println&#40;&quot;Download completed&quot;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param prefix Only blobs whose names begin with this prefix are downloaded. May be null to download every blob.
+     * @param directory The local directory to download into.
+     * @param options {@link BlobDownloadToDirectoryOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @throws NullPointerException If {@code directory} is null.
+     * @throws UncheckedIOException If an I/O error occurs.
+     */
+    public void downloadToDirectory(String prefix, Path directory, BlobDownloadToDirectoryOptions options,
+        Duration timeout, Context context) {
+        blockWithOptionalTimeout(client.downloadToDirectory(prefix, directory, options, context), timeout);
+    }
+
+    /**
+     * Runs a query against every blob whose name begins with the prefix in the options, querying several blobs at
+     * once.
+     *
+     * <p>See {@link BlobContainerAsyncClient#queryBlobs(BlobContainerQueryOptions)} for how blobs are scheduled and
+     * how their output is merged.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * BlobContainerQueryOptions queryOptions = new BlobContainerQueryOptions&#40;&quot;SELECT * from BlobStorage&quot;&#41;
+     *     .setPrefix&#40;&quot;logs&#47;&quot;&#41;
+     *     .setPreserveOrder&#40;true&#41;;
+     *
+     * client.queryBlobs&#40;queryOptions, timeout, Context.NONE&#41;
+     *     .forEach&#40;result -&gt; System.out.printf&#40;&quot;%d bytes from %s%n&quot;, result.getData&#40;&#41;.remaining&#40;&#41;,
+     *         result.getBlobName&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/query-blob-contents">Azure Docs</a></p>
+     *
+     * @param queryOptions {@link BlobContainerQueryOptions The query options}.
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return The output of every queried blob.
+     * @throws NullPointerException If {@code queryOptions} is null.
+     */
+    public IterableStream<BlobQueryResult> queryBlobs(BlobContainerQueryOptions queryOptions, Duration timeout,
+        Context context) {
+        return new IterableStream<>(
+            StorageImplUtils.applyOptionalTimeout(client.queryBlobs(queryOptions, context), timeout));
+    }
+
     /**
      * Returns the sku name and account kind for the account. For more information, please see the
      * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-account-information">Azure Docs</a>.
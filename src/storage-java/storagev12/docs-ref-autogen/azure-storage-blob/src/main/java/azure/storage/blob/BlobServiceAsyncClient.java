@@ -21,6 +21,8 @@ import com.azure.storage.blob.implementation.models.EncryptionScope;
 import com.azure.storage.blob.models.TaggedBlobItem;
 import com.azure.storage.blob.implementation.models.ServiceGetAccountInfoHeaders;
 import com.azure.storage.blob.implementation.models.ServicesListBlobContainersSegmentResponse;
+import com.azure.storage.blob.implementation.util.PagePrefetchUtils;
+import com.azure.storage.blob.implementation.util.SharedKeySigningPolicy;
 import com.azure.storage.blob.models.BlobContainerEncryptionScope;
 import com.azure.storage.blob.models.BlobContainerItem;
 import com.azure.storage.blob.models.BlobContainerListDetails;
@@ -39,7 +41,6 @@ import com.azure.storage.blob.models.UserDelegationKey;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.implementation.AccountSasImplUtil;
 import com.azure.storage.common.implementation.Constants;
-import com.azure.storage.common.implementation.SasImplUtils;
 import com.azure.storage.common.implementation.StorageImplUtils;
 import com.azure.storage.common.sas.AccountSasSignatureValues;
 import reactor.core.publisher.Mono;
@@ -356,7 +357,7 @@ public final class BlobServiceAsyncClient {
                     response.getValue().getNextMarker(),
                     response.getDeserializedHeaders()));
 
-        return new PagedFlux<>(() -> func.apply(null), func);
+        return PagePrefetchUtils.create(null, func, options == null ? null : options.getPrefetchPages());
     }
 
     private Mono<ServicesListBlobContainersSegmentResponse> listBlobContainersSegment(String marker,
@@ -928,7 +929,7 @@ public final class BlobServiceAsyncClient {
     public String generateAccountSas(AccountSasSignatureValues accountSasSignatureValues) {
         throwOnAnonymousAccess();
         return new AccountSasImplUtil(accountSasSignatureValues)
-            .generateSas(SasImplUtils.extractSharedKeyCredential(getHttpPipeline()));
+            .generateSas(SharedKeySigningPolicy.extractSharedKeyCredential(getHttpPipeline()));
     }
 
     /**
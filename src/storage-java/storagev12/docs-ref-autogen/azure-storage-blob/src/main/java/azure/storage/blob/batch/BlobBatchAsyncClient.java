@@ -0,0 +1,345 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch;
+
+import com.azure.core.annotation.ServiceClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpLoggingPolicy;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.azure.core.util.Context;
+import com.azure.core.util.FluxUtil;
+import com.azure.core.util.UrlBuilder;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobServiceVersion;
+import com.azure.storage.blob.implementation.AzureBlobStorageBuilder;
+import com.azure.storage.blob.implementation.AzureBlobStorageImpl;
+import com.azure.storage.blob.implementation.util.BlobBatchUtils;
+import com.azure.storage.blob.implementation.util.ConcurrencyGovernorPolicy;
+import com.azure.storage.blob.implementation.util.SecondaryReadPolicy;
+import com.azure.storage.blob.models.AccessTier;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.options.BlobBatchOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+import com.azure.storage.common.policy.RequestRetryPolicy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.azure.core.util.FluxUtil.fluxError;
+
+/**
+ * Client for submitting many blob operations of one storage account as batches, each carrying up to
+ * {@link BlobBatchOptions#MAX_BATCH_SIZE} operations in a single request. Deleting or re-tiering a large number of
+ * blobs then takes a request for every batch rather than for every blob, and several batches are sent at once.
+ *
+ * <p>Each operation is signed with the credential of the service client the batch client was built from, exactly as
+ * it would be if it were sent on its own. The service applies the operations of a batch independently, so each
+ * operation has its own {@link BlobBatchOperationResult result}, and a failed operation does not fail the others.</p>
+ *
+ * <p>Instantiate this client through {@link BlobBatchClientBuilder}.</p>
+ */
+@ServiceClient(builder = BlobBatchClientBuilder.class, isAsync = true)
+public final class BlobBatchAsyncClient {
+    private static final String DELETE_SNAPSHOTS_HEADER = "x-ms-delete-snapshots";
+    private static final String ACCESS_TIER_HEADER = "x-ms-access-tier";
+
+    private final ClientLogger logger = new ClientLogger(BlobBatchAsyncClient.class);
+    private final AzureBlobStorageImpl azureBlobStorage;
+    private final HttpPipeline signingPipeline;
+
+    /**
+     * Package-private constructor for use by {@link BlobBatchClientBuilder}.
+     *
+     * @param accountUrl The URL of the storage account.
+     * @param pipeline The pipeline of the service client, used to sign the operations and send the batches.
+     * @param serviceVersion The version of the service to send the batches with.
+     */
+    BlobBatchAsyncClient(String accountUrl, HttpPipeline pipeline, BlobServiceVersion serviceVersion) {
+        this.azureBlobStorage = new AzureBlobStorageBuilder()
+            .pipeline(pipeline)
+            .url(accountUrl)
+            .version(serviceVersion.getVersion())
+            .build();
+        this.signingPipeline = createSigningPipeline(pipeline);
+    }
+
+    /**
+     * Deletes the given blobs in batches.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.deleteBlobs&#40;blobUrls, DeleteSnapshotsOptionType.INCLUDE&#41;
+     *     .filter&#40;result -&gt; !result.isSuccess&#40;&#41;&#41;
+     *     .subscribe&#40;result -&gt; System.out.printf&#40;&quot;Failed to delete %s: %s%n&quot;,
+     *         result.getBlobUrl&#40;&#41;, result.getErrorCode&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * @param blobUrls The URLs of the blobs to delete.
+     * @param deleteOptions Whether to delete the snapshots of each blob along with it, or null to fail for blobs which
+     * have snapshots.
+     * @return A reactive response emitting the result of deleting each blob.
+     */
+    public Flux<BlobBatchOperationResult> deleteBlobs(Iterable<String> blobUrls,
+        DeleteSnapshotsOptionType deleteOptions) {
+        return deleteBlobs(blobUrls, deleteOptions, null);
+    }
+
+    /**
+     * Deletes the given blobs in batches.
+     *
+     * @param blobUrls The URLs of the blobs to delete.
+     * @param deleteOptions Whether to delete the snapshots of each blob along with it, or null to fail for blobs which
+     * have snapshots.
+     * @param options {@link BlobBatchOptions}
+     * @return A reactive response emitting the result of deleting each blob.
+     */
+    public Flux<BlobBatchOperationResult> deleteBlobs(Iterable<String> blobUrls,
+        DeleteSnapshotsOptionType deleteOptions, BlobBatchOptions options) {
+        try {
+            return deleteBlobsWithOptionalTimeout(blobUrls, deleteOptions, options, null);
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    /**
+     * Deletes the blobs emitted by a publisher in batches, for instance as a listing returns them. Batches are sent
+     * as soon as they fill, and URLs are only requested from the publisher as batches complete, so the URLs held in
+     * memory are bounded however many are emitted.
+     *
+     * @param blobUrls The URLs of the blobs to delete.
+     * @param deleteOptions Whether to delete the snapshots of each blob along with it, or null to fail for blobs which
+     * have snapshots.
+     * @param options {@link BlobBatchOptions}
+     * @return A reactive response emitting the result of deleting each blob.
+     */
+    public Flux<BlobBatchOperationResult> deleteBlobs(Flux<String> blobUrls, DeleteSnapshotsOptionType deleteOptions,
+        BlobBatchOptions options) {
+        try {
+            return deleteBlobsWithOptionalTimeout(blobUrls, deleteOptions, options, null);
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobBatchOperationResult> deleteBlobsWithOptionalTimeout(Iterable<String> blobUrls,
+        DeleteSnapshotsOptionType deleteOptions, BlobBatchOptions options, Duration timeout) {
+        StorageImplUtils.assertNotNull("blobUrls", blobUrls);
+        return deleteBlobsWithOptionalTimeout(Flux.fromIterable(blobUrls), deleteOptions, options, timeout);
+    }
+
+    Flux<BlobBatchOperationResult> deleteBlobsWithOptionalTimeout(Flux<String> blobUrls,
+        DeleteSnapshotsOptionType deleteOptions, BlobBatchOptions options, Duration timeout) {
+        return submitWithOptionalTimeout(blobUrls, blobUrl -> {
+            HttpRequest request = new HttpRequest(HttpMethod.DELETE, blobUrl);
+            if (deleteOptions != null) {
+                request.setHeader(DELETE_SNAPSHOTS_HEADER, deleteOptions.toString());
+            }
+            return request;
+        }, options, timeout);
+    }
+
+    /**
+     * Sets the access tier of the given blobs in batches.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.setBlobsAccessTier&#40;blobUrls, AccessTier.COOL&#41;
+     *     .filter&#40;result -&gt; !result.isSuccess&#40;&#41;&#41;
+     *     .subscribe&#40;result -&gt; System.out.printf&#40;&quot;Failed to set the tier of %s: %s%n&quot;,
+     *         result.getBlobUrl&#40;&#41;, result.getErrorCode&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * @param blobUrls The URLs of the blobs to set the tier of.
+     * @param accessTier The access tier to set.
+     * @return A reactive response emitting the result of setting the tier of each blob.
+     */
+    public Flux<BlobBatchOperationResult> setBlobsAccessTier(Iterable<String> blobUrls, AccessTier accessTier) {
+        return setBlobsAccessTier(blobUrls, accessTier, null);
+    }
+
+    /**
+     * Sets the access tier of the given blobs in batches.
+     *
+     * @param blobUrls The URLs of the blobs to set the tier of.
+     * @param accessTier The access tier to set.
+     * @param options {@link BlobBatchOptions}
+     * @return A reactive response emitting the result of setting the tier of each blob.
+     */
+    public Flux<BlobBatchOperationResult> setBlobsAccessTier(Iterable<String> blobUrls, AccessTier accessTier,
+        BlobBatchOptions options) {
+        try {
+            return setBlobsAccessTierWithOptionalTimeout(blobUrls, accessTier, options, null);
+        } catch (RuntimeException ex) {
+            return fluxError(logger, ex);
+        }
+    }
+
+    Flux<BlobBatchOperationResult> setBlobsAccessTierWithOptionalTimeout(Iterable<String> blobUrls,
+        AccessTier accessTier, BlobBatchOptions options, Duration timeout) {
+        StorageImplUtils.assertNotNull("blobUrls", blobUrls);
+        StorageImplUtils.assertNotNull("accessTier", accessTier);
+        return submitWithOptionalTimeout(Flux.fromIterable(blobUrls), blobUrl -> {
+            UrlBuilder url = UrlBuilder.parse(blobUrl).setQueryParameter("comp", "tier");
+            return new HttpRequest(HttpMethod.PUT, url.toString())
+                .setHeader(ACCESS_TIER_HEADER, accessTier.toString());
+        }, options, timeout);
+    }
+
+    /*
+     * Groups the operations into batches and submits up to maxConcurrency batches at a time, emitting the results of
+     * each batch as it completes.
+     */
+    private Flux<BlobBatchOperationResult> submitWithOptionalTimeout(Flux<String> blobUrls,
+        Function<String, HttpRequest> toRequest, BlobBatchOptions options, Duration timeout) {
+        StorageImplUtils.assertNotNull("blobUrls", blobUrls);
+        options = options == null ? new BlobBatchOptions() : options;
+        int maxBatchSize = options.getMaxBatchSize() == null
+            ? BlobBatchOptions.MAX_BATCH_SIZE : options.getMaxBatchSize();
+        int maxConcurrency = options.getMaxConcurrency() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS : options.getMaxConcurrency();
+
+        return blobUrls
+            .buffer(maxBatchSize)
+            .flatMap(batch -> submitBatch(batch, toRequest, timeout), maxConcurrency);
+    }
+
+    private Flux<BlobBatchOperationResult> submitBatch(List<String> blobUrls, Function<String, HttpRequest> toRequest,
+        Duration timeout) {
+        String boundary = BlobBatchUtils.createBoundary();
+        return Flux.fromIterable(blobUrls)
+            .concatMap(blobUrl -> sign(toRequest.apply(blobUrl)))
+            .collectList()
+            .flatMap(requests -> {
+                byte[] body = BlobBatchUtils.buildBody(boundary, requests);
+                return StorageImplUtils.applyOptionalTimeout(this.azureBlobStorage.services()
+                    .submitBatchWithRestResponseAsync(Flux.just(ByteBuffer.wrap(body)), body.length,
+                        BlobBatchUtils.getContentType(boundary), Context.NONE), timeout);
+            })
+            .flatMap(response -> FluxUtil.collectBytesInByteBufferStream(response.getValue())
+                .map(body -> toResults(blobUrls, body, response.getDeserializedHeaders().getContentType())))
+            .flatMapIterable(Function.identity());
+    }
+
+    /*
+     * Runs an operation through the policies of the service pipeline, so it carries the same headers and signature as
+     * if it were sent on its own, and returns it once signed instead of sending it.
+     */
+    private Mono<HttpRequest> sign(HttpRequest request) {
+        request.setHeader("Content-Length", "0");
+        return signingPipeline.send(request).map(HttpResponse::getRequest);
+    }
+
+    private List<BlobBatchOperationResult> toResults(List<String> blobUrls, byte[] body, String contentType) {
+        List<BlobBatchUtils.SubResponse> subResponses = BlobBatchUtils.parseBody(body, contentType);
+        if (subResponses == null) {
+            throw logger.logExceptionAsError(new IllegalStateException(
+                "The batch response is not a multipart body. Content-Type: " + contentType));
+        }
+
+        BlobBatchOperationResult[] results = new BlobBatchOperationResult[blobUrls.size()];
+        for (int i = 0; i < subResponses.size(); i++) {
+            BlobBatchUtils.SubResponse subResponse = subResponses.get(i);
+            // Responses are matched to operations by the echoed Content-ID, or else by their position.
+            int index = subResponse.getContentId() == null ? i : subResponse.getContentId();
+            if (index < 0 || index >= results.length) {
+                continue;
+            }
+            boolean success = subResponse.getStatusCode() / 100 == 2;
+            results[index] = new BlobBatchOperationResult(blobUrls.get(index), subResponse.getStatusCode(),
+                subResponse.getHeaders(),
+                success || subResponse.getBody().isEmpty() ? null : subResponse.getBody());
+        }
+
+        List<BlobBatchOperationResult> ordered = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                throw logger.logExceptionAsError(new IllegalStateException(
+                    "The batch response holds no result for the operation on " + blobUrls.get(i)));
+            }
+            ordered.add(results[i]);
+        }
+        return ordered;
+    }
+
+    /*
+     * Builds a pipeline from the policies of the service pipeline whose client answers every request without sending
+     * it. Operations are never sent on their own, so they are neither retried, routed to the secondary, logged nor
+     * governed; the batch request which carries them is.
+     */
+    private static HttpPipeline createSigningPipeline(HttpPipeline pipeline) {
+        List<HttpPipelinePolicy> policies = new ArrayList<>();
+        for (int i = 0; i < pipeline.getPolicyCount(); i++) {
+            HttpPipelinePolicy policy = pipeline.getPolicy(i);
+            if (!(policy instanceof RequestRetryPolicy || policy instanceof SecondaryReadPolicy
+                || policy instanceof HttpLoggingPolicy || policy instanceof ConcurrencyGovernorPolicy)) {
+                policies.add(policy);
+            }
+        }
+        return new HttpPipelineBuilder()
+            .policies(policies.toArray(new HttpPipelinePolicy[0]))
+            .httpClient(request -> Mono.just(new SignedRequestResponse(request)))
+            .build();
+    }
+
+    /*
+     * The placeholder response of the signing pipeline, holding the signed request.
+     */
+    private static final class SignedRequestResponse extends HttpResponse {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        SignedRequestResponse(HttpRequest request) {
+            super(request);
+        }
+
+        @Override
+        public int getStatusCode() {
+            return 202;
+        }
+
+        @Override
+        public String getHeaderValue(String name) {
+            return headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(new byte[0]);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return Mono.just("");
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.just("");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch;
+
+import com.azure.core.annotation.ServiceClient;
+import com.azure.core.util.IterableStream;
+import com.azure.storage.blob.models.AccessTier;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.options.BlobBatchOptions;
+
+import java.time.Duration;
+
+/**
+ * Client for submitting many blob operations of one storage account as batches. This client wraps
+ * {@link BlobBatchAsyncClient}, see it for how operations are batched.
+ *
+ * <p>Instantiate this client through {@link BlobBatchClientBuilder}.</p>
+ */
+@ServiceClient(builder = BlobBatchClientBuilder.class)
+public final class BlobBatchClient {
+    private final BlobBatchAsyncClient client;
+
+    /**
+     * Package-private constructor for use by {@link BlobBatchClientBuilder}.
+     *
+     * @param client the async batch client
+     */
+    BlobBatchClient(BlobBatchAsyncClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Deletes the given blobs in batches.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * for &#40;BlobBatchOperationResult result : client.deleteBlobs&#40;blobUrls, DeleteSnapshotsOptionType.INCLUDE,
+     *     null, timeout&#41;&#41; &#123;
+     *     System.out.printf&#40;&quot;%s: %d%n&quot;, result.getBlobUrl&#40;&#41;, result.getStatusCode&#40;&#41;&#41;;
+     * &#125;
+     * </pre>
+     *
+     * @param blobUrls The URLs of the blobs to delete.
+     * @param deleteOptions Whether to delete the snapshots of each blob along with it, or null to fail for blobs which
+     * have snapshots.
+     * @param options {@link BlobBatchOptions}
+     * @param timeout An optional timeout applied to each batch, beyond which a {@link RuntimeException} will be
+     * raised.
+     * @return The result of deleting each blob.
+     */
+    public IterableStream<BlobBatchOperationResult> deleteBlobs(Iterable<String> blobUrls,
+        DeleteSnapshotsOptionType deleteOptions, BlobBatchOptions options, Duration timeout) {
+        return new IterableStream<>(client.deleteBlobsWithOptionalTimeout(blobUrls, deleteOptions, options, timeout));
+    }
+
+    /**
+     * Sets the access tier of the given blobs in batches.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * for &#40;BlobBatchOperationResult result : client.setBlobsAccessTier&#40;blobUrls, AccessTier.COOL, null,
+     *     timeout&#41;&#41; &#123;
+     *     System.out.printf&#40;&quot;%s: %d%n&quot;, result.getBlobUrl&#40;&#41;, result.getStatusCode&#40;&#41;&#41;;
+     * &#125;
+     * </pre>
+     *
+     * @param blobUrls The URLs of the blobs to set the tier of.
+     * @param accessTier The access tier to set.
+     * @param options {@link BlobBatchOptions}
+     * @param timeout An optional timeout applied to each batch, beyond which a {@link RuntimeException} will be
+     * raised.
+     * @return The result of setting the tier of each blob.
+     */
+    public IterableStream<BlobBatchOperationResult> setBlobsAccessTier(Iterable<String> blobUrls,
+        AccessTier accessTier, BlobBatchOptions options, Duration timeout) {
+        return new IterableStream<>(
+            client.setBlobsAccessTierWithOptionalTimeout(blobUrls, accessTier, options, timeout));
+    }
+}
@@ -0,0 +1,104 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch;
+
+import com.azure.core.annotation.ServiceClientBuilder;
+import com.azure.core.http.HttpPipeline;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceAsyncClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.BlobServiceVersion;
+import com.azure.storage.blob.BlobUrlParts;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+/**
+ * This class provides a fluent builder API to help aid the configuration and instantiation of {@link BlobBatchClient
+ * BlobBatchClients} and {@link BlobBatchAsyncClient BlobBatchAsyncClients}. A batch client shares the account URL,
+ * pipeline and service version of the service or container client it is built from.
+ */
+@ServiceClientBuilder(serviceClients = {BlobBatchClient.class, BlobBatchAsyncClient.class})
+public final class BlobBatchClientBuilder {
+    private final String accountUrl;
+    private final HttpPipeline pipeline;
+    private final BlobServiceVersion version;
+
+    /**
+     * Constructs a builder for batch clients of the account of a service client.
+     *
+     * @param client {@link BlobServiceAsyncClient} of the account.
+     */
+    public BlobBatchClientBuilder(BlobServiceAsyncClient client) {
+        StorageImplUtils.assertNotNull("client", client);
+        this.accountUrl = client.getAccountUrl();
+        this.pipeline = client.getHttpPipeline();
+        this.version = client.getServiceVersion();
+    }
+
+    /**
+     * Constructs a builder for batch clients of the account of a service client.
+     *
+     * @param client {@link BlobServiceClient} of the account.
+     */
+    public BlobBatchClientBuilder(BlobServiceClient client) {
+        StorageImplUtils.assertNotNull("client", client);
+        this.accountUrl = client.getAccountUrl();
+        this.pipeline = client.getHttpPipeline();
+        this.version = client.getServiceVersion();
+    }
+
+    /**
+     * Constructs a builder for batch clients of the account of a container client.
+     *
+     * <p>Batches are submitted to the account, so the container client must be authorized with an account level
+     * credential, such as a shared key, a token credential or an account SAS. The service rejects batches submitted
+     * with a container SAS.</p>
+     *
+     * @param client {@link BlobContainerAsyncClient} of a container in the account.
+     */
+    public BlobBatchClientBuilder(BlobContainerAsyncClient client) {
+        StorageImplUtils.assertNotNull("client", client);
+        this.accountUrl = getAccountUrl(client.getBlobContainerUrl());
+        this.pipeline = client.getHttpPipeline();
+        this.version = client.getServiceVersion();
+    }
+
+    /**
+     * Constructs a builder for batch clients of the account of a container client.
+     *
+     * <p>Batches are submitted to the account, so the container client must be authorized with an account level
+     * credential, such as a shared key, a token credential or an account SAS. The service rejects batches submitted
+     * with a container SAS.</p>
+     *
+     * @param client {@link BlobContainerClient} of a container in the account.
+     */
+    public BlobBatchClientBuilder(BlobContainerClient client) {
+        StorageImplUtils.assertNotNull("client", client);
+        this.accountUrl = getAccountUrl(client.getBlobContainerUrl());
+        this.pipeline = client.getHttpPipeline();
+        this.version = client.getServiceVersion();
+    }
+
+    /**
+     * Creates a {@link BlobBatchClient}.
+     *
+     * @return a {@link BlobBatchClient} created from the configurations in this builder.
+     */
+    public BlobBatchClient buildClient() {
+        return new BlobBatchClient(buildAsyncClient());
+    }
+
+    /**
+     * Creates a {@link BlobBatchAsyncClient}.
+     *
+     * @return a {@link BlobBatchAsyncClient} created from the configurations in this builder.
+     */
+    public BlobBatchAsyncClient buildAsyncClient() {
+        return new BlobBatchAsyncClient(accountUrl, pipeline, version);
+    }
+
+    private static String getAccountUrl(String containerUrl) {
+        return BlobUrlParts.parse(containerUrl).setContainerName(null).setBlobName(null).toUrl().toString();
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.batch;
+
+import com.azure.core.http.HttpHeaders;
+
+/**
+ * The outcome of one operation submitted in a blob batch.
+ */
+public final class BlobBatchOperationResult {
+    private static final String ERROR_CODE_HEADER = "x-ms-error-code";
+
+    private final String blobUrl;
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final String errorMessage;
+
+    BlobBatchOperationResult(String blobUrl, int statusCode, HttpHeaders headers, String errorMessage) {
+        this.blobUrl = blobUrl;
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return The URL of the blob the operation was applied to.
+     */
+    public String getBlobUrl() {
+        return blobUrl;
+    }
+
+    /**
+     * @return The status code the service answered the operation with.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return The headers the service answered the operation with.
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return Whether the operation succeeded.
+     */
+    public boolean isSuccess() {
+        return statusCode / 100 == 2;
+    }
+
+    /**
+     * @return The {@link com.azure.storage.blob.models.BlobErrorCode error code} of a failed operation, or null if it
+     * succeeded.
+     */
+    public String getErrorCode() {
+        return headers.getValue(ERROR_CODE_HEADER);
+    }
+
+    /**
+     * @return The body of the error response of a failed operation, or null if it succeeded or the service sent no
+     * body.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
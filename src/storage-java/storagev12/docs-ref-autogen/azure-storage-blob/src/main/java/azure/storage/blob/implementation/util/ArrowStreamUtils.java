@@ -0,0 +1,152 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.EOFException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class provides helper methods for query output in the Arrow IPC stream format.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public class ArrowStreamUtils {
+    private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+    private static final int BODY_LENGTH_FIELD = 3;
+
+    /*
+    Regroups an Arrow IPC stream so that each buffer holds exactly one message, including its length prefix, or the end
+    of stream marker. The bytes are unchanged. A message contained in a single input buffer is emitted as a slice of
+    it, otherwise it is assembled in a buffer sized to the message.
+     */
+    public static Flux<ByteBuffer> frameMessages(Flux<ByteBuffer> stream) {
+        return Flux.defer(() -> {
+            MessageFramer framer = new MessageFramer();
+            return stream.concatMapIterable(framer::frame)
+                .concatWith(Mono.fromRunnable(framer::finish));
+        });
+    }
+
+    private static final class MessageFramer {
+        private byte[] partial;
+        private int partialLength;
+
+        List<ByteBuffer> frame(ByteBuffer buffer) {
+            ByteBuffer input = buffer.duplicate();
+            List<ByteBuffer> output = new ArrayList<>();
+            while (input.hasRemaining()) {
+                if (partialLength == 0) {
+                    long length = measure(input.slice());
+                    if (length > 0 && length <= input.remaining()) {
+                        ByteBuffer message = input.slice();
+                        message.limit((int) length);
+                        output.add(message);
+                        input.position(input.position() + (int) length);
+                    } else {
+                        stash(input, input.remaining(), Math.abs(length));
+                    }
+                    continue;
+                }
+
+                long length = measure(ByteBuffer.wrap(partial, 0, partialLength));
+                if (length > 0 && partialLength == length) {
+                    output.add(ByteBuffer.wrap(partial, 0, partialLength));
+                    partial = null;
+                    partialLength = 0;
+                } else {
+                    long required = Math.abs(length);
+                    stash(input, (int) Math.min(input.remaining(), required - partialLength), required);
+                }
+            }
+
+            // The input may have ended exactly on a message boundary of the partial message.
+            if (partialLength > 0 && measure(ByteBuffer.wrap(partial, 0, partialLength)) == partialLength) {
+                output.add(ByteBuffer.wrap(partial, 0, partialLength));
+                partial = null;
+                partialLength = 0;
+            }
+            return output;
+        }
+
+        void finish() {
+            if (partialLength > 0) {
+                throw new UncheckedIOException(new EOFException("Unexpected end of Arrow stream."));
+            }
+        }
+
+        private void stash(ByteBuffer input, int length, long required) {
+            int capacity = (int) Math.max(partialLength + length, Math.min(required, Integer.MAX_VALUE));
+            if (partial == null) {
+                partial = new byte[capacity];
+            } else if (partial.length < partialLength + length) {
+                partial = Arrays.copyOf(partial, Math.max(capacity, partial.length * 2));
+            }
+            input.get(partial, partialLength, length);
+            partialLength += length;
+        }
+
+        /*
+        Returns the total length of the message at the start of the buffer, or, if not enough of it is available to
+        tell, the negated number of bytes needed to learn more.
+
+        A message is an optional continuation marker, the little endian length of the flatbuffer metadata, the
+        metadata, and a body whose length is recorded in the metadata. A metadata length of zero marks the end of the
+        stream.
+         */
+        private static long measure(ByteBuffer message) {
+            message.order(ByteOrder.LITTLE_ENDIAN);
+            if (message.remaining() < 4) {
+                return -4;
+            }
+            int prefixLength = 4;
+            int metadataLength = message.getInt(0);
+            if (metadataLength == CONTINUATION_MARKER) {
+                if (message.remaining() < 8) {
+                    return -8;
+                }
+                prefixLength = 8;
+                metadataLength = message.getInt(4);
+            }
+            if (metadataLength < 0) {
+                throw new IllegalArgumentException("Failed to parse Arrow stream.");
+            }
+            if (metadataLength == 0) {
+                return prefixLength;
+            }
+            long headerLength = (long) prefixLength + metadataLength;
+            if (message.remaining() < headerLength) {
+                return -headerLength;
+            }
+            return headerLength + readBodyLength(message, prefixLength);
+        }
+
+        /*
+        Reads the bodyLength field of the Message table at the root of the flatbuffer. Absent fields take their default
+        value of zero.
+         */
+        private static long readBodyLength(ByteBuffer message, int offset) {
+            int table = offset + message.getInt(offset);
+            int vtable = table - message.getInt(table);
+            int vtableLength = message.getShort(vtable) & 0xFFFF;
+            int fieldEntry = 4 + 2 * BODY_LENGTH_FIELD;
+            if (fieldEntry + 2 > vtableLength) {
+                return 0;
+            }
+            int fieldOffset = message.getShort(vtable + fieldEntry) & 0xFFFF;
+            long bodyLength = fieldOffset == 0 ? 0 : message.getLong(table + fieldOffset);
+            if (bodyLength < 0) {
+                throw new IllegalArgumentException("Failed to parse Arrow stream.");
+            }
+            return bodyLength;
+        }
+    }
+}
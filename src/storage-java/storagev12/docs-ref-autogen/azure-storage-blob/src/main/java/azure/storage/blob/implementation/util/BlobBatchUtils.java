@@ -0,0 +1,181 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpRequest;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * This class provides helper methods for the multipart bodies of blob batch requests and responses.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public class BlobBatchUtils {
+    private static final String NEW_LINE = "\r\n";
+    private static final String BOUNDARY_PARAMETER = "boundary=";
+
+    /*
+    Creates a boundary unique to one batch request.
+     */
+    public static String createBoundary() {
+        return "batch_" + UUID.randomUUID();
+    }
+
+    /*
+    The Content-Type of a batch request whose parts are separated by the given boundary.
+     */
+    public static String getContentType(String boundary) {
+        return "multipart/mixed; " + BOUNDARY_PARAMETER + boundary;
+    }
+
+    /*
+    Writes each signed sub-request as a part of a batch request body. The Content-ID of a part is the index of its
+    sub-request, which the service echoes in the part of the response answering it.
+     */
+    public static byte[] buildBody(String boundary, List<HttpRequest> requests) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < requests.size(); i++) {
+            HttpRequest request = requests.get(i);
+            URL url = request.getUrl();
+
+            body.append("--").append(boundary).append(NEW_LINE)
+                .append("Content-Type: application/http").append(NEW_LINE)
+                .append("Content-Transfer-Encoding: binary").append(NEW_LINE)
+                .append("Content-ID: ").append(i).append(NEW_LINE)
+                .append(NEW_LINE)
+                .append(request.getHttpMethod()).append(' ').append(url.getPath())
+                .append(url.getQuery() == null ? "" : "?" + url.getQuery()).append(" HTTP/1.1").append(NEW_LINE);
+            for (HttpHeader header : request.getHeaders()) {
+                body.append(header.getName()).append(": ").append(header.getValue()).append(NEW_LINE);
+            }
+            body.append(NEW_LINE);
+        }
+        body.append("--").append(boundary).append("--").append(NEW_LINE);
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /*
+    Splits a batch response body into the responses to its sub-requests, in the order the service returned them.
+    Returns null if the Content-Type is not multipart, as when the batch as a whole was rejected.
+     */
+    public static List<SubResponse> parseBody(byte[] body, String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        int boundaryStart = contentType.indexOf(BOUNDARY_PARAMETER);
+        if (boundaryStart < 0) {
+            return null;
+        }
+        String boundary = contentType.substring(boundaryStart + BOUNDARY_PARAMETER.length()).split(";")[0].trim();
+        if (boundary.startsWith("\"") && boundary.endsWith("\"") && boundary.length() > 1) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+
+        String delimiter = "--" + boundary;
+        String[] parts = new String(body, StandardCharsets.UTF_8).split(Pattern.quote(delimiter));
+        List<SubResponse> responses = new ArrayList<>();
+        // The first part is the preamble and the part after the closing delimiter starts with "--".
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].startsWith("--")) {
+                break;
+            }
+            responses.add(parsePart(parts[i]));
+        }
+        return responses;
+    }
+
+    private static SubResponse parsePart(String part) {
+        String[] lines = part.split("\r?\n", -1);
+        int line = 0;
+        // Skip the remainder of the delimiter line.
+        if (lines[line].trim().isEmpty()) {
+            line++;
+        }
+
+        Integer contentId = null;
+        for (; line < lines.length && !lines[line].isEmpty(); line++) {
+            int colon = lines[line].indexOf(':');
+            if (colon > 0 && "content-id".equalsIgnoreCase(lines[line].substring(0, colon).trim())) {
+                contentId = Integer.parseInt(lines[line].substring(colon + 1).trim());
+            }
+        }
+        line++;
+
+        // HTTP/1.1 <status> <reason>
+        String[] statusLine = lines[line++].split(" ", 3);
+        int statusCode = Integer.parseInt(statusLine[1]);
+
+        HttpHeaders headers = new HttpHeaders();
+        for (; line < lines.length && !lines[line].isEmpty(); line++) {
+            int colon = lines[line].indexOf(':');
+            if (colon > 0) {
+                headers.put(lines[line].substring(0, colon).trim(), lines[line].substring(colon + 1).trim());
+            }
+        }
+        line++;
+
+        StringBuilder content = new StringBuilder();
+        for (; line < lines.length; line++) {
+            content.append(lines[line]);
+            if (line < lines.length - 1) {
+                content.append(NEW_LINE);
+            }
+        }
+        return new SubResponse(contentId, statusCode, headers, content.toString().trim());
+    }
+
+    /**
+     * The response to one sub-request of a batch.
+     */
+    public static final class SubResponse {
+        private final Integer contentId;
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final String body;
+
+        SubResponse(Integer contentId, int statusCode, HttpHeaders headers, String body) {
+            this.contentId = contentId;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * @return The index of the sub-request answered, or null if the service did not echo it.
+         */
+        public Integer getContentId() {
+            return contentId;
+        }
+
+        /**
+         * @return The status code of the response.
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * @return The headers of the response.
+         */
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        /**
+         * @return The body of the response, empty if it has none.
+         */
+        public String getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,531 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.core.util.DateTimeRfc1123;
+import com.azure.storage.blob.models.AccessTier;
+import com.azure.storage.blob.models.ArchiveStatus;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobSummaryField;
+import com.azure.storage.blob.models.BlobSummaryItem;
+import com.azure.storage.blob.models.BlobType;
+import com.azure.storage.blob.models.CopyStatusType;
+import com.azure.storage.blob.models.LeaseDurationType;
+import com.azure.storage.blob.models.LeaseStateType;
+import com.azure.storage.blob.models.LeaseStatusType;
+import com.azure.storage.blob.models.RehydratePriority;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * This class parses List Blobs response bodies directly into {@link BlobItem BlobItems}, or the lighter
+ * {@link BlobSummaryItem BlobSummaryItems}, without materializing the intermediate generated models. Property values
+ * which tend to repeat across a listing, such as content types, are shared between items rather than allocated for
+ * each one. An instance keeps that state between the pages of one listing and is not thread safe.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class BlobListingParser {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+    private static final int MAX_SHARED_VALUES = 1024;
+
+    private final Map<String, String> sharedValues = new HashMap<>();
+
+    /*
+    Parses one page of a flat or hierarchical listing. Blobs are listed before prefixes, each in the order the service
+    returned them.
+     */
+    public Segment<BlobItem> parse(byte[] body) {
+        return parse(body, this::readBlob, this::readBlobPrefix);
+    }
+
+    /*
+    Parses one page of a flat or hierarchical listing into summaries holding only the given fields. The elements of
+    any other property are skipped without being decoded.
+     */
+    public Segment<BlobSummaryItem> parseSummaries(byte[] body, Set<BlobSummaryField> fields) {
+        return parse(body, reader -> readBlobSummary(reader, fields), BlobListingParser::readBlobPrefixSummary);
+    }
+
+    private <T> Segment<T> parse(byte[] body, ItemReader<T> blobReader, ItemReader<T> prefixReader) {
+        List<T> blobItems = new ArrayList<>();
+        List<T> blobPrefixes = new ArrayList<>();
+        String nextMarker = null;
+
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(body));
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "Blob":
+                        blobItems.add(blobReader.read(reader));
+                        break;
+                    case "BlobPrefix":
+                        blobPrefixes.add(prefixReader.read(reader));
+                        break;
+                    case "NextMarker":
+                        nextMarker = readText(reader);
+                        break;
+                    default:
+                        // EnumerationResults and Blobs hold the items, the remaining elements echo the request.
+                        break;
+                }
+            }
+        } catch (XMLStreamException ex) {
+            throw new UncheckedIOException(new IOException("Failed to parse blob listing.", ex));
+        } finally {
+            close(reader);
+        }
+
+        blobItems.addAll(blobPrefixes);
+        return new Segment<>(blobItems, nextMarker);
+    }
+
+    private BlobItem readBlob(XMLStreamReader reader) throws XMLStreamException {
+        BlobItem item = new BlobItem().setTags(new HashMap<>());
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "Name":
+                    item.setName(reader.getElementText());
+                    break;
+                case "Deleted":
+                    item.setDeleted(Boolean.parseBoolean(reader.getElementText()));
+                    break;
+                case "Snapshot":
+                    item.setSnapshot(reader.getElementText());
+                    break;
+                case "VersionId":
+                    item.setVersionId(reader.getElementText());
+                    break;
+                case "IsCurrentVersion":
+                    item.setCurrentVersion(readBoolean(reader));
+                    break;
+                case "IsPrefix":
+                    item.setIsPrefix(readBoolean(reader));
+                    break;
+                case "Properties":
+                    item.setProperties(readProperties(reader));
+                    break;
+                case "Metadata":
+                    item.setMetadata(readMap(reader));
+                    break;
+                case "Tags":
+                    item.setTags(readTags(reader));
+                    break;
+                case "OrMetadata":
+                    item.setObjectReplicationSourcePolicies(
+                        ModelHelper.transformObjectReplicationMetadata(readMap(reader)));
+                    break;
+                default:
+                    skip(reader);
+                    break;
+            }
+        }
+        return item;
+    }
+
+    private BlobItem readBlobPrefix(XMLStreamReader reader) throws XMLStreamException {
+        BlobItem item = new BlobItem().setIsPrefix(true);
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("Name".equals(reader.getLocalName())) {
+                item.setName(reader.getElementText());
+            } else {
+                skip(reader);
+            }
+        }
+        return item;
+    }
+
+    private BlobSummaryItem readBlobSummary(XMLStreamReader reader, Set<BlobSummaryField> fields)
+        throws XMLStreamException {
+        BlobSummaryItem item = new BlobSummaryItem();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "Name":
+                    item.setName(reader.getElementText());
+                    break;
+                case "Deleted":
+                    readSummaryField(reader, fields, BlobSummaryField.DELETED,
+                        text -> item.setDeleted(Boolean.parseBoolean(text)));
+                    break;
+                case "Snapshot":
+                    readSummaryField(reader, fields, BlobSummaryField.SNAPSHOT, item::setSnapshot);
+                    break;
+                case "VersionId":
+                    readSummaryField(reader, fields, BlobSummaryField.VERSION_ID, item::setVersionId);
+                    break;
+                case "Properties":
+                    readSummaryProperties(reader, fields, item);
+                    break;
+                default:
+                    skip(reader);
+                    break;
+            }
+        }
+        return item;
+    }
+
+    private void readSummaryProperties(XMLStreamReader reader, Set<BlobSummaryField> fields, BlobSummaryItem item)
+        throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "Content-Length":
+                    readSummaryField(reader, fields, BlobSummaryField.CONTENT_LENGTH,
+                        text -> item.setContentLength(Long.parseLong(text)));
+                    break;
+                case "Etag":
+                    readSummaryField(reader, fields, BlobSummaryField.ETAG, item::setETag);
+                    break;
+                case "Last-Modified":
+                    readSummaryField(reader, fields, BlobSummaryField.LAST_MODIFIED,
+                        text -> item.setLastModified(parseDateTime(text)));
+                    break;
+                case "Creation-Time":
+                    readSummaryField(reader, fields, BlobSummaryField.CREATION_TIME,
+                        text -> item.setCreationTime(parseDateTime(text)));
+                    break;
+                case "Content-Type":
+                    readSummaryField(reader, fields, BlobSummaryField.CONTENT_TYPE,
+                        text -> item.setContentType(share(text)));
+                    break;
+                case "Content-MD5":
+                    readSummaryField(reader, fields, BlobSummaryField.CONTENT_MD5,
+                        text -> item.setContentMd5(Base64.getDecoder().decode(text)));
+                    break;
+                case "BlobType":
+                    readSummaryField(reader, fields, BlobSummaryField.BLOB_TYPE,
+                        text -> item.setBlobType(BlobType.fromString(text)));
+                    break;
+                case "AccessTier":
+                    readSummaryField(reader, fields, BlobSummaryField.ACCESS_TIER,
+                        text -> item.setAccessTier(AccessTier.fromString(text)));
+                    break;
+                default:
+                    skip(reader);
+                    break;
+            }
+        }
+    }
+
+    /*
+    Hands the text of the current element to the setter if its field was requested and the element is not empty,
+    otherwise skips the element without reading its text.
+     */
+    private static void readSummaryField(XMLStreamReader reader, Set<BlobSummaryField> fields,
+        BlobSummaryField field, Consumer<String> setter) throws XMLStreamException {
+        if (!fields.contains(field)) {
+            skip(reader);
+            return;
+        }
+        String text = readText(reader);
+        if (text != null) {
+            setter.accept(text);
+        }
+    }
+
+    private static BlobSummaryItem readBlobPrefixSummary(XMLStreamReader reader) throws XMLStreamException {
+        BlobSummaryItem item = new BlobSummaryItem().setPrefix(true);
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("Name".equals(reader.getLocalName())) {
+                item.setName(reader.getElementText());
+            } else {
+                skip(reader);
+            }
+        }
+        return item;
+    }
+
+    private BlobItemProperties readProperties(XMLStreamReader reader) throws XMLStreamException {
+        BlobItemProperties properties = new BlobItemProperties();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            String text = readText(reader);
+            if (text == null) {
+                continue;
+            }
+            switch (name) {
+                case "Creation-Time":
+                    properties.setCreationTime(parseDateTime(text));
+                    break;
+                case "Last-Modified":
+                    properties.setLastModified(parseDateTime(text));
+                    break;
+                case "Etag":
+                    properties.setETag(text);
+                    break;
+                case "Content-Length":
+                    properties.setContentLength(Long.parseLong(text));
+                    break;
+                case "Content-Type":
+                    properties.setContentType(share(text));
+                    break;
+                case "Content-Encoding":
+                    properties.setContentEncoding(share(text));
+                    break;
+                case "Content-Language":
+                    properties.setContentLanguage(share(text));
+                    break;
+                case "Content-MD5":
+                    properties.setContentMd5(Base64.getDecoder().decode(text));
+                    break;
+                case "Content-Disposition":
+                    properties.setContentDisposition(share(text));
+                    break;
+                case "Cache-Control":
+                    properties.setCacheControl(share(text));
+                    break;
+                case "x-ms-blob-sequence-number":
+                    properties.setBlobSequenceNumber(Long.parseLong(text));
+                    break;
+                case "BlobType":
+                    properties.setBlobType(BlobType.fromString(text));
+                    break;
+                case "LeaseStatus":
+                    properties.setLeaseStatus(LeaseStatusType.fromString(text));
+                    break;
+                case "LeaseState":
+                    properties.setLeaseState(LeaseStateType.fromString(text));
+                    break;
+                case "LeaseDuration":
+                    properties.setLeaseDuration(LeaseDurationType.fromString(text));
+                    break;
+                case "CopyId":
+                    properties.setCopyId(text);
+                    break;
+                case "CopyStatus":
+                    properties.setCopyStatus(CopyStatusType.fromString(text));
+                    break;
+                case "CopySource":
+                    properties.setCopySource(text);
+                    break;
+                case "CopyProgress":
+                    properties.setCopyProgress(text);
+                    break;
+                case "CopyCompletionTime":
+                    properties.setCopyCompletionTime(parseDateTime(text));
+                    break;
+                case "CopyStatusDescription":
+                    properties.setCopyStatusDescription(text);
+                    break;
+                case "ServerEncrypted":
+                    properties.setServerEncrypted(Boolean.parseBoolean(text));
+                    break;
+                case "IncrementalCopy":
+                    properties.setIncrementalCopy(Boolean.parseBoolean(text));
+                    break;
+                case "DestinationSnapshot":
+                    properties.setDestinationSnapshot(text);
+                    break;
+                case "DeletedTime":
+                    properties.setDeletedTime(parseDateTime(text));
+                    break;
+                case "RemainingRetentionDays":
+                    properties.setRemainingRetentionDays(Integer.parseInt(text));
+                    break;
+                case "AccessTier":
+                    properties.setAccessTier(AccessTier.fromString(text));
+                    break;
+                case "AccessTierInferred":
+                    properties.setAccessTierInferred(Boolean.parseBoolean(text));
+                    break;
+                case "ArchiveStatus":
+                    properties.setArchiveStatus(ArchiveStatus.fromString(text));
+                    break;
+                case "CustomerProvidedKeySha256":
+                    properties.setCustomerProvidedKeySha256(share(text));
+                    break;
+                case "EncryptionScope":
+                    properties.setEncryptionScope(share(text));
+                    break;
+                case "AccessTierChangeTime":
+                    properties.setAccessTierChangeTime(parseDateTime(text));
+                    break;
+                case "TagCount":
+                    properties.setTagCount(Integer.parseInt(text));
+                    break;
+                case "Sealed":
+                    properties.setSealed(Boolean.parseBoolean(text));
+                    break;
+                case "RehydratePriority":
+                    properties.setRehydratePriority(RehydratePriority.fromString(text));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return properties;
+    }
+
+    /*
+    Reads an element whose children are name/value pairs, such as Metadata. Names are shared between items since the
+    same keys tend to recur across a listing.
+     */
+    private Map<String, String> readMap(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> map = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String key = share(reader.getLocalName());
+            String value = reader.getElementText();
+            if (map == null) {
+                map = new LinkedHashMap<>();
+            }
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    /*
+    Reads Tags/TagSet/Tag/{Key,Value}.
+     */
+    private Map<String, String> readTags(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> tags = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (!"TagSet".equals(reader.getLocalName())) {
+                skip(reader);
+                continue;
+            }
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (!"Tag".equals(reader.getLocalName())) {
+                    skip(reader);
+                    continue;
+                }
+                String key = null;
+                String value = null;
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if ("Key".equals(reader.getLocalName())) {
+                        key = share(reader.getElementText());
+                    } else if ("Value".equals(reader.getLocalName())) {
+                        value = reader.getElementText();
+                    } else {
+                        skip(reader);
+                    }
+                }
+                if (tags == null) {
+                    tags = new HashMap<>();
+                }
+                tags.put(key, value);
+            }
+        }
+        return tags == null ? new HashMap<>() : tags;
+    }
+
+    /*
+    Returns a previously seen equal string if there is one, so that repeated values share a single instance.
+     */
+    private String share(String value) {
+        String shared = sharedValues.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (sharedValues.size() < MAX_SHARED_VALUES) {
+            sharedValues.put(value, value);
+        }
+        return value;
+    }
+
+    /*
+    Reads the text of the current element, treating an empty element as absent.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static Boolean readBoolean(XMLStreamReader reader) throws XMLStreamException {
+        String text = readText(reader);
+        return text == null ? null : Boolean.parseBoolean(text);
+    }
+
+    private static OffsetDateTime parseDateTime(String text) {
+        return new DateTimeRfc1123(text).getDateTime();
+    }
+
+    /*
+    Skips the current element and everything in it, leaving the reader on its end tag.
+     */
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {
+            // Nothing is held open beyond the in-memory body.
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        return factory;
+    }
+
+    /*
+    Reads a Blob or BlobPrefix element, leaving the reader on its end tag.
+     */
+    private interface ItemReader<T> {
+        T read(XMLStreamReader reader) throws XMLStreamException;
+    }
+
+    /**
+     * One page of a blob listing.
+     *
+     * @param <T> The type of the items of the page.
+     */
+    public static final class Segment<T> {
+        private final List<T> blobItems;
+        private final String nextMarker;
+
+        Segment(List<T> blobItems, String nextMarker) {
+            this.blobItems = blobItems;
+            this.nextMarker = nextMarker;
+        }
+
+        /**
+         * @return The blobs of the page, followed by its prefixes.
+         */
+        public List<T> getBlobItems() {
+            return blobItems;
+        }
+
+        /**
+         * @return The marker of the next page, or null if this is the last page.
+         */
+        public String getNextMarker() {
+            return nextMarker;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.core.annotation.ExpectedResponses;
+import com.azure.core.annotation.Get;
+import com.azure.core.annotation.HeaderParam;
+import com.azure.core.annotation.Host;
+import com.azure.core.annotation.HostParam;
+import com.azure.core.annotation.PathParam;
+import com.azure.core.annotation.QueryParam;
+import com.azure.core.annotation.ServiceInterface;
+import com.azure.core.annotation.UnexpectedResponseExceptionType;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.rest.ResponseBase;
+import com.azure.core.http.rest.RestProxy;
+import com.azure.core.util.Context;
+import com.azure.core.util.serializer.CollectionFormat;
+import com.azure.core.util.serializer.JacksonAdapter;
+import com.azure.storage.blob.implementation.AzureBlobStorageImpl;
+import com.azure.storage.blob.implementation.models.ContainerListBlobFlatSegmentHeaders;
+import com.azure.storage.blob.implementation.models.ContainerListBlobHierarchySegmentHeaders;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ListBlobsIncludeItem;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * This class issues the List Blobs operation leaving the response body undeserialized, so that
+ * {@link BlobListingParser} can read it directly. It sits beside the generated {@code ContainersImpl}, which only
+ * offers the deserialized listing, so that regenerating the protocol layer does not drop it.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class BlobListingStreamClient {
+    private static final String RESTYPE = "container";
+    private static final String COMP = "list";
+
+    private final BlobListingStreamService service;
+    private final AzureBlobStorageImpl client;
+
+    /**
+     * Creates a client which lists blobs through the pipeline, url and version of the given service client.
+     *
+     * @param client The service client of the container.
+     */
+    public BlobListingStreamClient(AzureBlobStorageImpl client) {
+        this.service = RestProxy.create(BlobListingStreamService.class, client.getHttpPipeline());
+        this.client = client;
+    }
+
+    @Host("{url}")
+    @ServiceInterface(name = "AzureBlobStorageListingStream")
+    private interface BlobListingStreamService {
+        @Get("{containerName}")
+        @ExpectedResponses({200})
+        @UnexpectedResponseExceptionType(BlobStorageException.class)
+        Mono<FlatSegmentResponse> listBlobFlatSegment(@PathParam("containerName") String containerName,
+            @HostParam("url") String url, @QueryParam("prefix") String prefix, @QueryParam("marker") String marker,
+            @QueryParam("maxresults") Integer maxresults, @QueryParam("include") String include,
+            @QueryParam("timeout") Integer timeout, @HeaderParam("x-ms-version") String version,
+            @HeaderParam("x-ms-client-request-id") String requestId, @QueryParam("restype") String restype,
+            @QueryParam("comp") String comp, Context context);
+
+        @Get("{containerName}")
+        @ExpectedResponses({200})
+        @UnexpectedResponseExceptionType(BlobStorageException.class)
+        Mono<HierarchySegmentResponse> listBlobHierarchySegment(@PathParam("containerName") String containerName,
+            @HostParam("url") String url, @QueryParam("prefix") String prefix,
+            @QueryParam("delimiter") String delimiter, @QueryParam("marker") String marker,
+            @QueryParam("maxresults") Integer maxresults, @QueryParam("include") String include,
+            @QueryParam("timeout") Integer timeout, @HeaderParam("x-ms-version") String version,
+            @HeaderParam("x-ms-client-request-id") String requestId, @QueryParam("restype") String restype,
+            @QueryParam("comp") String comp, Context context);
+    }
+
+    /**
+     * Lists a segment of the blobs in the container, flattened.
+     *
+     * @param prefix Filters the results to return only blobs whose name begins with the specified prefix.
+     * @param marker Identifies the segment to list, as returned by the previous segment. Null lists the first.
+     * @param maxresults The maximum number of blobs to return.
+     * @param include The datasets to include in the response.
+     * @param timeout The server timeout, in seconds.
+     * @param requestId The client request id.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A response whose value is the raw listing body.
+     */
+    public Mono<FlatSegmentResponse> listBlobFlatSegment(String prefix, String marker, Integer maxresults,
+        List<ListBlobsIncludeItem> include, Integer timeout, String requestId, Context context) {
+        return service.listBlobFlatSegment(null, client.getUrl(), prefix, marker, maxresults,
+            serializeInclude(include), timeout, client.getVersion(), requestId, RESTYPE, COMP, context);
+    }
+
+    /**
+     * Lists a segment of the blobs and virtual directories in the container, split on the delimiter.
+     *
+     * @param delimiter The delimiter of the virtual directories.
+     * @param prefix Filters the results to return only blobs whose name begins with the specified prefix.
+     * @param marker Identifies the segment to list, as returned by the previous segment. Null lists the first.
+     * @param maxresults The maximum number of blobs to return.
+     * @param include The datasets to include in the response.
+     * @param timeout The server timeout, in seconds.
+     * @param requestId The client request id.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A response whose value is the raw listing body.
+     */
+    public Mono<HierarchySegmentResponse> listBlobHierarchySegment(String delimiter, String prefix, String marker,
+        Integer maxresults, List<ListBlobsIncludeItem> include, Integer timeout, String requestId,
+        Context context) {
+        return service.listBlobHierarchySegment(null, client.getUrl(), prefix, delimiter, marker, maxresults,
+            serializeInclude(include), timeout, client.getVersion(), requestId, RESTYPE, COMP, context);
+    }
+
+    private static String serializeInclude(List<ListBlobsIncludeItem> include) {
+        return JacksonAdapter.createDefaultSerializerAdapter().serializeList(include, CollectionFormat.CSV);
+    }
+
+    /**
+     * The response of a flat listing, with the body left as the raw content stream.
+     */
+    public static final class FlatSegmentResponse
+        extends ResponseBase<ContainerListBlobFlatSegmentHeaders, Flux<ByteBuffer>> {
+        /**
+         * Creates an instance of FlatSegmentResponse.
+         *
+         * @param request the request which resulted in this response.
+         * @param statusCode the status code of the HTTP response.
+         * @param rawHeaders the raw headers of the HTTP response.
+         * @param value the content stream.
+         * @param headers the deserialized headers of the HTTP response.
+         */
+        public FlatSegmentResponse(HttpRequest request, int statusCode, HttpHeaders rawHeaders,
+            Flux<ByteBuffer> value, ContainerListBlobFlatSegmentHeaders headers) {
+            super(request, statusCode, rawHeaders, value, headers);
+        }
+    }
+
+    /**
+     * The response of a hierarchical listing, with the body left as the raw content stream.
+     */
+    public static final class HierarchySegmentResponse
+        extends ResponseBase<ContainerListBlobHierarchySegmentHeaders, Flux<ByteBuffer>> {
+        /**
+         * Creates an instance of HierarchySegmentResponse.
+         *
+         * @param request the request which resulted in this response.
+         * @param statusCode the status code of the HTTP response.
+         * @param rawHeaders the raw headers of the HTTP response.
+         * @param value the content stream.
+         * @param headers the deserialized headers of the HTTP response.
+         */
+        public HierarchySegmentResponse(HttpRequest request, int statusCode, HttpHeaders rawHeaders,
+            Flux<ByteBuffer> value, ContainerListBlobHierarchySegmentHeaders headers) {
+            super(request, statusCode, rawHeaders, value, headers);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.models.BlobQueryAsyncResponse;
+import com.azure.storage.blob.options.BlobQueryOptions;
+import com.azure.storage.blob.specialized.BlobAsyncClientBase;
+import reactor.core.publisher.Mono;
+
+/**
+ * This class gives container queries access to the query of {@link BlobAsyncClientBase} which looks cached output up
+ * under the ETag a listing returned for the blob, rather than fetching the properties of the blob again, without
+ * making that query part of the public API.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class BlobQueryHelper {
+    private static ListedBlobQueryAccessor accessor;
+
+    /**
+     * Type defining the method which queries a blob whose ETag a listing returned.
+     */
+    public interface ListedBlobQueryAccessor {
+        /**
+         * Queries a blob, looking cached output up under the ETag the listing returned for it.
+         *
+         * @param client The client of the blob.
+         * @param queryOptions {@link BlobQueryOptions}
+         * @param listedETag The ETag the listing returned for the blob.
+         * @param context Additional context that is passed through the Http pipeline during the service call.
+         * @return A reactive response containing the queried data.
+         */
+        Mono<BlobQueryAsyncResponse> queryWithResponse(BlobAsyncClientBase client, BlobQueryOptions queryOptions,
+            String listedETag, Context context);
+    }
+
+    /**
+     * The method called from {@link BlobAsyncClientBase} to set its accessor.
+     *
+     * @param listedBlobQueryAccessor The accessor.
+     */
+    public static void setAccessor(ListedBlobQueryAccessor listedBlobQueryAccessor) {
+        accessor = listedBlobQueryAccessor;
+    }
+
+    /**
+     * Queries a blob, looking cached output up under the ETag the listing returned for it.
+     *
+     * @param client The client of the blob.
+     * @param queryOptions {@link BlobQueryOptions}
+     * @param listedETag The ETag the listing returned for the blob.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A reactive response containing the queried data.
+     */
+    public static Mono<BlobQueryAsyncResponse> queryWithResponse(BlobAsyncClientBase client,
+        BlobQueryOptions queryOptions, String listedETag, Context context) {
+        // The accessor is set when BlobAsyncClientBase is initialized, which it is once a client exists.
+        return accessor.queryWithResponse(client, queryOptions, listedETag, context);
+    }
+
+    private BlobQueryHelper() {
+    }
+}
@@ -4,28 +4,33 @@
 package com.azure.storage.blob.implementation.util;
 
 import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.implementation.models.ArrowConfiguration;
+import com.azure.storage.blob.implementation.models.ArrowField;
 import com.azure.storage.blob.implementation.models.DelimitedTextConfiguration;
 import com.azure.storage.blob.implementation.models.JsonTextConfiguration;
 import com.azure.storage.blob.implementation.models.QueryFormat;
 import com.azure.storage.blob.implementation.models.QueryFormatType;
 import com.azure.storage.blob.implementation.models.QuerySerialization;
+import com.azure.storage.blob.models.BlobQueryArrowField;
+import com.azure.storage.blob.models.BlobQueryArrowSerialization;
 import com.azure.storage.blob.models.BlobQueryDelimitedSerialization;
 import com.azure.storage.blob.models.BlobQueryError;
 import com.azure.storage.blob.models.BlobQueryJsonSerialization;
 import com.azure.storage.blob.models.BlobQueryProgress;
 import com.azure.storage.blob.models.BlobQuerySerialization;
-import com.azure.storage.internal.avro.implementation.AvroConstants;
-import com.azure.storage.internal.avro.implementation.AvroObject;
-import com.azure.storage.internal.avro.implementation.AvroReaderFactory;
-import com.azure.storage.internal.avro.implementation.schema.AvroSchema;
-import com.azure.storage.internal.avro.implementation.schema.primitive.AvroNullSchema;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -34,7 +39,6 @@ import java.util.function.Consumer;
  * RESERVED FOR INTERNAL USE.
  */
 public class BlobQueryReader {
-
     private final Flux<ByteBuffer> avro;
     private final Consumer<BlobQueryProgress> progressConsumer;
     private final Consumer<BlobQueryError> errorConsumer;
@@ -60,144 +64,17 @@ public class BlobQueryReader {
      * a series of blocks of data). The Query Avro schema indicates that the objects being emitted from the parser can
      * either be a result data record, an end record, a progress record or an error record.
      *
+     * The schema is fixed, so the records are decoded directly from the network buffers rather than through the
+     * generic Avro reader, and the data of each result data record is emitted as slices of those buffers.
+     *
      * @return The parsed query reactive stream.
      */
     public Flux<ByteBuffer> read() {
-        return new AvroReaderFactory().getAvroReader(avro).read()
-            .map(AvroObject::getObject)
-            .concatMap(this::parseRecord);
-    }
-
-    /**
-     * Parses a query record.
-     *
-     * @param quickQueryRecord The query record.
-     * @return The optional data in the record.
-     */
-    private Mono<ByteBuffer> parseRecord(Object quickQueryRecord) {
-        if (!(quickQueryRecord instanceof Map)) {
-            return Mono.error(new IllegalArgumentException("Expected object to be of type Map"));
-        }
-        Map<?, ?> record = (Map<?, ?>) quickQueryRecord;
-        Object recordSchema = record.get(AvroConstants.RECORD);
-
-        switch (recordSchema.toString()) {
-            case "resultData":
-                return parseResultData(record);
-            case "end":
-                return parseEnd(record);
-            case "progress":
-                return parseProgress(record);
-            case "error":
-                return parseError(record);
-            default:
-                return Mono.error(new IllegalStateException(String.format("Unknown record type %s "
-                    + "while parsing query response. ", recordSchema.toString())));
-        }
-    }
-
-    /**
-     * Parses a query result data record.
-     * @param dataRecord The query result data record.
-     * @return The data in the record.
-     */
-    private Mono<ByteBuffer> parseResultData(Map<?, ?> dataRecord) {
-        Object data = dataRecord.get("data");
-
-        if (checkParametersNotNull(data)) {
-            AvroSchema.checkType("data", data, List.class);
-            return Mono.just(ByteBuffer.wrap(AvroSchema.getBytes((List<?>) data)));
-        } else {
-            return Mono.error(new IllegalArgumentException("Failed to parse result data record from "
-                + "query response stream."));
-        }
-    }
-
-    /**
-     * Parses a query end record.
-     * @param endRecord The query end record.
-     * @return Mono.empty or Mono.error
-     */
-    private Mono<ByteBuffer> parseEnd(Map<?, ?> endRecord) {
-        if (progressConsumer != null) {
-            Object totalBytes = endRecord.get("totalBytes");
-
-            if (checkParametersNotNull(totalBytes)) {
-                AvroSchema.checkType("totalBytes", totalBytes, Long.class);
-                progressConsumer.accept(new BlobQueryProgress((long) totalBytes, (long) totalBytes));
-            } else {
-                return Mono.error(new IllegalArgumentException("Failed to parse end record from query "
-                    + "response stream."));
-            }
-        }
-        return Mono.empty();
-    }
-
-    /**
-     * Parses a query progress record.
-     * @param progressRecord The query progress record.
-     * @return Mono.empty or Mono.error
-     */
-    private Mono<ByteBuffer> parseProgress(Map<?, ?> progressRecord) {
-        if (progressConsumer != null) {
-            Object bytesScanned = progressRecord.get("bytesScanned");
-            Object totalBytes = progressRecord.get("totalBytes");
-
-            if (checkParametersNotNull(bytesScanned, totalBytes)) {
-                AvroSchema.checkType("bytesScanned", bytesScanned, Long.class);
-                AvroSchema.checkType("totalBytes", totalBytes, Long.class);
-                progressConsumer.accept(new BlobQueryProgress((long) bytesScanned, (long) totalBytes));
-            } else {
-                return Mono.error(new IllegalArgumentException("Failed to parse progress record from "
-                    + "query response stream."));
-            }
-        }
-        return Mono.empty();
-    }
-
-    /**
-     * Parses a query error record.
-     * @param errorRecord The query error record.
-     * @return Mono.empty or Mono.error
-     */
-    private Mono<ByteBuffer> parseError(Map<?, ?> errorRecord) {
-        Object fatal = errorRecord.get("fatal");
-        Object name = errorRecord.get("name");
-        Object description = errorRecord.get("description");
-        Object position = errorRecord.get("position");
-
-        if (checkParametersNotNull(fatal, name, description, position)) {
-            AvroSchema.checkType("fatal", fatal, Boolean.class);
-            AvroSchema.checkType("name", name, String.class);
-            AvroSchema.checkType("description", description, String.class);
-            AvroSchema.checkType("position", position, Long.class);
-
-            BlobQueryError error = new BlobQueryError((Boolean) fatal, (String) name,
-                (String) description, (Long) position);
-
-            if (errorConsumer != null) {
-                errorConsumer.accept(error);
-            } else {
-                return Mono.error(new IOException("An error was reported during query response processing, "
-                    + System.lineSeparator() + error.toString()));
-            }
-        } else {
-            return Mono.error(new IllegalArgumentException("Failed to parse error record from "
-                + "query response stream."));
-        }
-        return Mono.empty();
-    }
-
-    /**
-     * Checks whether or not all parameters are non-null.
-     */
-    private static boolean checkParametersNotNull(Object... data) {
-        for (Object o : data) {
-            if (o == null || o instanceof AvroNullSchema.Null) {
-                return false;
-            }
-        }
-        return true;
+        return Flux.defer(() -> {
+            QuickQueryDecoder decoder = new QuickQueryDecoder(progressConsumer, errorConsumer);
+            return avro.concatMapIterable(decoder::decode)
+                .concatWith(Mono.fromRunnable(decoder::finish));
+        }).onErrorMap(UncheckedIOException.class, UncheckedIOException::getCause);
     }
 
     /**
@@ -225,14 +102,38 @@ public class BlobQueryReader {
             generatedFormat.setJsonTextConfiguration(transformJson(
                 (BlobQueryJsonSerialization) userSerialization));
 
+        } else if (userSerialization instanceof BlobQueryArrowSerialization) {
+
+            generatedFormat.setType(QueryFormatType.ARROW);
+            generatedFormat.setArrowConfiguration(transformArrow(
+                (BlobQueryArrowSerialization) userSerialization));
+
         } else {
             throw logger.logExceptionAsError(new IllegalArgumentException(
-                String.format("'input' must be one of %s or %s", BlobQueryJsonSerialization.class.getSimpleName(),
-                    BlobQueryDelimitedSerialization.class.getSimpleName())));
+                String.format("'input' must be one of %s, %s or %s", BlobQueryJsonSerialization.class.getSimpleName(),
+                    BlobQueryDelimitedSerialization.class.getSimpleName(),
+                    BlobQueryArrowSerialization.class.getSimpleName())));
         }
         return new QuerySerialization().setFormat(generatedFormat);
     }
 
+    /**
+     * Transforms a generic BlobQuickQuerySerialization used as the input of a query into a QuickQuerySerialization.
+     * Arrow may only be used as the output serialization.
+     * @param userSerialization {@link BlobQuerySerialization}
+     * @param logger {@link ClientLogger}
+     * @return {@link QuerySerialization}
+     */
+    public static QuerySerialization transformInputSerialization(BlobQuerySerialization userSerialization,
+        ClientLogger logger) {
+        if (userSerialization instanceof BlobQueryArrowSerialization) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                String.format("%s may only be used as the output serialization.",
+                    BlobQueryArrowSerialization.class.getSimpleName())));
+        }
+        return transformSerialization(userSerialization, logger);
+    }
+
     /**
      * Transforms a BlobQuickQueryDelimitedSerialization into a DelimitedTextConfiguration.
      *
@@ -266,7 +167,361 @@ public class BlobQueryReader {
             .setRecordSeparator(charToString(jsonSerialization.getRecordSeparator()));
     }
 
+    /**
+     * Transforms a BlobQueryArrowSerialization into an ArrowConfiguration.
+     *
+     * @param arrowSerialization {@link BlobQueryArrowSerialization}
+     * @return {@link ArrowConfiguration}
+     */
+    private static ArrowConfiguration transformArrow(BlobQueryArrowSerialization arrowSerialization) {
+        if (arrowSerialization == null || arrowSerialization.getSchema() == null) {
+            return null;
+        }
+        List<ArrowField> schema = new ArrayList<>(arrowSerialization.getSchema().size());
+        for (BlobQueryArrowField field : arrowSerialization.getSchema()) {
+            schema.add(new ArrowField()
+                .setType(field.getType().toString())
+                .setName(field.getName())
+                .setPrecision(field.getPrecision())
+                .setScale(field.getScale()));
+        }
+        return new ArrowConfiguration().setSchema(schema);
+    }
+
     private static String charToString(char c) {
         return c == '\0' ? "" : Character.toString(c);
     }
+
+    /*
+    Decodes the query response, which is an Avro object container file whose schema is a union of the result data,
+    end, progress and error records. Items other than result data may be split across buffers, so an item which cannot
+    yet be completed is kept until more arrives.
+     */
+    private static final class QuickQueryDecoder {
+        private static final byte[] MAGIC = {'O', 'b', 'j', 1};
+        private static final int SYNC_MARKER_SIZE = 16;
+        private static final int READ_AHEAD = 256;
+
+        private final Consumer<BlobQueryProgress> progressConsumer;
+        private final Consumer<BlobQueryError> errorConsumer;
+
+        private RecordType[] branches;
+        private byte[] syncMarker;
+        private boolean inBlock;
+        private long objectsRemaining;
+        private long dataRemaining;
+        private byte[] pending = new byte[READ_AHEAD];
+        private int pendingLength;
+
+        QuickQueryDecoder(Consumer<BlobQueryProgress> progressConsumer, Consumer<BlobQueryError> errorConsumer) {
+            this.progressConsumer = progressConsumer;
+            this.errorConsumer = errorConsumer;
+        }
+
+        List<ByteBuffer> decode(ByteBuffer buffer) {
+            ByteBuffer input = buffer.duplicate();
+            List<ByteBuffer> output = new ArrayList<>();
+            while (true) {
+                if (dataRemaining > 0) {
+                    int length = (int) Math.min(dataRemaining, input.remaining());
+                    if (length == 0) {
+                        return output;
+                    }
+                    ByteBuffer data = input.slice();
+                    data.limit(length);
+                    output.add(data);
+                    input.position(input.position() + length);
+                    dataRemaining -= length;
+                    if (dataRemaining == 0) {
+                        objectsRemaining--;
+                    }
+                } else if (!readItem(input)) {
+                    return output;
+                }
+            }
+        }
+
+        void finish() {
+            if (syncMarker == null || inBlock || pendingLength > 0) {
+                throw new UncheckedIOException(new EOFException("Unexpected end of query response stream."));
+            }
+        }
+
+        /*
+        Reads the next header, block boundary or record. Items are small, so one split across buffers is completed in
+        the pending array, growing it by a little of the new input at a time and handing back whatever was not used.
+         */
+        private boolean readItem(ByteBuffer input) {
+            if (pendingLength == 0) {
+                int start = input.position();
+                try {
+                    readNext(input);
+                    return true;
+                } catch (Underflow ignored) {
+                    input.position(start);
+                    stash(input, input.remaining());
+                    return false;
+                }
+            }
+
+            while (input.hasRemaining()) {
+                stash(input, Math.min(Math.max(READ_AHEAD, pendingLength), input.remaining()));
+                ByteBuffer view = ByteBuffer.wrap(pending, 0, pendingLength);
+                try {
+                    readNext(view);
+                    input.position(input.position() - view.remaining());
+                    pendingLength = 0;
+                    return true;
+                } catch (Underflow ignored) {
+                    // Keep appending input until the item is complete.
+                }
+            }
+            return false;
+        }
+
+        private void stash(ByteBuffer input, int length) {
+            if (pending.length < pendingLength + length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+            }
+            input.get(pending, pendingLength, length);
+            pendingLength += length;
+        }
+
+        /*
+        Decoder state is only updated once an item has been read completely, so an item which underflows can be read
+        again from the start once more input arrives.
+         */
+        private void readNext(ByteBuffer in) {
+            if (syncMarker == null) {
+                readHeader(in);
+            } else if (!inBlock) {
+                long count = readLong(in);
+                readLong(in); // Size of the block in bytes.
+                if (count < 0) {
+                    throw malformed();
+                }
+                objectsRemaining = count;
+                inBlock = true;
+            } else if (objectsRemaining == 0) {
+                for (int i = 0; i < SYNC_MARKER_SIZE; i++) {
+                    if (readByte(in) != syncMarker[i]) {
+                        throw malformed();
+                    }
+                }
+                inBlock = false;
+            } else {
+                readRecord(in);
+            }
+        }
+
+        private void readHeader(ByteBuffer in) {
+            for (byte b : MAGIC) {
+                if (readByte(in) != b) {
+                    throw malformed();
+                }
+            }
+
+            String schema = null;
+            String codec = null;
+            for (long count = readLong(in); count != 0; count = readLong(in)) {
+                if (count < 0) {
+                    count = -count;
+                    readLong(in); // Size of the map block in bytes.
+                }
+                for (long i = 0; i < count; i++) {
+                    String key = readString(in);
+                    String value = readString(in);
+                    if ("avro.schema".equals(key)) {
+                        schema = value;
+                    } else if ("avro.codec".equals(key)) {
+                        codec = value;
+                    }
+                }
+            }
+            byte[] marker = new byte[SYNC_MARKER_SIZE];
+            for (int i = 0; i < SYNC_MARKER_SIZE; i++) {
+                marker[i] = readByte(in);
+            }
+
+            if (codec != null && !"null".equals(codec)) {
+                throw new IllegalStateException(String.format("Unsupported codec %s while parsing query response.",
+                    codec));
+            }
+            branches = parseSchema(schema);
+            syncMarker = marker;
+        }
+
+        private void readRecord(ByteBuffer in) {
+            long index = readLong(in);
+            if (index < 0 || index >= branches.length) {
+                throw malformed();
+            }
+            RecordType type = branches[(int) index];
+            if (type == null) {
+                throw new IllegalStateException(String.format("Unknown record type at union index %d "
+                    + "while parsing query response. ", index));
+            }
+
+            switch (type) {
+                case RESULT_DATA:
+                    long length = readLong(in);
+                    if (length < 0) {
+                        throw malformed();
+                    }
+                    dataRemaining = length;
+                    if (length == 0) {
+                        objectsRemaining--;
+                    }
+                    return;
+                case END:
+                    long endTotalBytes = readLong(in);
+                    objectsRemaining--;
+                    if (progressConsumer != null) {
+                        progressConsumer.accept(new BlobQueryProgress(endTotalBytes, endTotalBytes));
+                    }
+                    return;
+                case PROGRESS:
+                    long bytesScanned = readLong(in);
+                    long totalBytes = readLong(in);
+                    objectsRemaining--;
+                    if (progressConsumer != null) {
+                        progressConsumer.accept(new BlobQueryProgress(bytesScanned, totalBytes));
+                    }
+                    return;
+                case ERROR:
+                    boolean fatal = readByte(in) != 0;
+                    String name = readString(in);
+                    String description = readString(in);
+                    long position = readLong(in);
+                    objectsRemaining--;
+                    BlobQueryError error = new BlobQueryError(fatal, name, description, position);
+                    if (errorConsumer == null) {
+                        throw new UncheckedIOException(new IOException("An error was reported during query response "
+                            + "processing, " + System.lineSeparator() + error.toString()));
+                    }
+                    errorConsumer.accept(error);
+                    return;
+                default:
+                    throw malformed();
+            }
+        }
+
+        /*
+        Maps each branch of the schema union to the record it holds, checking that the fields are laid out as this
+        decoder expects. Branches holding any other record are left null and fail only if they are used.
+         */
+        private static RecordType[] parseSchema(String schema) {
+            if (schema == null) {
+                throw malformed();
+            }
+            JsonNode root;
+            try {
+                root = new ObjectMapper().readTree(schema);
+            } catch (IOException ex) {
+                throw new IllegalArgumentException("Failed to parse query response schema.", ex);
+            }
+            JsonNode[] records = root.isArray() ? toArray(root) : new JsonNode[] {root};
+
+            RecordType[] types = new RecordType[records.length];
+            for (int i = 0; i < records.length; i++) {
+                String name = records[i].path("name").asText();
+                String shortName = name.substring(name.lastIndexOf('.') + 1);
+                for (RecordType type : RecordType.values()) {
+                    if (type.recordName.equals(shortName)) {
+                        type.checkFields(records[i].path("fields"));
+                        types[i] = type;
+                    }
+                }
+            }
+            return types;
+        }
+
+        private static JsonNode[] toArray(JsonNode array) {
+            JsonNode[] nodes = new JsonNode[array.size()];
+            for (int i = 0; i < nodes.length; i++) {
+                nodes[i] = array.get(i);
+            }
+            return nodes;
+        }
+
+        private static byte readByte(ByteBuffer in) {
+            if (!in.hasRemaining()) {
+                throw Underflow.INSTANCE;
+            }
+            return in.get();
+        }
+
+        /*
+        Reads a zig-zag encoded variable length long.
+         */
+        private static long readLong(ByteBuffer in) {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte(in);
+                value |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return (value >>> 1) ^ -(value & 1);
+                }
+            }
+            throw malformed();
+        }
+
+        private static String readString(ByteBuffer in) {
+            long length = readLong(in);
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw malformed();
+            }
+            if (in.remaining() < length) {
+                throw Underflow.INSTANCE;
+            }
+            byte[] bytes = new byte[(int) length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static IllegalArgumentException malformed() {
+            return new IllegalArgumentException("Failed to parse query response stream.");
+        }
+    }
+
+    private enum RecordType {
+        RESULT_DATA("resultData", "data", "bytes"),
+        END("end", "totalBytes", "long"),
+        PROGRESS("progress", "bytesScanned", "long", "totalBytes", "long"),
+        ERROR("error", "fatal", "boolean", "name", "string", "description", "string", "position", "long");
+
+        private final String recordName;
+        private final String[] fieldNamesAndTypes;
+
+        RecordType(String recordName, String... fieldNamesAndTypes) {
+            this.recordName = recordName;
+            this.fieldNamesAndTypes = fieldNamesAndTypes;
+        }
+
+        void checkFields(JsonNode fields) {
+            boolean matches = fields.isArray() && fields.size() * 2 == fieldNamesAndTypes.length;
+            for (int i = 0; matches && i < fields.size(); i++) {
+                JsonNode type = fields.get(i).path("type");
+                String typeName = type.isObject() ? type.path("type").asText() : type.asText();
+                matches = fieldNamesAndTypes[2 * i].equals(fields.get(i).path("name").asText())
+                    && fieldNamesAndTypes[2 * i + 1].equals(typeName);
+            }
+            if (!matches) {
+                throw new IllegalStateException(String.format("Unexpected layout of the %s record "
+                    + "while parsing query response.", recordName));
+            }
+        }
+    }
+
+    /*
+    Signals that an item is split across buffers. It carries no stack trace and is shared, so hitting a buffer boundary
+    allocates nothing.
+     */
+    private static final class Underflow extends RuntimeException {
+        private static final Underflow INSTANCE = new Underflow();
+
+        private Underflow() {
+            super(null, null, false, false);
+        }
+    }
 }
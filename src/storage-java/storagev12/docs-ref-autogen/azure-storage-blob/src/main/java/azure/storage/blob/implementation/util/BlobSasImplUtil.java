@@ -167,6 +167,46 @@ public class BlobSasImplUtil {
         return encode(delegationKey, signature);
     }
 
+    /**
+     * Gets the string a Sas signed with a {@link StorageSharedKeyCredential} would sign.
+     *
+     * @param accountName The account name
+     * @return The string to sign
+     */
+    public String getStringToSign(String accountName) {
+        StorageImplUtils.assertNotNull("accountName", accountName);
+
+        ensureState();
+        return stringToSign(getCanonicalName(accountName));
+    }
+
+    /**
+     * Gets the string a Sas signed with a {@link UserDelegationKey} would sign.
+     *
+     * @param delegationKey {@link UserDelegationKey}
+     * @param accountName The account name
+     * @return The string to sign
+     */
+    public String getUserDelegationStringToSign(UserDelegationKey delegationKey, String accountName) {
+        StorageImplUtils.assertNotNull("delegationKey", delegationKey);
+        StorageImplUtils.assertNotNull("accountName", accountName);
+
+        ensureState();
+        return stringToSign(delegationKey, getCanonicalName(accountName));
+    }
+
+    /**
+     * Encodes a Sas carrying the given signature.
+     *
+     * @param delegationKey {@link UserDelegationKey} if the signature was computed with one, otherwise null
+     * @param signature The signature of the Sas
+     * @return A String representing the Sas
+     */
+    public String encodeSas(UserDelegationKey delegationKey, String signature) {
+        ensureState();
+        return encode(delegationKey, signature);
+    }
+
     /**
      * Encodes a Sas from the values in this type.
      * @param userDelegationKey {@link UserDelegationKey}
@@ -19,6 +19,8 @@ import com.azure.core.util.Configuration;
 import com.azure.core.util.CoreUtils;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.storage.blob.BlobUrlParts;
+import com.azure.storage.blob.models.HttpTransportOptions;
+import com.azure.storage.blob.models.SecondaryReadOptions;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.implementation.Constants;
 import com.azure.storage.common.implementation.credentials.SasTokenCredential;
@@ -27,7 +29,6 @@ import com.azure.storage.common.policy.RequestRetryOptions;
 import com.azure.storage.common.policy.RequestRetryPolicy;
 import com.azure.storage.common.policy.ResponseValidationPolicyBuilder;
 import com.azure.storage.common.policy.ScrubEtagPolicy;
-import com.azure.storage.common.policy.StorageSharedKeyCredentialPolicy;
 
 import java.net.MalformedURLException;
 import java.util.ArrayList;
@@ -44,6 +45,7 @@ public final class BuilderHelper {
         CoreUtils.getProperties("azure-storage-blob.properties");
     private static final String SDK_NAME = "name";
     private static final String SDK_VERSION = "version";
+    private static final RequestRetryOptions DEFAULT_RETRY_OPTIONS = new RequestRetryOptions();
 
     /**
      * Constructs a {@link HttpPipeline} from values passed from a builder.
@@ -53,18 +55,40 @@ public final class BuilderHelper {
      * @param sasTokenCredential {@link SasTokenCredential} if present.
      * @param endpoint The endpoint for the client.
      * @param retryOptions Retry options to set in the retry policy.
+     * @param secondaryReadOptions Options for routing reads to the secondary endpoint, if present.
      * @param logOptions Logging options to set in the logging policy.
      * @param httpClient HttpClient to use in the builder.
+     * @param transportOptions Options for the connections of the default HttpClient, used if there is no HttpClient.
      * @param additionalPolicies Additional {@link HttpPipelinePolicy policies} to set in the pipeline.
      * @param configuration Configuration store contain environment settings.
      * @param logger {@link ClientLogger} used to log any exception.
-     * @return A new {@link HttpPipeline} from the passed values.
+     * @return An {@link HttpPipeline} from the passed values, shared with other builders passing the same values
+     * unless there are additional policies.
      */
     public static HttpPipeline buildPipeline(StorageSharedKeyCredential storageSharedKeyCredential,
         TokenCredential tokenCredential, SasTokenCredential sasTokenCredential, String endpoint,
-        RequestRetryOptions retryOptions, HttpLogOptions logOptions, HttpClient httpClient,
-        List<HttpPipelinePolicy> additionalPolicies, Configuration configuration, ClientLogger logger) {
+        RequestRetryOptions retryOptions, SecondaryReadOptions secondaryReadOptions, HttpLogOptions logOptions,
+        HttpClient httpClient, HttpTransportOptions transportOptions, List<HttpPipelinePolicy> additionalPolicies,
+        Configuration configuration, ClientLogger logger) {
+        HttpClient client = httpClient == null ? SharedPipelineRegistry.getHttpClient(transportOptions) : httpClient;
+
+        // Additional policies may hold state of their own, so a pipeline holding them is never shared.
+        if (!additionalPolicies.isEmpty()) {
+            return createPipeline(storageSharedKeyCredential, tokenCredential, sasTokenCredential, endpoint,
+                retryOptions, secondaryReadOptions, logOptions, client, additionalPolicies, configuration, logger);
+        }
+        return SharedPipelineRegistry.getOrBuild(storageSharedKeyCredential, tokenCredential, sasTokenCredential,
+            endpoint, retryOptions, secondaryReadOptions, logOptions, client, configuration,
+            () -> createPipeline(storageSharedKeyCredential, tokenCredential, sasTokenCredential, endpoint,
+                retryOptions, secondaryReadOptions, logOptions, client, additionalPolicies, configuration,
+                logger));
+    }
 
+    private static HttpPipeline createPipeline(StorageSharedKeyCredential storageSharedKeyCredential,
+        TokenCredential tokenCredential, SasTokenCredential sasTokenCredential, String endpoint,
+        RequestRetryOptions retryOptions, SecondaryReadOptions secondaryReadOptions, HttpLogOptions logOptions,
+        HttpClient httpClient, List<HttpPipelinePolicy> additionalPolicies, Configuration configuration,
+        ClientLogger logger) {
         // Closest to API goes first, closest to wire goes last.
         List<HttpPipelinePolicy> policies = new ArrayList<>();
 
@@ -74,10 +98,18 @@ public final class BuilderHelper {
         HttpPolicyProviders.addBeforeRetryPolicies(policies);
         policies.add(new RequestRetryPolicy(retryOptions));
 
+        // Routing is decided per attempt so that a retry after a slow or throttled primary can use the secondary.
+        if (secondaryReadOptions != null && secondaryReadOptions.isAllowStaleReads()) {
+            policies.add(new SecondaryReadPolicy(endpoint, secondaryReadOptions));
+        }
+
+        // Each attempt waits its turn at the endpoint it was routed to, and is only dated and signed once sent.
+        policies.add(new ConcurrencyGovernorPolicy());
+
         policies.add(new AddDatePolicy());
         HttpPipelinePolicy credentialPolicy;
         if (storageSharedKeyCredential != null) {
-            credentialPolicy =  new StorageSharedKeyCredentialPolicy(storageSharedKeyCredential);
+            credentialPolicy =  new SharedKeySigningPolicy(storageSharedKeyCredential);
         } else if (tokenCredential != null) {
             httpsValidation(tokenCredential, "bearer token", endpoint, logger);
             credentialPolicy =  new BearerTokenAuthenticationPolicy(tokenCredential,
@@ -133,6 +165,16 @@ public final class BuilderHelper {
         return defaultOptions;
     }
 
+    /**
+     * Gets the default retry options for Storage Blob. The instance is shared by every builder which is not given
+     * retry options, which lets their pipelines be shared as well.
+     *
+     * @return the default retry options.
+     */
+    public static RequestRetryOptions getDefaultRetryOptions() {
+        return DEFAULT_RETRY_OPTIONS;
+    }
+
     /**
      * Gets the endpoint for the blob service based on the parsed URL.
      *
@@ -13,7 +13,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple3;
+import reactor.util.function.Tuples;
 
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -57,8 +59,7 @@ public class ChunkedDownloadUtils {
                 remaining data, take the size of the remaining data. This is to prevent the case where the count
                 is much much larger than the size of the blob and we could try to download at an invalid offset.
                  */
-                long newCount = range.getCount() == null || range.getCount() > (totalLength - range.getOffset())
-                    ? totalLength - range.getOffset() : range.getCount();
+                long newCount = calculateCount(range, totalLength);
 
                 return Mono.zip(Mono.just(newCount), Mono.just(newConditions), Mono.just(response));
             })
@@ -92,13 +93,48 @@ public class ChunkedDownloadUtils {
             });
     }
 
+    /*
+    Like downloadFirstChunk, but if the size and etag of the blob are already known, e.g. from a listing, no request is
+    made and no response is emitted. Every chunk, including the first, may then be requested at once rather than after
+    the first chunk has completed, and each is locked to the known etag so that a blob which has changed since fails
+    rather than being read at the wrong size. The hint is only trusted if it describes a non-empty range and the caller
+    has not asked for another etag; otherwise the first chunk is downloaded to discover the size.
+     */
+    public static Mono<Tuple3<Long, BlobRequestConditions, Optional<BlobDownloadAsyncResponse>>> setupDownload(
+        BlobRange range, ParallelTransferOptions parallelTransferOptions, BlobRequestConditions requestConditions,
+        Long knownBlobSize, String knownETag,
+        BiFunction<BlobRange, BlobRequestConditions, Mono<BlobDownloadAsyncResponse>> downloader, boolean eTagLock) {
+        String ifMatch = requestConditions.getIfMatch();
+        long newCount = knownBlobSize == null ? 0 : calculateCount(range, knownBlobSize);
+
+        if (newCount <= 0 || knownETag == null || (ifMatch != null && !ifMatch.equals(knownETag))) {
+            return downloadFirstChunk(range, parallelTransferOptions, requestConditions, downloader, eTagLock)
+                .map(setup -> Tuples.of(setup.getT1(), setup.getT2(), Optional.of(setup.getT3())));
+        }
+
+        return Mono.just(Tuples.of(newCount, setEtag(requestConditions, knownETag), Optional.empty()));
+    }
+
+    /*
+    If the user either didn't specify a count or they specified a count greater than the size of the remaining data,
+    take the size of the remaining data.
+     */
+    private static long calculateCount(BlobRange range, long totalLength) {
+        return range.getCount() == null || range.getCount() > (totalLength - range.getOffset())
+            ? totalLength - range.getOffset() : range.getCount();
+    }
+
+    /*
+    Downloads a single chunk and transforms the response. The first chunk is only requested if no initialResponse was
+    retrieved during setup.
+     */
     public static <T> Flux<T> downloadChunk(Integer chunkNum, BlobDownloadAsyncResponse initialResponse,
         BlobRange finalRange, ParallelTransferOptions finalParallelTransferOptions,
         BlobRequestConditions requestConditions, long newCount,
         BiFunction<BlobRange, BlobRequestConditions, Mono<BlobDownloadAsyncResponse>> downloader,
         Function<BlobDownloadAsyncResponse, Flux<T>> returnTransformer) {
         // The first chunk was retrieved during setup.
-        if (chunkNum == 0) {
+        if (chunkNum == 0 && initialResponse != null) {
             return returnTransformer.apply(initialResponse);
         }
 
@@ -0,0 +1,165 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.storage.blob.models.BlobItemProperties;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class provides helper methods for downloading many blobs into a local directory.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public class DirectoryDownloadUtils {
+
+    /**
+     * A local file which is written by one or more requests. The file is opened by the first request that needs it
+     * and closed, with its last modified time set to the blob's, once every request has completed. A file whose path
+     * collides with a directory, or whose directories collide with a file, is skipped by every request.
+     */
+    public static final class FileTarget {
+        private final Path path;
+        private final OffsetDateTime lastModified;
+        private final AtomicInteger remaining;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private AsynchronousFileChannel channel;
+        private boolean skipped;
+
+        /**
+         * @param path The file to write.
+         * @param lastModified The last modified time of the blob.
+         * @param requestCount The number of requests that will write to the file.
+         */
+        public FileTarget(Path path, OffsetDateTime lastModified, int requestCount) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.remaining = new AtomicInteger(requestCount);
+        }
+
+        /**
+         * @return The channel to write to, opening the file and creating its parent directories if necessary, or null
+         * if the file is skipped because its path collides with another file or directory.
+         * @throws FileAlreadyExistsException The first time the path of the file is found to collide with another
+         * file or directory. The file is skipped from then on.
+         * @throws IOException If the file cannot be opened.
+         */
+        public synchronized AsynchronousFileChannel getChannel() throws IOException {
+            if (skipped) {
+                return null;
+            }
+            if (channel == null) {
+                try {
+                    Files.createDirectories(path.getParent());
+                    channel = AsynchronousFileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                } catch (IOException ex) {
+                    FileAlreadyExistsException collision = findCollision();
+                    if (collision == null) {
+                        throw ex;
+                    }
+                    skipped = true;
+                    throw collision;
+                }
+            }
+            return channel;
+        }
+
+        /*
+        A blob named like a directory of another blob, such as "a" alongside "a/b", fails to open with an error which
+        depends on which of the two came first and on the platform, so the path is checked for what is in the way.
+         */
+        private FileAlreadyExistsException findCollision() {
+            if (Files.isDirectory(path)) {
+                return new FileAlreadyExistsException(path.toString(), null, "A directory exists at the file's path.");
+            }
+            for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+                if (Files.isDirectory(parent)) {
+                    return null;
+                }
+                if (Files.exists(parent)) {
+                    return new FileAlreadyExistsException(parent.toString(), path.toString(),
+                        "A file exists at the path of one of the file's directories.");
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Records that one request has finished writing. Once all requests have finished the file is closed.
+         *
+         * @return Whether this was the last request for the file.
+         * @throws IOException If the file cannot be closed or its last modified time cannot be set.
+         */
+        public boolean complete() throws IOException {
+            if (remaining.decrementAndGet() > 0 || !closed.compareAndSet(false, true)) {
+                return false;
+            }
+            AsynchronousFileChannel finalChannel = getChannel();
+            if (finalChannel == null) {
+                return true;
+            }
+            finalChannel.close();
+            if (lastModified != null) {
+                Files.setLastModifiedTime(path, FileTime.from(lastModified.toInstant()));
+            }
+            return true;
+        }
+
+        /**
+         * Closes the file, if it was opened and is still open, and deletes it so a partially written file is never
+         * mistaken for an unchanged one.
+         */
+        public synchronized void abort() {
+            if (channel == null || !closed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // Best effort, the download has already failed.
+            }
+        }
+    }
+
+    /*
+    Resolves the local path for a blob. Returns null if the blob name would escape the directory, for example because
+    it contains "..", or if it names a directory rather than a file.
+     */
+    public static Path resolve(Path directory, String blobName) {
+        if (blobName.isEmpty() || blobName.endsWith("/")) {
+            return null;
+        }
+        Path root = directory.toAbsolutePath().normalize();
+        Path path = root.resolve(blobName).normalize();
+        return path.startsWith(root) && !path.equals(root) ? path : null;
+    }
+
+    /*
+    A local file is considered unchanged if it has the same size as the blob and was last modified no earlier than
+    the blob. Files written by a previous download have their last modified time set to the blob's.
+     */
+    public static boolean isUnchanged(Path path, BlobItemProperties properties) {
+        if (properties == null || properties.getContentLength() == null || properties.getLastModified() == null) {
+            return false;
+        }
+        try {
+            return Files.isRegularFile(path)
+                && Files.size(path) == properties.getContentLength()
+                && Files.getLastModifiedTime(path).toInstant().compareTo(properties.getLastModified().toInstant()) >= 0;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * This class provides helper methods for compressing blob data on upload and decompressing it on download.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public class GzipUtils {
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_SIZE = 10;
+    private static final int TRAILER_SIZE = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    /*
+    Compresses a single block as one gzip member.
+     */
+    public static byte[] compress(byte[] data) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(32, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, OUTPUT_BUFFER_SIZE)) {
+            gzip.write(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    /*
+    Decompresses a stream of one or more gzip members as the data arrives, without buffering the whole stream.
+     */
+    public static Flux<ByteBuffer> decompress(Flux<ByteBuffer> data) {
+        return Flux.defer(() -> {
+            StreamingDecoder decoder = new StreamingDecoder();
+            return data.concatMapIterable(decoder::decode)
+                .concatWith(Mono.fromRunnable(decoder::finish))
+                .doFinally(signalType -> decoder.close());
+        });
+    }
+
+    /*
+    Decodes concatenated gzip members. The inflater reads each buffer in place, or from a reused copy if the buffer is
+    not backed by an array, and inflates into a reused output buffer, so only the decompressed bytes are allocated.
+    Header and trailer bytes may be split across buffers, so the few bytes which cannot yet be consumed are kept until
+    more arrive.
+     */
+    private static final class StreamingDecoder {
+        private final Inflater inflater = new Inflater(true);
+        private final CRC32 crc = new CRC32();
+        private final byte[] outputBuffer = new byte[OUTPUT_BUFFER_SIZE];
+        private byte[] inputCopy = new byte[0];
+        private byte[] pending = new byte[0];
+        private int pendingOffset;
+        private int pendingEnd;
+        private boolean inMember;
+        private boolean inTrailer;
+
+        List<ByteBuffer> decode(ByteBuffer input) {
+            append(input);
+            List<ByteBuffer> output = new ArrayList<>();
+            try {
+                boolean progress = true;
+                while (progress) {
+                    if (inTrailer) {
+                        progress = readTrailer();
+                    } else if (inMember) {
+                        progress = inflate(output);
+                    } else {
+                        progress = readHeader();
+                    }
+                }
+            } catch (ZipException ex) {
+                throw new UncheckedIOException(ex);
+            }
+
+            // The input may belong to the caller, so what is left of it is copied before it is returned.
+            if (available() > 0) {
+                pending = Arrays.copyOfRange(pending, pendingOffset, pendingEnd);
+                pendingOffset = 0;
+                pendingEnd = pending.length;
+            }
+            return output;
+        }
+
+        void finish() {
+            if (inMember || inTrailer || available() > 0) {
+                throw new UncheckedIOException(new ZipException("Unexpected end of gzip stream."));
+            }
+        }
+
+        void close() {
+            inflater.end();
+        }
+
+        private int available() {
+            return pendingEnd - pendingOffset;
+        }
+
+        private void append(ByteBuffer input) {
+            int remaining = available();
+            if (remaining > 0) {
+                byte[] combined = Arrays.copyOfRange(pending, pendingOffset, pendingEnd + input.remaining());
+                input.duplicate().get(combined, remaining, input.remaining());
+                pending = combined;
+                pendingOffset = 0;
+            } else if (input.hasArray()) {
+                pending = input.array();
+                pendingOffset = input.arrayOffset() + input.position();
+            } else {
+                if (inputCopy.length < input.remaining()) {
+                    inputCopy = new byte[input.remaining()];
+                }
+                input.duplicate().get(inputCopy, 0, input.remaining());
+                pending = inputCopy;
+                pendingOffset = 0;
+            }
+            pendingEnd = pendingOffset + remaining + input.remaining();
+            if (inMember && !inTrailer) {
+                inflater.setInput(pending, pendingOffset, available());
+            }
+        }
+
+        private boolean readHeader() throws ZipException {
+            if (available() < HEADER_SIZE) {
+                return false;
+            }
+            int start = pendingOffset;
+            if ((pending[start] & 0xff) != 0x1f || (pending[start + 1] & 0xff) != 0x8b || pending[start + 2] != 8) {
+                throw new ZipException("Not in gzip format.");
+            }
+            int flags = pending[start + 3] & 0xff;
+            int position = start + HEADER_SIZE;
+
+            if ((flags & FEXTRA) != 0) {
+                if (pendingEnd < position + 2) {
+                    return false;
+                }
+                position += 2 + ((pending[position] & 0xff) | ((pending[position + 1] & 0xff) << 8));
+            }
+            for (int flag : new int[] {FNAME, FCOMMENT}) {
+                if ((flags & flag) != 0) {
+                    while (position < pendingEnd && pending[position] != 0) {
+                        position++;
+                    }
+                    if (position >= pendingEnd) {
+                        return false;
+                    }
+                    position++;
+                }
+            }
+            if ((flags & FHCRC) != 0) {
+                position += 2;
+            }
+            if (position > pendingEnd) {
+                return false;
+            }
+
+            pendingOffset = position;
+            inflater.reset();
+            crc.reset();
+            inflater.setInput(pending, pendingOffset, available());
+            inMember = true;
+            return true;
+        }
+
+        private boolean inflate(List<ByteBuffer> output) throws ZipException {
+            try {
+                while (true) {
+                    int inflated = inflater.inflate(outputBuffer);
+                    if (inflated > 0) {
+                        crc.update(outputBuffer, 0, inflated);
+                        output.add(ByteBuffer.wrap(Arrays.copyOf(outputBuffer, inflated)));
+                    }
+                    if (inflater.finished()) {
+                        pendingOffset = pendingEnd - inflater.getRemaining();
+                        inTrailer = true;
+                        return true;
+                    }
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        pendingOffset = pendingEnd;
+                        return false;
+                    }
+                }
+            } catch (DataFormatException ex) {
+                throw new ZipException(ex.getMessage());
+            }
+        }
+
+        private boolean readTrailer() throws ZipException {
+            if (available() < TRAILER_SIZE) {
+                return false;
+            }
+            long expectedCrc = readUnsignedInt(pendingOffset);
+            long expectedSize = readUnsignedInt(pendingOffset + 4);
+            if (expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Corrupt gzip trailer.");
+            }
+            pendingOffset += TRAILER_SIZE;
+            inTrailer = false;
+            inMember = false;
+            return true;
+        }
+
+        private long readUnsignedInt(int position) {
+            return (pending[position] & 0xffL) | ((pending[position + 1] & 0xffL) << 8)
+                | ((pending[position + 2] & 0xffL) << 16) | ((pending[position + 3] & 0xffL) << 24);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.storage.blob.models.BlobItem;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * This class provides helper methods for walking a virtual directory tree of blobs.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public class HierarchyWalkUtils {
+
+    /*
+    Lists the directory at the root and, recursively, every directory found beneath it, emitting the items of every
+    listing as they arrive. Directories found by any listing join a single queue which up to maxConcurrency listings
+    take from, so a wide level of the tree is listed in parallel however deep it is. Directories deeper than maxDepth
+    levels below the root are emitted but not listed.
+     */
+    public static Flux<BlobItem> walk(String root, Function<String, Flux<BlobItem>> listDirectory,
+        int maxConcurrency, int maxDepth) {
+        return Flux.defer(() -> {
+            AtomicReference<FluxSink<Directory>> queue = new AtomicReference<>();
+            // Directories queued or being listed. The walk is complete once it drops to zero.
+            AtomicInteger pending = new AtomicInteger(1);
+
+            Flux<Directory> directories = Flux.create(sink -> {
+                queue.set(sink);
+                sink.next(new Directory(root, 0));
+            });
+
+            return directories.flatMap(directory -> listDirectory.apply(directory.prefix)
+                .doOnNext(item -> {
+                    if (Boolean.TRUE.equals(item.isPrefix()) && directory.depth < maxDepth) {
+                        pending.incrementAndGet();
+                        queue.get().next(new Directory(item.getName(), directory.depth + 1));
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (pending.decrementAndGet() == 0) {
+                        queue.get().complete();
+                    }
+                }), maxConcurrency);
+        });
+    }
+
+    private static final class Directory {
+        private final String prefix;
+        private final int depth;
+
+        Directory(String prefix, int depth) {
+            this.prefix = prefix;
+            this.depth = depth;
+        }
+    }
+}
@@ -260,7 +260,13 @@ public class ModelHelper {
         return blobItemProperties;
     }
 
-    private static List<ObjectReplicationPolicy> transformObjectReplicationMetadata(
+    /**
+     * Transforms the object replication metadata of a listed blob into its source policies.
+     *
+     * @param objectReplicationMetadata The object replication metadata, keyed by {@code or-<policy>_<rule>}.
+     * @return The source policies, or null if there are none.
+     */
+    public static List<ObjectReplicationPolicy> transformObjectReplicationMetadata(
         Map<String, String> objectReplicationMetadata) {
 
         Map<String, List<ObjectReplicationRule>> internalSourcePolicies = new HashMap<>();
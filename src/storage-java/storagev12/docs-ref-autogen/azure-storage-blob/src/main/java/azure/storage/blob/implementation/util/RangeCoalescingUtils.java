@@ -0,0 +1,120 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.storage.blob.models.BlobRange;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class provides helper methods for reading many ranges of a blob with as few requests as possible.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public class RangeCoalescingUtils {
+
+    /**
+     * A contiguous range of the blob which is read with a single request and which covers one or more of the ranges
+     * requested by the caller.
+     */
+    public static final class CoalescedRange {
+        private final long offset;
+        private long end;
+        private final List<Integer> members = new ArrayList<>();
+
+        private CoalescedRange(long offset, long end) {
+            this.offset = offset;
+            this.end = end;
+        }
+
+        /**
+         * @return The {@link BlobRange} to request from the service.
+         */
+        public BlobRange toBlobRange() {
+            return new BlobRange(offset, end - offset);
+        }
+
+        /**
+         * @return The number of bytes covered by this range.
+         */
+        public long getCount() {
+            return end - offset;
+        }
+
+        /**
+         * @return The indices, in the caller's list, of the ranges covered by this range.
+         */
+        public List<Integer> getMembers() {
+            return members;
+        }
+    }
+
+    /*
+    Groups the requested ranges into coalesced ranges. Ranges are sorted by offset and a range joins the current group
+    if the gap between them is no larger than maxGapSize and the group would not grow beyond maxMergedRangeSize.
+    Overlapping ranges always have a non-positive gap. Empty ranges are not assigned to any group as they need no
+    request.
+     */
+    public static List<CoalescedRange> coalesce(List<BlobRange> ranges, long maxGapSize, long maxMergedRangeSize) {
+        List<Integer> order = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            if (ranges.get(i).getCount() > 0) {
+                order.add(i);
+            }
+        }
+        order.sort((a, b) -> Long.compare(ranges.get(a).getOffset(), ranges.get(b).getOffset()));
+
+        List<CoalescedRange> coalesced = new ArrayList<>();
+        CoalescedRange current = null;
+        for (Integer index : order) {
+            BlobRange range = ranges.get(index);
+            long rangeEnd = range.getOffset() + range.getCount();
+
+            if (current != null && range.getOffset() - current.end <= maxGapSize
+                && Math.max(current.end, rangeEnd) - current.offset <= maxMergedRangeSize) {
+                current.end = Math.max(current.end, rangeEnd);
+            } else {
+                current = new CoalescedRange(range.getOffset(), rangeEnd);
+                coalesced.add(current);
+            }
+            current.members.add(index);
+        }
+
+        return coalesced;
+    }
+
+    /*
+    Slices the data read for a coalesced range into one view per requested range. The views share the backing
+    buffer so no bytes are copied. If the blob ended before the coalesced range did, the views are truncated to the
+    data that was actually returned.
+     */
+    public static void slice(CoalescedRange coalescedRange, ByteBuffer data, List<BlobRange> ranges,
+        ByteBuffer[] results) {
+        for (Integer index : coalescedRange.getMembers()) {
+            BlobRange range = ranges.get(index);
+            int start = (int) Math.min(range.getOffset() - coalescedRange.offset, data.limit());
+            int end = (int) Math.min(start + range.getCount(), data.limit());
+
+            ByteBuffer view = data.duplicate();
+            view.position(start);
+            view.limit(end);
+            results[index] = view.slice();
+        }
+    }
+
+    /*
+    Fills in an empty buffer for every range that was not assigned to a coalesced range and returns the results in
+    the order the ranges were requested.
+     */
+    public static List<ByteBuffer> collectResults(ByteBuffer[] results) {
+        List<ByteBuffer> collected = new ArrayList<>(results.length);
+        for (ByteBuffer result : results) {
+            collected.add(result == null ? ByteBuffer.allocate(0) : result);
+        }
+        return Collections.unmodifiableList(collected);
+    }
+}
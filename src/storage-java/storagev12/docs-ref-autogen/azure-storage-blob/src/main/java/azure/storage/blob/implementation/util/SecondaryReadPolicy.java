@@ -0,0 +1,231 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.azure.core.util.Context;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.models.SecondaryReadOptions;
+import reactor.core.publisher.Mono;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This policy routes idempotent reads to the secondary endpoint of a read-access geo-redundant storage account,
+ * either to spread load across both endpoints or to fail over while the primary is throttling or slow.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class SecondaryReadPolicy implements HttpPipelinePolicy {
+    private static final String SECONDARY_SUFFIX = "-secondary";
+    private static final String ERROR_CODE_HEADER = "x-ms-error-code";
+    private static final String OPERATION_TIMED_OUT = "OperationTimedOut";
+    private static final String READ_SESSION_KEY = "azure-storage-blob-secondary-read-session";
+
+    // Conditions evaluated against the blob's current state, which the secondary may not have caught up with.
+    private static final String[] CONDITIONAL_HEADERS = {
+        "If-Match", "If-None-Match", "If-Modified-Since", "If-Unmodified-Since"
+    };
+
+    private final ClientLogger logger = new ClientLogger(SecondaryReadPolicy.class);
+
+    private final String primaryHost;
+    private final int primaryPort;
+    private final String secondaryHost;
+    private final int secondaryPort;
+    private final double secondaryReadRatio;
+    private final long failoverLatencyThresholdNanos;
+    private final long failoverDurationNanos;
+
+    // System.nanoTime() before which every read is sent to the secondary.
+    private volatile long failoverUntilNanos;
+    private volatile boolean failedOver;
+
+    /**
+     * Creates a policy which routes reads sent to the primary endpoint according to the given options.
+     *
+     * @param endpoint The primary endpoint of the client.
+     * @param options {@link SecondaryReadOptions}
+     * @throws IllegalArgumentException If the endpoint is malformed or the secondary host cannot be derived from it.
+     */
+    public SecondaryReadPolicy(String endpoint, SecondaryReadOptions options) {
+        URL primary;
+        try {
+            primary = new URL(endpoint);
+        } catch (MalformedURLException ex) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'endpoint' must be a valid URL.", ex));
+        }
+        this.primaryHost = primary.getHost();
+        this.primaryPort = primary.getPort();
+
+        String secondary = options.getSecondaryHost() == null
+            ? deriveSecondaryHost(primaryHost) : options.getSecondaryHost();
+        int portIndex = secondary.lastIndexOf(':');
+        if (portIndex > 0 && secondary.indexOf(']') < portIndex) {
+            this.secondaryHost = secondary.substring(0, portIndex);
+            this.secondaryPort = Integer.parseInt(secondary.substring(portIndex + 1));
+        } else {
+            this.secondaryHost = secondary;
+            this.secondaryPort = primaryPort;
+        }
+
+        this.secondaryReadRatio = options.getSecondaryReadRatio();
+        this.failoverLatencyThresholdNanos = options.getFailoverLatencyThreshold() == null
+            ? Long.MAX_VALUE : options.getFailoverLatencyThreshold().toNanos();
+        this.failoverDurationNanos = options.getFailoverDuration().toNanos();
+    }
+
+    /**
+     * Marks the requests sent with the returned context as parts of one logical read, such as the chunks of a parallel
+     * download or the retries of a download, which are all sent to whichever endpoint serves the first of them. The
+     * secondary may lag behind the primary, so requests locked to an etag served by one endpoint would otherwise fail
+     * or read a different version of the blob on the other.
+     *
+     * @param context The context of the logical read.
+     * @return A context which pins the requests sent with it to one endpoint. The context is returned as is if it
+     * already belongs to a logical read.
+     */
+    public static Context startReadSession(Context context) {
+        Context current = context == null ? Context.NONE : context;
+        return current.getData(READ_SESSION_KEY).isPresent()
+            ? current : current.addData(READ_SESSION_KEY, new AtomicReference<Boolean>());
+    }
+
+    private String deriveSecondaryHost(String host) {
+        boolean isIpStyle;
+        try {
+            isIpStyle = ModelHelper.determineAuthorityIsIpStyle(host);
+        } catch (MalformedURLException ex) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'endpoint' must be a valid URL.", ex));
+        }
+        if (isIpStyle) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                "The secondary host must be specified for IP style endpoints."));
+        }
+        int accountEnd = host.indexOf('.');
+        return accountEnd < 0 ? host + SECONDARY_SUFFIX
+            : host.substring(0, accountEnd) + SECONDARY_SUFFIX + host.substring(accountEnd);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        HttpRequest request = context.getHttpRequest();
+        if (!isPrimaryRead(request)) {
+            return next.process();
+        }
+
+        AtomicReference<Boolean> session = (AtomicReference<Boolean>) context.getData(READ_SESSION_KEY).orElse(null);
+        if (session == null) {
+            return useSecondary(request) ? sendToSecondary(context, next, null) : sendToPrimary(next);
+        }
+
+        /*
+         * The first request of a logical read picks the endpoint for the rest. Later requests are usually locked to
+         * the etag returned by the first, so they follow it even though they are conditional.
+         */
+        session.compareAndSet(null, useSecondary(request));
+        return session.get() ? sendToSecondary(context, next, session) : sendToPrimary(next);
+    }
+
+    private boolean isPrimaryRead(HttpRequest request) {
+        return (request.getHttpMethod() == HttpMethod.GET || request.getHttpMethod() == HttpMethod.HEAD)
+            && primaryHost.equalsIgnoreCase(request.getUrl().getHost())
+            && primaryPort == request.getUrl().getPort();
+    }
+
+    private boolean useSecondary(HttpRequest request) {
+        return !isConditional(request)
+            && (isFailedOver() || ThreadLocalRandom.current().nextDouble() < secondaryReadRatio);
+    }
+
+    /*
+     * A blob which has changed on the primary but not yet on the secondary would fail an If-Match condition there, or
+     * pass an If-None-Match condition it should fail, so conditional reads are always sent to the primary.
+     */
+    private static boolean isConditional(HttpRequest request) {
+        for (String header : CONDITIONAL_HEADERS) {
+            if (request.getHeaders().getValue(header) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFailedOver() {
+        if (failedOver && System.nanoTime() - failoverUntilNanos >= 0) {
+            failedOver = false;
+        }
+        return failedOver;
+    }
+
+    private Mono<HttpResponse> sendToPrimary(HttpPipelineNextPolicy next) {
+        long start = System.nanoTime();
+        return next.process()
+            .doOnNext(response -> {
+                if (isThrottled(response) || System.nanoTime() - start > failoverLatencyThresholdNanos) {
+                    failOver();
+                }
+            })
+            .doOnError(ignored -> failOver())
+            // The retry policy cancels attempts which exceed its try timeout.
+            .doOnCancel(() -> {
+                if (System.nanoTime() - start > failoverLatencyThresholdNanos) {
+                    failOver();
+                }
+            });
+    }
+
+    /*
+     * Only throttling and server timeouts say the primary is overloaded. Other server errors are specific to the
+     * request and would fail on the secondary as well.
+     */
+    private static boolean isThrottled(HttpResponse response) {
+        return response.getStatusCode() == 503
+            || (response.getStatusCode() == 500
+                && OPERATION_TIMED_OUT.equals(response.getHeaderValue(ERROR_CODE_HEADER)));
+    }
+
+    private void failOver() {
+        failoverUntilNanos = System.nanoTime() + failoverDurationNanos;
+        failedOver = true;
+    }
+
+    /*
+     * A blob which has not yet replicated is missing from the secondary, so a 404 from the secondary is retried
+     * against the primary rather than surfaced to the caller, and the rest of the logical read follows it there.
+     */
+    private Mono<HttpResponse> sendToSecondary(HttpPipelineCallContext context, HttpPipelineNextPolicy next,
+        AtomicReference<Boolean> session) {
+        URL primaryUrl = context.getHttpRequest().getUrl();
+        URL secondaryUrl;
+        try {
+            secondaryUrl = new URL(primaryUrl.getProtocol(), secondaryHost, secondaryPort, primaryUrl.getFile());
+        } catch (MalformedURLException ex) {
+            return Mono.error(logger.logExceptionAsError(new IllegalStateException(ex)));
+        }
+
+        HttpPipelineNextPolicy primaryNext = next.clone();
+        context.getHttpRequest().setUrl(secondaryUrl);
+        return next.process().flatMap(response -> {
+            if (response.getStatusCode() != 404) {
+                return Mono.just(response);
+            }
+            response.close();
+            if (session != null) {
+                session.set(false);
+            }
+            context.getHttpRequest().setUrl(primaryUrl);
+            return primaryNext.process();
+        });
+    }
+}
@@ -0,0 +1,149 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.implementation.util;
+
+import com.azure.core.credential.TokenCredential;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
+import com.azure.core.http.policy.HttpLogOptions;
+import com.azure.core.util.Configuration;
+import com.azure.storage.blob.models.HttpTransportOptions;
+import com.azure.storage.blob.models.SecondaryReadOptions;
+import com.azure.storage.common.StorageSharedKeyCredential;
+import com.azure.storage.common.implementation.credentials.SasTokenCredential;
+import com.azure.storage.common.policy.RequestRetryOptions;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * This class keeps the pipelines built for builders which were not given one, so that clients built for the same
+ * endpoint with the same credential and options share a pipeline, and every such pipeline which was not given an
+ * {@link HttpClient} shares one default client along with its connection pool.
+ *
+ * RESERVED FOR INTERNAL USE.
+ */
+public final class SharedPipelineRegistry {
+    /*
+    Signed with a shared key to tell keys apart without holding on to them.
+     */
+    private static final String KEY_FINGERPRINT_INPUT = "azure-storage-blob-shared-pipeline";
+
+    private static final String CONNECTION_POOL_NAME = "azure-storage-blob";
+
+    private static final ReferenceQueue<HttpPipeline> COLLECTED = new ReferenceQueue<>();
+    private static final Map<List<Object>, PipelineReference> PIPELINES = new ConcurrentHashMap<>();
+    private static final Map<List<Object>, HttpClient> POOLED_HTTP_CLIENTS = new ConcurrentHashMap<>();
+
+    private SharedPipelineRegistry() {
+    }
+
+    /*
+    Gets the HttpClient used by every pipeline which was not given one. It is created on first use.
+     */
+    public static HttpClient getDefaultHttpClient() {
+        return DefaultHttpClientHolder.HTTP_CLIENT;
+    }
+
+    /*
+    Gets the HttpClient used by every pipeline built with the given transport options and not given a client. A client
+    with a bounded connection pool is created on first use for each distinct maximum and acquire timeout, and kept for
+    the life of the process, as few distinct values are expected.
+     */
+    public static HttpClient getHttpClient(HttpTransportOptions transportOptions) {
+        if (transportOptions == null || transportOptions.getMaxConnections() == null) {
+            return getDefaultHttpClient();
+        }
+
+        int maxConnections = transportOptions.getMaxConnections();
+        long acquireTimeoutMillis = transportOptions.getConnectionAcquireTimeout().toMillis();
+        return POOLED_HTTP_CLIENTS.computeIfAbsent(Arrays.asList(maxConnections, acquireTimeoutMillis),
+            ignored -> new NettyAsyncHttpClientBuilder(reactor.netty.http.client.HttpClient.create(
+                ConnectionProvider.fixed(CONNECTION_POOL_NAME, maxConnections, acquireTimeoutMillis))).build());
+    }
+
+    /*
+    Gets the pipeline registered for the given builder values, building and registering one with the supplier if
+    there is none. A pipeline stays registered for as long as a client refers to it, so the registry holds no more
+    pipelines than the clients in use need. Options are compared by value, except for retry options, HTTP clients and
+    configurations, which are compared by identity; a token credential is compared by identity and a shared key
+    credential by its account name and key.
+     */
+    public static HttpPipeline getOrBuild(StorageSharedKeyCredential storageSharedKeyCredential,
+        TokenCredential tokenCredential, SasTokenCredential sasTokenCredential, String endpoint,
+        RequestRetryOptions retryOptions, SecondaryReadOptions secondaryReadOptions, HttpLogOptions logOptions,
+        HttpClient httpClient, Configuration configuration, Supplier<HttpPipeline> pipelineSupplier) {
+        List<Object> key = Arrays.asList(endpoint,
+            getCredentialKey(storageSharedKeyCredential, tokenCredential, sasTokenCredential), retryOptions,
+            getSecondaryReadKey(secondaryReadOptions), getLogKey(logOptions), httpClient, configuration);
+
+        removeCollected();
+        HttpPipeline[] pipeline = new HttpPipeline[1];
+        PIPELINES.compute(key, (ignored, reference) -> {
+            pipeline[0] = reference == null ? null : reference.get();
+            if (pipeline[0] == null) {
+                pipeline[0] = pipelineSupplier.get();
+                return new PipelineReference(key, pipeline[0]);
+            }
+            return reference;
+        });
+        return pipeline[0];
+    }
+
+    private static Object getCredentialKey(StorageSharedKeyCredential storageSharedKeyCredential,
+        TokenCredential tokenCredential, SasTokenCredential sasTokenCredential) {
+        if (storageSharedKeyCredential != null) {
+            return Arrays.asList(storageSharedKeyCredential.getAccountName(),
+                storageSharedKeyCredential.computeHmac256(KEY_FINGERPRINT_INPUT));
+        } else if (tokenCredential != null) {
+            return tokenCredential;
+        } else if (sasTokenCredential != null) {
+            return sasTokenCredential.getSasToken();
+        } else {
+            return null;
+        }
+    }
+
+    private static Object getSecondaryReadKey(SecondaryReadOptions options) {
+        if (options == null || !options.isAllowStaleReads()) {
+            return null;
+        }
+        return Arrays.asList(options.getSecondaryHost(), options.getSecondaryReadRatio(),
+            options.getFailoverLatencyThreshold(), options.getFailoverDuration());
+    }
+
+    private static Object getLogKey(HttpLogOptions options) {
+        return Arrays.asList(options.getLogLevel(), new HashSet<>(options.getAllowedHeaderNames()),
+            new HashSet<>(options.getAllowedQueryParamNames()), options.getApplicationId(),
+            options.isPrettyPrintBody());
+    }
+
+    private static void removeCollected() {
+        PipelineReference reference;
+        while ((reference = (PipelineReference) COLLECTED.poll()) != null) {
+            PIPELINES.remove(reference.key, reference);
+        }
+    }
+
+    private static final class PipelineReference extends WeakReference<HttpPipeline> {
+        private final List<Object> key;
+
+        PipelineReference(List<Object> key, HttpPipeline pipeline) {
+            super(pipeline, COLLECTED);
+            this.key = key;
+        }
+    }
+
+    private static final class DefaultHttpClientHolder {
+        private static final HttpClient HTTP_CLIENT = HttpClient.createDefault();
+    }
+}
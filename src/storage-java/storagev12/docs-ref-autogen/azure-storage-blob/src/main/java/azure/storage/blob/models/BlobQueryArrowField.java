@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+/**
+ * Defines a column of an Arrow output serialization for a blob quick query request.
+ */
+public class BlobQueryArrowField {
+
+    private final BlobQueryArrowFieldType type;
+    private String name;
+    private Integer precision;
+    private Integer scale;
+
+    /**
+     * Creates a new BlobQueryArrowField object.
+     * @param type The {@link BlobQueryArrowFieldType type} of the column.
+     */
+    public BlobQueryArrowField(BlobQueryArrowFieldType type) {
+        StorageImplUtils.assertNotNull("type", type);
+        this.type = type;
+    }
+
+    /**
+     * Gets the type of the column.
+     * @return the {@link BlobQueryArrowFieldType type} of the column.
+     */
+    public BlobQueryArrowFieldType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the name of the column.
+     * @return the name of the column.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name of the column.
+     * @param name the name of the column.
+     * @return the updated BlobQueryArrowField object.
+     */
+    public BlobQueryArrowField setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Gets the precision of a decimal column.
+     * @return the precision.
+     */
+    public Integer getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Sets the precision of a decimal column.
+     * @param precision the precision.
+     * @return the updated BlobQueryArrowField object.
+     */
+    public BlobQueryArrowField setPrecision(Integer precision) {
+        this.precision = precision;
+        return this;
+    }
+
+    /**
+     * Gets the scale of a decimal column.
+     * @return the scale.
+     */
+    public Integer getScale() {
+        return scale;
+    }
+
+    /**
+     * Sets the scale of a decimal column.
+     * @param scale the scale.
+     * @return the updated BlobQueryArrowField object.
+     */
+    public BlobQueryArrowField setScale(Integer scale) {
+        this.scale = scale;
+        return this;
+    }
+}
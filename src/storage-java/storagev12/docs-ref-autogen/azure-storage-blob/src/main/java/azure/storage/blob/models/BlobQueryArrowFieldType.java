@@ -0,0 +1,65 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+/**
+ * Defines the types of the columns of an Arrow output serialization for a blob quick query request.
+ */
+public enum BlobQueryArrowFieldType {
+    /**
+     * 64 bit signed integer.
+     */
+    INT64("int64"),
+
+    /**
+     * Boolean.
+     */
+    BOOL("bool"),
+
+    /**
+     * Timestamp with millisecond precision.
+     */
+    TIMESTAMP_MS("timestamp[ms]"),
+
+    /**
+     * UTF-8 string.
+     */
+    STRING("string"),
+
+    /**
+     * 64 bit floating point number.
+     */
+    DOUBLE("double"),
+
+    /**
+     * Decimal with the precision and scale of the field.
+     */
+    DECIMAL("decimal");
+
+    private final String value;
+
+    BlobQueryArrowFieldType(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Parses a serialized value to a BlobQueryArrowFieldType instance.
+     *
+     * @param value the serialized value to parse.
+     * @return the parsed BlobQueryArrowFieldType object, or null if unable to parse.
+     */
+    public static BlobQueryArrowFieldType fromString(String value) {
+        for (BlobQueryArrowFieldType type : values()) {
+            if (type.value.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
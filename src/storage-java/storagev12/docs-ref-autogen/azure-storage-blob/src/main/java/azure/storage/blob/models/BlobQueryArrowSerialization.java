@@ -0,0 +1,39 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import java.util.List;
+
+/**
+ * Defines the output Arrow serialization for a blob quick query request. It may only be used as the output
+ * serialization, and requires service version 2020-02-10 or later.
+ *
+ * <p>The query output is an Arrow IPC stream. Each {@link java.nio.ByteBuffer} emitted by the query holds exactly one
+ * complete IPC message (the schema, a dictionary batch or a record batch) or the end of stream marker, so each record
+ * batch can be handed to an Arrow reader as soon as it arrives, without any text parsing.</p>
+ */
+public class BlobQueryArrowSerialization implements BlobQuerySerialization {
+
+    private List<BlobQueryArrowField> schema;
+
+    /**
+     * Gets the schema of the output.
+     *
+     * @return the list of {@link BlobQueryArrowField columns}.
+     */
+    public List<BlobQueryArrowField> getSchema() {
+        return schema;
+    }
+
+    /**
+     * Sets the schema of the output.
+     *
+     * @param schema the list of {@link BlobQueryArrowField columns}.
+     * @return the updated BlobQueryArrowSerialization object.
+     */
+    public BlobQueryArrowSerialization setSchema(List<BlobQueryArrowField> schema) {
+        this.schema = schema;
+        return this;
+    }
+}
@@ -0,0 +1,39 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A piece of the output of a query run across several blobs, tagged with the name of the blob which produced it.
+ */
+public class BlobQueryResult {
+
+    private final String blobName;
+    private final ByteBuffer data;
+
+    /**
+     * Creates a new BlobQueryResult object.
+     * @param blobName The name of the blob which produced the data.
+     * @param data The query output.
+     */
+    public BlobQueryResult(String blobName, ByteBuffer data) {
+        this.blobName = blobName;
+        this.data = data;
+    }
+
+    /**
+     * @return The name of the blob which produced the data.
+     */
+    public String getBlobName() {
+        return blobName;
+    }
+
+    /**
+     * @return The query output.
+     */
+    public ByteBuffer getData() {
+        return data;
+    }
+}
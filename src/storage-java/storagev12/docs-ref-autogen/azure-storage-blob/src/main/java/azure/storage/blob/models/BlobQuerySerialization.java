@@ -5,7 +5,8 @@ package com.azure.storage.blob.models;
 
 /**
  * Defines the input and output serialization for a blob quick query request.
- * either {@link BlobQueryJsonSerialization} or {@link BlobQueryDelimitedSerialization}
+ * either {@link BlobQueryJsonSerialization} or {@link BlobQueryDelimitedSerialization}, or for output only
+ * {@link BlobQueryArrowSerialization}
  */
 public interface BlobQuerySerialization {
 }
@@ -0,0 +1,65 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+/**
+ * Defines the properties of a blob which a summary listing reads into each {@link BlobSummaryItem}. The name of the
+ * blob, and whether the item is a prefix, are always read.
+ */
+public enum BlobSummaryField {
+    /**
+     * The size of the blob in bytes.
+     */
+    CONTENT_LENGTH,
+
+    /**
+     * The ETag of the blob.
+     */
+    ETAG,
+
+    /**
+     * The time the blob was last modified.
+     */
+    LAST_MODIFIED,
+
+    /**
+     * The time the blob was created.
+     */
+    CREATION_TIME,
+
+    /**
+     * The content type of the blob.
+     */
+    CONTENT_TYPE,
+
+    /**
+     * The MD5 hash of the blob content.
+     */
+    CONTENT_MD5,
+
+    /**
+     * The type of the blob.
+     */
+    BLOB_TYPE,
+
+    /**
+     * The access tier of the blob.
+     */
+    ACCESS_TIER,
+
+    /**
+     * The snapshot timestamp of a blob snapshot.
+     */
+    SNAPSHOT,
+
+    /**
+     * The version id of a blob version.
+     */
+    VERSION_ID,
+
+    /**
+     * Whether the blob is soft deleted.
+     */
+    DELETED
+}
@@ -0,0 +1,254 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import com.azure.core.util.CoreUtils;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A blob or prefix returned by a summary listing. Only the {@link BlobSummaryField fields} requested of the listing
+ * are populated, the remaining getters return null.
+ *
+ * <p>An item holds far less than a {@link BlobItem}, so that listings of millions of blobs may be kept in memory.
+ * Times are held as seconds since the epoch, the precision the service returns them with, and are only converted to
+ * {@link OffsetDateTime} when read.</p>
+ */
+public final class BlobSummaryItem {
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private String name;
+    private boolean prefix;
+    private long contentLength = NO_VALUE;
+    private String eTag;
+    private long lastModified = NO_VALUE;
+    private long creationTime = NO_VALUE;
+    private String contentType;
+    private byte[] contentMd5;
+    private BlobType blobType;
+    private AccessTier accessTier;
+    private String snapshot;
+    private String versionId;
+    private Boolean deleted;
+
+    /**
+     * @return the name of the blob or prefix.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name the name of the blob or prefix.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * @return whether the item is a prefix rather than a blob.
+     */
+    public boolean isPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @param prefix whether the item is a prefix rather than a blob.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setPrefix(boolean prefix) {
+        this.prefix = prefix;
+        return this;
+    }
+
+    /**
+     * @return the size of the blob in bytes.
+     */
+    public Long getContentLength() {
+        return contentLength == NO_VALUE ? null : contentLength;
+    }
+
+    /**
+     * @param contentLength the size of the blob in bytes.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setContentLength(Long contentLength) {
+        this.contentLength = contentLength == null ? NO_VALUE : contentLength;
+        return this;
+    }
+
+    /**
+     * @return the ETag of the blob.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @param eTag the ETag of the blob.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setETag(String eTag) {
+        this.eTag = eTag;
+        return this;
+    }
+
+    /**
+     * @return the time the blob was last modified.
+     */
+    public OffsetDateTime getLastModified() {
+        return toDateTime(lastModified);
+    }
+
+    /**
+     * @param lastModified the time the blob was last modified.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setLastModified(OffsetDateTime lastModified) {
+        this.lastModified = toEpochSecond(lastModified);
+        return this;
+    }
+
+    /**
+     * @return the time the blob was created.
+     */
+    public OffsetDateTime getCreationTime() {
+        return toDateTime(creationTime);
+    }
+
+    /**
+     * @param creationTime the time the blob was created.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setCreationTime(OffsetDateTime creationTime) {
+        this.creationTime = toEpochSecond(creationTime);
+        return this;
+    }
+
+    /**
+     * @return the content type of the blob.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @param contentType the content type of the blob.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    /**
+     * @return the MD5 hash of the blob content.
+     */
+    public byte[] getContentMd5() {
+        return CoreUtils.clone(contentMd5);
+    }
+
+    /**
+     * @param contentMd5 the MD5 hash of the blob content.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setContentMd5(byte[] contentMd5) {
+        this.contentMd5 = CoreUtils.clone(contentMd5);
+        return this;
+    }
+
+    /**
+     * @return the type of the blob.
+     */
+    public BlobType getBlobType() {
+        return blobType;
+    }
+
+    /**
+     * @param blobType the type of the blob.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setBlobType(BlobType blobType) {
+        this.blobType = blobType;
+        return this;
+    }
+
+    /**
+     * @return the access tier of the blob.
+     */
+    public AccessTier getAccessTier() {
+        return accessTier;
+    }
+
+    /**
+     * @param accessTier the access tier of the blob.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setAccessTier(AccessTier accessTier) {
+        this.accessTier = accessTier;
+        return this;
+    }
+
+    /**
+     * @return the snapshot timestamp of a blob snapshot.
+     */
+    public String getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @param snapshot the snapshot timestamp of a blob snapshot.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setSnapshot(String snapshot) {
+        this.snapshot = snapshot;
+        return this;
+    }
+
+    /**
+     * @return the version id of a blob version.
+     */
+    public String getVersionId() {
+        return versionId;
+    }
+
+    /**
+     * @param versionId the version id of a blob version.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setVersionId(String versionId) {
+        this.versionId = versionId;
+        return this;
+    }
+
+    /**
+     * @return whether the blob is soft deleted.
+     */
+    public Boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @param deleted whether the blob is soft deleted.
+     * @return the updated BlobSummaryItem object.
+     */
+    public BlobSummaryItem setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+        return this;
+    }
+
+    private static long toEpochSecond(OffsetDateTime dateTime) {
+        return dateTime == null ? NO_VALUE : dateTime.toEpochSecond();
+    }
+
+    private static OffsetDateTime toDateTime(long epochSecond) {
+        return epochSecond == NO_VALUE
+            ? null
+            : OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+}
@@ -6,6 +6,7 @@ package com.azure.storage.blob.models;
 import com.azure.core.annotation.Fluent;
 import com.azure.core.util.logging.ClientLogger;
 
+import java.time.Duration;
 import java.util.Locale;
 
 /**
@@ -16,6 +17,8 @@ import java.util.Locale;
 public final class DownloadRetryOptions {
     private static final String PARAMETER_NOT_IN_RANGE = "The value of the parameter '%s' should be between %s and %s.";
 
+    private static final Duration DEFAULT_STALL_DETECTION_INTERVAL = Duration.ofSeconds(5);
+
     private final ClientLogger logger = new ClientLogger(DownloadRetryOptions.class);
 
     /*
@@ -25,6 +28,10 @@ public final class DownloadRetryOptions {
      */
     private int maxRetryRequests = 0;
 
+    private Duration stallDetectionInterval = DEFAULT_STALL_DETECTION_INTERVAL;
+
+    private long minimumBytesPerInterval = 1;
+
     /**
      * Specifies the maximum number of additional HTTP Get requests that will be made while reading the data from a
      * response body.
@@ -53,4 +60,77 @@ public final class DownloadRetryOptions {
         this.maxRetryRequests = maxRetryRequests;
         return this;
     }
+
+    /**
+     * Gets the interval at which the throughput of a download is checked. If fewer than
+     * {@link #getMinimumBytesPerInterval() minimumBytesPerInterval} bytes are received during an interval, the
+     * connection is considered stalled and the download is resumed with a new request, subject to
+     * {@link #getMaxRetryRequests() maxRetryRequests}.
+     *
+     * @return the stall detection interval
+     */
+    public Duration getStallDetectionInterval() {
+        return stallDetectionInterval;
+    }
+
+    /**
+     * Sets the interval at which the throughput of a download is checked. If fewer than
+     * {@link #getMinimumBytesPerInterval() minimumBytesPerInterval} bytes are received during an interval, the
+     * connection is considered stalled and the download is resumed with a new request, subject to
+     * {@link #getMaxRetryRequests() maxRetryRequests}. Throughput is checked over a window of one interval which
+     * slides forward by a quarter interval at a time, so a stall is detected between one and one and a quarter
+     * intervals after it begins. Only time during which the consumer of the download has requested more data counts,
+     * so a consumer which is slow to process the data it has received is never taken for a stalled connection.
+     * Defaults to 5 seconds: once the response headers have arrived the service streams the body without pausing, so
+     * a connection which delivers nothing for that long has stalled. Set a longer interval for links which may
+     * legitimately go quiet for longer, or when {@link #setMinimumBytesPerInterval(long) minimumBytesPerInterval}
+     * requires a throughput which could be missed briefly.
+     *
+     * @param stallDetectionInterval The stall detection interval
+     * @return the updated DownloadRetryOptions object
+     * @throws NullPointerException If {@code stallDetectionInterval} is null
+     * @throws IllegalArgumentException If {@code stallDetectionInterval} is zero or negative
+     */
+    public DownloadRetryOptions setStallDetectionInterval(Duration stallDetectionInterval) {
+        if (stallDetectionInterval == null) {
+            throw logger.logExceptionAsError(new NullPointerException("'stallDetectionInterval' cannot be null."));
+        }
+        if (stallDetectionInterval.isZero() || stallDetectionInterval.isNegative()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                "'stallDetectionInterval' must be a positive duration."));
+        }
+
+        this.stallDetectionInterval = stallDetectionInterval;
+        return this;
+    }
+
+    /**
+     * Gets the minimum number of bytes which must be received during each
+     * {@link #getStallDetectionInterval() stallDetectionInterval} for the connection to be considered healthy.
+     *
+     * @return the minimum number of bytes per interval
+     */
+    public long getMinimumBytesPerInterval() {
+        return minimumBytesPerInterval;
+    }
+
+    /**
+     * Sets the minimum number of bytes which must be received during each
+     * {@link #getStallDetectionInterval() stallDetectionInterval} for the connection to be considered healthy.
+     * Defaults to 1, meaning only a connection which makes no progress at all is considered stalled.
+     *
+     * @param minimumBytesPerInterval The minimum number of bytes per interval
+     * @return the updated DownloadRetryOptions object
+     * @throws IllegalArgumentException If {@code minimumBytesPerInterval} is less than 1
+     */
+    public DownloadRetryOptions setMinimumBytesPerInterval(long minimumBytesPerInterval) {
+        if (minimumBytesPerInterval < 1) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException(String.format(Locale.ROOT, PARAMETER_NOT_IN_RANGE,
+                    "options.minimumBytesPerInterval", 1, Long.MAX_VALUE)));
+        }
+
+        this.minimumBytesPerInterval = minimumBytesPerInterval;
+        return this;
+    }
 }
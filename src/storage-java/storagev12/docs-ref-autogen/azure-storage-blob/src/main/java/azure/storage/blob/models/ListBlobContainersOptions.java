@@ -22,6 +22,8 @@ public final class ListBlobContainersOptions {
 
     private Integer maxResultsPerPage;
 
+    private Integer prefetchPages;
+
     /**
      * Constructs an unpopulated {@link ListBlobContainersOptions}.
      */
@@ -90,4 +92,31 @@ public final class ListBlobContainersOptions {
         this.maxResultsPerPage = maxResultsPerPage;
         return this;
     }
+
+    /**
+     * Specifies the number of pages requested ahead of the page being consumed. If not set, or 0, each page is
+     * requested only once the previous page has been consumed.
+     *
+     * @return the number of pages requested ahead of the consumer
+     */
+    public Integer getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Specifies the number of pages requested ahead of the page being consumed, so that fetching the next page
+     * overlaps processing of the current one. Pages are still requested one after another, since each needs the
+     * marker returned by the page before it. Each prefetched page is held in memory until it is consumed.
+     *
+     * @param prefetchPages The number of pages to request ahead, or null or 0 to request pages only as consumed
+     * @return the updated ListBlobContainersOptions object
+     * @throws IllegalArgumentException If {@code prefetchPages} is negative.
+     */
+    public ListBlobContainersOptions setPrefetchPages(Integer prefetchPages) {
+        if (prefetchPages != null && prefetchPages < 0) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("PrefetchPages must not be negative."));
+        }
+        this.prefetchPages = prefetchPages;
+        return this;
+    }
 }
@@ -0,0 +1,150 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.time.Duration;
+
+/**
+ * Configures routing of reads to the secondary endpoint of a read-access geo-redundant (RA-GRS) storage account.
+ *
+ * <p>Only GET and HEAD requests, such as downloads, property reads and listings, are ever sent to the secondary, and
+ * only those without If-Match, If-None-Match, If-Modified-Since or If-Unmodified-Since conditions, whose outcome would
+ * depend on whether the secondary has caught up. The requests which make up one download, such as the chunks of a
+ * parallel download and the retries of an interrupted one, are all sent to the endpoint which served the first of
+ * them, so that they read the same version of the blob.
+ * Data on the secondary may lag behind the primary, so nothing is routed unless {@link #setAllowStaleReads(boolean)
+ * stale reads} are explicitly allowed. Reads can then be spread across both endpoints by setting a
+ * {@link #setSecondaryReadRatio(double) secondary read ratio}, and can fail over to the secondary for a while
+ * whenever the primary is throttling, failing or slower than the {@link #setFailoverLatencyThreshold(Duration)
+ * failover latency threshold}.</p>
+ */
+@Fluent
+public final class SecondaryReadOptions {
+    private static final Duration DEFAULT_FAILOVER_DURATION = Duration.ofSeconds(30);
+
+    private final ClientLogger logger = new ClientLogger(SecondaryReadOptions.class);
+
+    private boolean allowStaleReads;
+    private String secondaryHost;
+    private double secondaryReadRatio;
+    private Duration failoverLatencyThreshold;
+    private Duration failoverDuration = DEFAULT_FAILOVER_DURATION;
+
+    /**
+     * @return Whether reads may be served by the secondary, which may not yet have the latest data.
+     */
+    public boolean isAllowStaleReads() {
+        return allowStaleReads;
+    }
+
+    /**
+     * Sets whether reads may be served by the secondary, which may not yet have the latest data. No request is routed
+     * to the secondary unless this is {@code true}.
+     *
+     * @param allowStaleReads Whether reads may be served by the secondary.
+     * @return the updated SecondaryReadOptions object
+     */
+    public SecondaryReadOptions setAllowStaleReads(boolean allowStaleReads) {
+        this.allowStaleReads = allowStaleReads;
+        return this;
+    }
+
+    /**
+     * @return The host, optionally followed by a port, of the secondary endpoint. If null it is derived from the
+     * primary endpoint by appending "-secondary" to the account name.
+     */
+    public String getSecondaryHost() {
+        return secondaryHost;
+    }
+
+    /**
+     * Sets the host, optionally followed by a port, of the secondary endpoint. If null it is derived from the primary
+     * endpoint by appending "-secondary" to the account name, which requires a non IP-style endpoint.
+     *
+     * @param secondaryHost The host of the secondary endpoint.
+     * @return the updated SecondaryReadOptions object
+     */
+    public SecondaryReadOptions setSecondaryHost(String secondaryHost) {
+        this.secondaryHost = secondaryHost;
+        return this;
+    }
+
+    /**
+     * @return The fraction of reads which are sent to the secondary while the primary is healthy.
+     */
+    public double getSecondaryReadRatio() {
+        return secondaryReadRatio;
+    }
+
+    /**
+     * Sets the fraction of reads which are sent to the secondary while the primary is healthy. The default of 0 only
+     * uses the secondary for failover.
+     *
+     * @param secondaryReadRatio The fraction of reads sent to the secondary, between 0 and 1.
+     * @return the updated SecondaryReadOptions object
+     * @throws IllegalArgumentException If {@code secondaryReadRatio} is less than 0 or greater than 1.
+     */
+    public SecondaryReadOptions setSecondaryReadRatio(double secondaryReadRatio) {
+        if (secondaryReadRatio < 0 || secondaryReadRatio > 1) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("'secondaryReadRatio' must be between 0 and 1."));
+        }
+        this.secondaryReadRatio = secondaryReadRatio;
+        return this;
+    }
+
+    /**
+     * @return The time to first byte above which a read from the primary triggers failover to the secondary.
+     */
+    public Duration getFailoverLatencyThreshold() {
+        return failoverLatencyThreshold;
+    }
+
+    /**
+     * Sets the time to first byte above which a read from the primary triggers failover to the secondary. Throttled
+     * (503), timed out (500 with the OperationTimedOut error code) and unanswered reads always trigger failover. Pass
+     * null to not fail over on latency.
+     *
+     * @param failoverLatencyThreshold The latency threshold.
+     * @return the updated SecondaryReadOptions object
+     * @throws IllegalArgumentException If {@code failoverLatencyThreshold} is zero or negative.
+     */
+    public SecondaryReadOptions setFailoverLatencyThreshold(Duration failoverLatencyThreshold) {
+        if (failoverLatencyThreshold != null && (failoverLatencyThreshold.isZero()
+            || failoverLatencyThreshold.isNegative())) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("'failoverLatencyThreshold' must be positive."));
+        }
+        this.failoverLatencyThreshold = failoverLatencyThreshold;
+        return this;
+    }
+
+    /**
+     * @return How long all reads are sent to the secondary after failover is triggered.
+     */
+    public Duration getFailoverDuration() {
+        return failoverDuration;
+    }
+
+    /**
+     * Sets how long all reads are sent to the secondary after failover is triggered. The default is 30 seconds.
+     *
+     * @param failoverDuration The failover duration.
+     * @return the updated SecondaryReadOptions object
+     * @throws NullPointerException If {@code failoverDuration} is null.
+     * @throws IllegalArgumentException If {@code failoverDuration} is negative.
+     */
+    public SecondaryReadOptions setFailoverDuration(Duration failoverDuration) {
+        StorageImplUtils.assertNotNull("failoverDuration", failoverDuration);
+        if (failoverDuration.isNegative()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'failoverDuration' cannot be negative."));
+        }
+        this.failoverDuration = failoverDuration;
+        return this;
+    }
+}
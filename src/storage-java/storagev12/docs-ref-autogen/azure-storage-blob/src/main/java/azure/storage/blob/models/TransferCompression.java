@@ -0,0 +1,44 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+/**
+ * Defines the codecs which may be used to compress blob data on the client before it is sent to the service.
+ */
+public enum TransferCompression {
+    /**
+     * Each block is compressed independently as a gzip member and the blob is stored with a {@code Content-Encoding}
+     * of {@code gzip}. A sequence of gzip members is itself a valid gzip stream, so the stored blob can be read by any
+     * gzip decoder.
+     */
+    GZIP("gzip");
+
+    private final String contentEncoding;
+
+    TransferCompression(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return The value of the {@code Content-Encoding} header for blobs compressed with this codec.
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Returns the codec matching a {@code Content-Encoding} header.
+     *
+     * @param contentEncoding The value of the {@code Content-Encoding} header.
+     * @return The matching codec, or null if the encoding is not one this client can decode.
+     */
+    public static TransferCompression fromContentEncoding(String contentEncoding) {
+        for (TransferCompression compression : values()) {
+            if (compression.contentEncoding.equalsIgnoreCase(contentEncoding)) {
+                return compression;
+            }
+        }
+        return null;
+    }
+}
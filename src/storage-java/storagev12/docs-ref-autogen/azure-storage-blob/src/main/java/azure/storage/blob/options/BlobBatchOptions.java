@@ -0,0 +1,62 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+/**
+ * Optional parameters for submitting many blob operations as batches through a
+ * {@link com.azure.storage.blob.batch.BlobBatchAsyncClient}.
+ */
+@Fluent
+public class BlobBatchOptions {
+    /**
+     * The largest number of operations the service accepts in a single batch.
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    private Integer maxBatchSize;
+    private Integer maxConcurrency;
+
+    /**
+     * @return The largest number of operations sent in each batch.
+     */
+    public Integer getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @param maxBatchSize The largest number of operations sent in each batch, at most {@link #MAX_BATCH_SIZE}.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxBatchSize} is less than 1 or greater than {@link #MAX_BATCH_SIZE}.
+     */
+    public BlobBatchOptions setMaxBatchSize(Integer maxBatchSize) {
+        if (maxBatchSize != null) {
+            StorageImplUtils.assertInBounds("maxBatchSize", maxBatchSize, 1, MAX_BATCH_SIZE);
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * @return The maximum number of batches that will be in flight at any given time.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of batches that will be in flight at any given time.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxConcurrency} is less than 1.
+     */
+    public BlobBatchOptions setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+}
@@ -0,0 +1,213 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.models.BlobQueryError;
+import com.azure.storage.blob.models.BlobQueryProgress;
+import com.azure.storage.blob.models.BlobQuerySerialization;
+import com.azure.storage.blob.specialized.BlobQueryCache;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Optional parameters for running a query against every blob under a prefix.
+ *
+ * <p>Up to {@link #getMaxConcurrency() maxConcurrency} blobs are queried at a time. By default the output of each
+ * blob is emitted as it arrives, so the output of different blobs is interleaved; set
+ * {@link #setPreserveOrder(boolean) preserveOrder} to emit the output one blob at a time in listing order, at the cost
+ * of holding the output of later blobs in memory until every earlier blob has finished.</p>
+ */
+@Fluent
+public class BlobContainerQueryOptions {
+
+    private final String expression;
+    private String prefix;
+    private BlobQuerySerialization inputSerialization;
+    private BlobQuerySerialization outputSerialization;
+    private Integer maxConcurrency;
+    private boolean preserveOrder;
+    private BiConsumer<String, BlobQueryError> errorConsumer;
+    private Consumer<BlobQueryProgress> progressConsumer;
+    private BlobQueryCache cache;
+
+    /**
+     * Constructs a {@link BlobContainerQueryOptions}.
+     * @param expression The query expression.
+     */
+    public BlobContainerQueryOptions(String expression) {
+        StorageImplUtils.assertNotNull("expression", expression);
+        this.expression = expression;
+    }
+
+    /**
+     * Gets the query expression.
+     *
+     * @return the query expression.
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Gets the prefix which the names of the queried blobs begin with.
+     *
+     * @return the prefix.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Sets the prefix which the names of the queried blobs begin with. If not set, every blob is queried.
+     *
+     * @param prefix The prefix.
+     * @return the updated BlobContainerQueryOptions object.
+     */
+    public BlobContainerQueryOptions setPrefix(String prefix) {
+        this.prefix = prefix;
+        return this;
+    }
+
+    /**
+     * Gets the input serialization.
+     *
+     * @return the input serialization.
+     */
+    public BlobQuerySerialization getInputSerialization() {
+        return inputSerialization;
+    }
+
+    /**
+     * Sets the input serialization.
+     *
+     * @param inputSerialization The input serialization.
+     * @return the updated BlobContainerQueryOptions object.
+     */
+    public BlobContainerQueryOptions setInputSerialization(BlobQuerySerialization inputSerialization) {
+        this.inputSerialization = inputSerialization;
+        return this;
+    }
+
+    /**
+     * Gets the output serialization.
+     *
+     * @return the output serialization.
+     */
+    public BlobQuerySerialization getOutputSerialization() {
+        return outputSerialization;
+    }
+
+    /**
+     * Sets the output serialization.
+     *
+     * @param outputSerialization The output serialization.
+     * @return the updated BlobContainerQueryOptions object.
+     */
+    public BlobContainerQueryOptions setOutputSerialization(BlobQuerySerialization outputSerialization) {
+        this.outputSerialization = outputSerialization;
+        return this;
+    }
+
+    /**
+     * @return The maximum number of blobs that will be queried at any given time.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of blobs that will be queried at any given time.
+     * @return the updated BlobContainerQueryOptions object.
+     * @throws IllegalArgumentException If {@code maxConcurrency} is less than 1.
+     */
+    public BlobContainerQueryOptions setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return Whether the output is emitted one blob at a time in listing order.
+     */
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    /**
+     * @param preserveOrder Whether the output is emitted one blob at a time in listing order.
+     * @return the updated BlobContainerQueryOptions object.
+     */
+    public BlobContainerQueryOptions setPreserveOrder(boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+        return this;
+    }
+
+    /**
+     * Gets the error consumer.
+     *
+     * @return the error consumer.
+     */
+    public BiConsumer<String, BlobQueryError> getErrorConsumer() {
+        return errorConsumer;
+    }
+
+    /**
+     * Sets the error consumer, which is given the name of the blob that reported each error. If not set, the first
+     * error reported by any blob fails the query.
+     *
+     * @param errorConsumer The error consumer.
+     * @return the updated BlobContainerQueryOptions object.
+     */
+    public BlobContainerQueryOptions setErrorConsumer(BiConsumer<String, BlobQueryError> errorConsumer) {
+        this.errorConsumer = errorConsumer;
+        return this;
+    }
+
+    /**
+     * Gets the progress consumer.
+     *
+     * @return the progress consumer.
+     */
+    public Consumer<BlobQueryProgress> getProgressConsumer() {
+        return progressConsumer;
+    }
+
+    /**
+     * Sets the progress consumer. Each update holds the bytes scanned and the total bytes summed over every blob
+     * which has reported progress so far. Updates are never delivered concurrently.
+     *
+     * @param progressConsumer The progress consumer.
+     * @return the updated BlobContainerQueryOptions object.
+     */
+    public BlobContainerQueryOptions setProgressConsumer(Consumer<BlobQueryProgress> progressConsumer) {
+        this.progressConsumer = progressConsumer;
+        return this;
+    }
+
+    /**
+     * Gets the cache of query output.
+     *
+     * @return the cache.
+     */
+    public BlobQueryCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets a cache of query output. The ETag of each blob is taken from the listing, so blobs whose output is cached
+     * under their current ETag are answered without any request, and only blobs which have changed are queried.
+     *
+     * @param cache The cache.
+     * @return the updated BlobContainerQueryOptions object.
+     */
+    public BlobContainerQueryOptions setCache(BlobQueryCache cache) {
+        this.cache = cache;
+        return this;
+    }
+}
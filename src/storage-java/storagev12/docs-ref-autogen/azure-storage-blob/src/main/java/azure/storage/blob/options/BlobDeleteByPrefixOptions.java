@@ -0,0 +1,71 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+
+/**
+ * Optional parameters for deleting every blob under a prefix.
+ */
+@Fluent
+public class BlobDeleteByPrefixOptions {
+    private DeleteSnapshotsOptionType deleteSnapshotsOptions = DeleteSnapshotsOptionType.INCLUDE;
+    private boolean deleteVersions;
+    private BlobBatchOptions batchOptions;
+
+    /**
+     * @return Whether the snapshots of each blob are deleted along with it, or instead of it.
+     */
+    public DeleteSnapshotsOptionType getDeleteSnapshotsOptions() {
+        return deleteSnapshotsOptions;
+    }
+
+    /**
+     * Sets whether the snapshots of each blob are deleted along with it, or instead of it. Defaults to
+     * {@link DeleteSnapshotsOptionType#INCLUDE}. If null, blobs which have snapshots fail to delete.
+     *
+     * @param deleteSnapshotsOptions {@link DeleteSnapshotsOptionType}
+     * @return The updated options.
+     */
+    public BlobDeleteByPrefixOptions setDeleteSnapshotsOptions(DeleteSnapshotsOptionType deleteSnapshotsOptions) {
+        this.deleteSnapshotsOptions = deleteSnapshotsOptions;
+        return this;
+    }
+
+    /**
+     * @return Whether the previous versions of each blob are deleted as well.
+     */
+    public boolean isDeleteVersions() {
+        return deleteVersions;
+    }
+
+    /**
+     * Sets whether the previous versions of each blob are deleted as well. On an account with versioning enabled,
+     * deleting a blob keeps its current version as a previous version, so this is needed to remove the data.
+     *
+     * @param deleteVersions Whether the previous versions of each blob are deleted as well.
+     * @return The updated options.
+     */
+    public BlobDeleteByPrefixOptions setDeleteVersions(boolean deleteVersions) {
+        this.deleteVersions = deleteVersions;
+        return this;
+    }
+
+    /**
+     * @return {@link BlobBatchOptions} for the batches the deletes are sent in.
+     */
+    public BlobBatchOptions getBatchOptions() {
+        return batchOptions;
+    }
+
+    /**
+     * @param batchOptions {@link BlobBatchOptions} for the batches the deletes are sent in.
+     * @return The updated options.
+     */
+    public BlobDeleteByPrefixOptions setBatchOptions(BlobBatchOptions batchOptions) {
+        this.batchOptions = batchOptions;
+        return this;
+    }
+}
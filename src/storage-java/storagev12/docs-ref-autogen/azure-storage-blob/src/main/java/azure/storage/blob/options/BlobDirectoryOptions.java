@@ -0,0 +1,81 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+/**
+ * Optional parameters for renaming or deleting a directory of blobs.
+ */
+@Fluent
+public class BlobDirectoryOptions {
+    private Boolean hierarchicalNamespace;
+    private Integer maxConcurrency;
+    private BlobBatchOptions batchOptions;
+
+    /**
+     * @return Whether the account has a hierarchical namespace, or null if it is detected from the directory.
+     */
+    public Boolean isHierarchicalNamespace() {
+        return hierarchicalNamespace;
+    }
+
+    /**
+     * Sets whether the account has a hierarchical namespace. If true, the directory is renamed or deleted by the
+     * service in a single operation. If false, each blob under the directory is copied or deleted on its own. If null,
+     * the default, the directory is treated as a hierarchical namespace directory only if its blob is marked as a
+     * folder, which costs one extra request. Some tools mark folder blobs on accounts without a hierarchical namespace
+     * too, so if the service then rejects the directory operation the blobs are copied or deleted on their own after
+     * all.
+     *
+     * @param hierarchicalNamespace Whether the account has a hierarchical namespace.
+     * @return The updated options.
+     */
+    public BlobDirectoryOptions setHierarchicalNamespace(Boolean hierarchicalNamespace) {
+        this.hierarchicalNamespace = hierarchicalNamespace;
+        return this;
+    }
+
+    /**
+     * @return The maximum number of blobs copied at a time when renaming a directory on an account without a
+     * hierarchical namespace.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of blobs copied at a time when renaming a directory on an account without a
+     * hierarchical namespace.
+     *
+     * @param maxConcurrency The maximum number of blobs copied at a time.
+     * @return The updated options.
+     */
+    public BlobDirectoryOptions setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return {@link BlobBatchOptions} for the batches the deletes are sent in when deleting a directory on an
+     * account without a hierarchical namespace.
+     */
+    public BlobBatchOptions getBatchOptions() {
+        return batchOptions;
+    }
+
+    /**
+     * @param batchOptions {@link BlobBatchOptions} for the batches the deletes are sent in when deleting a directory
+     * on an account without a hierarchical namespace.
+     * @return The updated options.
+     */
+    public BlobDirectoryOptions setBatchOptions(BlobBatchOptions batchOptions) {
+        this.batchOptions = batchOptions;
+        return this;
+    }
+}
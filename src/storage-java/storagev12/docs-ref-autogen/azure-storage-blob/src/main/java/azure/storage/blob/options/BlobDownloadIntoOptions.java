@@ -0,0 +1,156 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Extended options that may be passed when downloading a blob directly into a buffer.
+ *
+ * <p>A chunked download normally has to wait for the first chunk to learn the size and etag of the blob before the
+ * remaining chunks can be requested. If they are already known, for example from a listing, they may be passed with
+ * {@link #setKnownProperties(BlobProperties)}, or {@link #setKnownItemProperties(BlobItemProperties)} for the
+ * properties returned by a listing, so that every chunk is requested at once. The download is locked to the known etag,
+ * so it fails rather than returning inconsistent data if the blob has since changed. The known properties are ignored
+ * if the request conditions require a different etag.</p>
+ */
+@Fluent
+public class BlobDownloadIntoOptions {
+
+    private final ByteBuffer target;
+    private BlobRange range;
+    private ParallelTransferOptions parallelTransferOptions;
+    private DownloadRetryOptions downloadRetryOptions;
+    private BlobRequestConditions requestConditions;
+    private Long knownBlobSize;
+    private String knownETag;
+
+    /**
+     * @param target The buffer into which the data will be written, starting at its current position. It must be
+     * writable and have enough space remaining to hold the range.
+     * @throws NullPointerException If {@code target} is null.
+     */
+    public BlobDownloadIntoOptions(ByteBuffer target) {
+        StorageImplUtils.assertNotNull("target", target);
+        this.target = target;
+    }
+
+    /**
+     * @return The buffer into which the data will be written.
+     */
+    public ByteBuffer getTarget() {
+        return target;
+    }
+
+    /**
+     * @return {@link BlobRange}
+     */
+    public BlobRange getRange() {
+        return range;
+    }
+
+    /**
+     * @param range {@link BlobRange}
+     * @return The updated options.
+     */
+    public BlobDownloadIntoOptions setRange(BlobRange range) {
+        this.range = range;
+        return this;
+    }
+
+    /**
+     * @return {@link ParallelTransferOptions}
+     */
+    public ParallelTransferOptions getParallelTransferOptions() {
+        return parallelTransferOptions;
+    }
+
+    /**
+     * @param parallelTransferOptions {@link ParallelTransferOptions}
+     * @return The updated options.
+     */
+    public BlobDownloadIntoOptions setParallelTransferOptions(ParallelTransferOptions parallelTransferOptions) {
+        this.parallelTransferOptions = parallelTransferOptions;
+        return this;
+    }
+
+    /**
+     * @return {@link DownloadRetryOptions}
+     */
+    public DownloadRetryOptions getDownloadRetryOptions() {
+        return downloadRetryOptions;
+    }
+
+    /**
+     * @param downloadRetryOptions {@link DownloadRetryOptions}
+     * @return The updated options.
+     */
+    public BlobDownloadIntoOptions setDownloadRetryOptions(DownloadRetryOptions downloadRetryOptions) {
+        this.downloadRetryOptions = downloadRetryOptions;
+        return this;
+    }
+
+    /**
+     * @return {@link BlobRequestConditions}
+     */
+    public BlobRequestConditions getRequestConditions() {
+        return requestConditions;
+    }
+
+    /**
+     * @param requestConditions {@link BlobRequestConditions}
+     * @return The updated options.
+     */
+    public BlobDownloadIntoOptions setRequestConditions(BlobRequestConditions requestConditions) {
+        this.requestConditions = requestConditions;
+        return this;
+    }
+
+    /**
+     * @return The size of the blob, if it is already known.
+     */
+    public Long getKnownBlobSize() {
+        return knownBlobSize;
+    }
+
+    /**
+     * @return The etag of the blob, if it is already known.
+     */
+    public String getKnownETag() {
+        return knownETag;
+    }
+
+    /**
+     * Sets the size and etag of the blob, if they are already known, so that every chunk can be requested at once.
+     *
+     * @param knownProperties {@link BlobProperties} of the blob. Pass null to discover them while downloading.
+     * @return The updated options.
+     */
+    public BlobDownloadIntoOptions setKnownProperties(BlobProperties knownProperties) {
+        this.knownBlobSize = knownProperties == null ? null : knownProperties.getBlobSize();
+        this.knownETag = knownProperties == null ? null : knownProperties.getETag();
+        return this;
+    }
+
+    /**
+     * Sets the size and etag of the blob, as returned by a listing, so that every chunk can be requested at once.
+     *
+     * @param knownProperties {@link BlobItemProperties} of the blob. Pass null to discover them while downloading.
+     * @return The updated options.
+     */
+    public BlobDownloadIntoOptions setKnownItemProperties(BlobItemProperties knownProperties) {
+        this.knownBlobSize = knownProperties == null ? null : knownProperties.getContentLength();
+        this.knownETag = knownProperties == null ? null : knownProperties.getETag();
+        return this;
+    }
+}
@@ -0,0 +1,166 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+/**
+ * Extended options that may be passed when downloading every blob under a prefix into a local directory.
+ *
+ * <p>Blobs no larger than {@link #getBlockSize() blockSize} are downloaded with a single request, larger blobs are
+ * split into requests of {@code blockSize} bytes. Requests for all blobs share a single pool of
+ * {@link #getMaxConcurrency() maxConcurrency} slots, which is further limited so that no more than
+ * {@link #getMaxMemorySize() maxMemorySize} bytes are requested at any given time.</p>
+ *
+ * <p>A blob whose file would be written where a directory already exists, or whose directories would be created
+ * where a file already exists, for example a blob {@code a} alongside a blob {@code a/b}, is skipped and reported to
+ * the {@link #setErrorConsumer(BiConsumer) error consumer} rather than failing the download.</p>
+ */
+@Fluent
+public class BlobDownloadToDirectoryOptions {
+
+    private Long blockSize;
+    private Integer maxConcurrency;
+    private Long maxMemorySize;
+    private boolean skipUnchanged = true;
+    private DownloadRetryOptions downloadRetryOptions;
+    private BiConsumer<String, IOException> errorConsumer;
+
+    /**
+     * Gets the size of each request used to download large blobs. Blobs no larger than this size are downloaded with
+     * a single request.
+     *
+     * @return The block size.
+     */
+    public Long getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets the size of each request used to download large blobs. Blobs no larger than this size are downloaded with
+     * a single request.
+     *
+     * @param blockSize The block size.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code blockSize} is less than 1.
+     */
+    public BlobDownloadToDirectoryOptions setBlockSize(Long blockSize) {
+        if (blockSize != null) {
+            StorageImplUtils.assertInBounds("blockSize", blockSize, 1, Long.MAX_VALUE);
+        }
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * @return The maximum number of requests, across all blobs, that will be in flight at any given time.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of requests, across all blobs, that will be in flight at any given
+     * time.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxConcurrency} is less than 1.
+     */
+    public BlobDownloadToDirectoryOptions setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of bytes that may be requested, but not yet written to disk, at any given time.
+     *
+     * @return The memory budget.
+     */
+    public Long getMaxMemorySize() {
+        return maxMemorySize;
+    }
+
+    /**
+     * Sets the maximum number of bytes that may be requested, but not yet written to disk, at any given time. At
+     * least one request is always allowed, even if it is larger than the budget.
+     *
+     * @param maxMemorySize The memory budget.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxMemorySize} is less than 1.
+     */
+    public BlobDownloadToDirectoryOptions setMaxMemorySize(Long maxMemorySize) {
+        if (maxMemorySize != null) {
+            StorageImplUtils.assertInBounds("maxMemorySize", maxMemorySize, 1, Long.MAX_VALUE);
+        }
+        this.maxMemorySize = maxMemorySize;
+        return this;
+    }
+
+    /**
+     * Gets whether blobs whose local file already has the same size and a last modified time no earlier than the
+     * blob's are skipped. Defaults to {@code true}.
+     *
+     * @return Whether unchanged blobs are skipped.
+     */
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    /**
+     * Sets whether blobs whose local file already has the same size and a last modified time no earlier than the
+     * blob's are skipped. When {@code false} every blob is downloaded and existing files are overwritten.
+     *
+     * @param skipUnchanged Whether unchanged blobs are skipped.
+     * @return The updated options.
+     */
+    public BlobDownloadToDirectoryOptions setSkipUnchanged(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+        return this;
+    }
+
+    /**
+     * @return {@link DownloadRetryOptions}
+     */
+    public DownloadRetryOptions getDownloadRetryOptions() {
+        return downloadRetryOptions;
+    }
+
+    /**
+     * @param downloadRetryOptions {@link DownloadRetryOptions}
+     * @return The updated options.
+     */
+    public BlobDownloadToDirectoryOptions setDownloadRetryOptions(DownloadRetryOptions downloadRetryOptions) {
+        this.downloadRetryOptions = downloadRetryOptions;
+        return this;
+    }
+
+    /**
+     * Gets the error consumer.
+     *
+     * @return the error consumer.
+     */
+    public BiConsumer<String, IOException> getErrorConsumer() {
+        return errorConsumer;
+    }
+
+    /**
+     * Sets the error consumer, which is given the name of each blob skipped because its local path collides with a
+     * file or directory, and the {@link java.nio.file.FileAlreadyExistsException} naming the path in the way. If not
+     * set, skipped blobs are only logged.
+     *
+     * @param errorConsumer The error consumer.
+     * @return The updated options.
+     */
+    public BlobDownloadToDirectoryOptions setErrorConsumer(BiConsumer<String, IOException> errorConsumer) {
+        this.errorConsumer = errorConsumer;
+        return this;
+    }
+}
@@ -0,0 +1,211 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.nio.file.OpenOption;
+import java.util.Set;
+
+/**
+ * Extended options that may be passed when downloading a blob to a file.
+ *
+ * <p>A chunked download normally has to wait for the first chunk to learn the size and etag of the blob before the
+ * remaining chunks can be requested. If they are already known, for example from a listing, they may be passed with
+ * {@link #setKnownProperties(BlobProperties)}, or {@link #setKnownItemProperties(BlobItemProperties)} for the
+ * properties returned by a listing, so that every chunk is requested at once. The download is locked to the known etag,
+ * so it fails rather than returning inconsistent data if the blob has since changed. The known properties are ignored
+ * if the request conditions require a different etag.</p>
+ */
+@Fluent
+public class BlobDownloadToFileOptions {
+
+    private final String filePath;
+    private BlobRange range;
+    private ParallelTransferOptions parallelTransferOptions;
+    private DownloadRetryOptions downloadRetryOptions;
+    private BlobRequestConditions requestConditions;
+    private boolean retrieveContentRangeMd5;
+    private Set<OpenOption> openOptions;
+    private Long knownBlobSize;
+    private String knownETag;
+    private boolean decompress;
+
+    /**
+     * @param filePath The path of the file to download to.
+     * @throws NullPointerException If {@code filePath} is null.
+     */
+    public BlobDownloadToFileOptions(String filePath) {
+        StorageImplUtils.assertNotNull("filePath", filePath);
+        this.filePath = filePath;
+    }
+
+    /**
+     * @return The path of the file to download to.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * @return {@link BlobRange}
+     */
+    public BlobRange getRange() {
+        return range;
+    }
+
+    /**
+     * @param range {@link BlobRange}
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setRange(BlobRange range) {
+        this.range = range;
+        return this;
+    }
+
+    /**
+     * @return {@link ParallelTransferOptions}
+     */
+    public ParallelTransferOptions getParallelTransferOptions() {
+        return parallelTransferOptions;
+    }
+
+    /**
+     * @param parallelTransferOptions {@link ParallelTransferOptions}
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setParallelTransferOptions(ParallelTransferOptions parallelTransferOptions) {
+        this.parallelTransferOptions = parallelTransferOptions;
+        return this;
+    }
+
+    /**
+     * @return {@link DownloadRetryOptions}
+     */
+    public DownloadRetryOptions getDownloadRetryOptions() {
+        return downloadRetryOptions;
+    }
+
+    /**
+     * @param downloadRetryOptions {@link DownloadRetryOptions}
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setDownloadRetryOptions(DownloadRetryOptions downloadRetryOptions) {
+        this.downloadRetryOptions = downloadRetryOptions;
+        return this;
+    }
+
+    /**
+     * @return {@link BlobRequestConditions}
+     */
+    public BlobRequestConditions getRequestConditions() {
+        return requestConditions;
+    }
+
+    /**
+     * @param requestConditions {@link BlobRequestConditions}
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setRequestConditions(BlobRequestConditions requestConditions) {
+        this.requestConditions = requestConditions;
+        return this;
+    }
+
+    /**
+     * @return Whether the contentMD5 for the specified blob range should be returned.
+     */
+    public boolean isRetrieveContentRangeMd5() {
+        return retrieveContentRangeMd5;
+    }
+
+    /**
+     * @param retrieveContentRangeMd5 Whether the contentMD5 for the specified blob range should be returned.
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setRetrieveContentRangeMd5(boolean retrieveContentRangeMd5) {
+        this.retrieveContentRangeMd5 = retrieveContentRangeMd5;
+        return this;
+    }
+
+    /**
+     * @return {@link OpenOption OpenOptions} to use to configure how to open or create the file.
+     */
+    public Set<OpenOption> getOpenOptions() {
+        return openOptions;
+    }
+
+    /**
+     * @param openOptions {@link OpenOption OpenOptions} to use to configure how to open or create the file.
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setOpenOptions(Set<OpenOption> openOptions) {
+        this.openOptions = openOptions;
+        return this;
+    }
+
+    /**
+     * @return Whether a blob uploaded with transfer compression is decompressed as it is written to the file.
+     */
+    public boolean isDecompress() {
+        return decompress;
+    }
+
+    /**
+     * Sets whether a blob uploaded with transfer compression is decompressed as it is written to the file. Blobs
+     * whose {@code Content-Encoding} this client cannot decode are written as is. Decompression requires the data in
+     * order, so the blob is downloaded as a single stream and no range may be set.
+     *
+     * @param decompress Whether to decompress the blob.
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setDecompress(boolean decompress) {
+        this.decompress = decompress;
+        return this;
+    }
+
+    /**
+     * @return The size of the blob, if it is already known.
+     */
+    public Long getKnownBlobSize() {
+        return knownBlobSize;
+    }
+
+    /**
+     * @return The etag of the blob, if it is already known.
+     */
+    public String getKnownETag() {
+        return knownETag;
+    }
+
+    /**
+     * Sets the size and etag of the blob, if they are already known, so that every chunk can be requested at once.
+     *
+     * @param knownProperties {@link BlobProperties} of the blob. Pass null to discover them while downloading.
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setKnownProperties(BlobProperties knownProperties) {
+        this.knownBlobSize = knownProperties == null ? null : knownProperties.getBlobSize();
+        this.knownETag = knownProperties == null ? null : knownProperties.getETag();
+        return this;
+    }
+
+    /**
+     * Sets the size and etag of the blob, as returned by a listing, so that every chunk can be requested at once.
+     *
+     * @param knownProperties {@link BlobItemProperties} of the blob. Pass null to discover them while downloading.
+     * @return The updated options.
+     */
+    public BlobDownloadToFileOptions setKnownItemProperties(BlobItemProperties knownProperties) {
+        this.knownBlobSize = knownProperties == null ? null : knownProperties.getContentLength();
+        this.knownETag = knownProperties == null ? null : knownProperties.getETag();
+        return this;
+    }
+}
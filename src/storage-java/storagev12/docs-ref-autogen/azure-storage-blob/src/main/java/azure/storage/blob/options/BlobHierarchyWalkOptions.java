@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+/**
+ * Optional parameters for walking the virtual directory tree under a prefix.
+ *
+ * <p>Every directory found is listed in turn, up to {@link #getMaxConcurrency() maxConcurrency} directories at a
+ * time, however deep in the tree they are. Blobs and directories are emitted as each listing returns them, so the
+ * items of different directories are interleaved.</p>
+ */
+@Fluent
+public class BlobHierarchyWalkOptions {
+
+    private ListBlobsOptions listBlobsOptions;
+    private Integer maxConcurrency;
+    private Integer maxDepth;
+
+    /**
+     * @return {@link ListBlobsOptions} applied to the listing of every directory.
+     */
+    public ListBlobsOptions getListBlobsOptions() {
+        return listBlobsOptions;
+    }
+
+    /**
+     * Sets the options applied to the listing of every directory. The prefix of the options is the root of the walk.
+     *
+     * @param listBlobsOptions {@link ListBlobsOptions}
+     * @return The updated options.
+     */
+    public BlobHierarchyWalkOptions setListBlobsOptions(ListBlobsOptions listBlobsOptions) {
+        this.listBlobsOptions = listBlobsOptions;
+        return this;
+    }
+
+    /**
+     * @return The maximum number of directories that will be listed at any given time.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of directories that will be listed at any given time.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxConcurrency} is less than 1.
+     */
+    public BlobHierarchyWalkOptions setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return The number of levels of directories below the root which are listed.
+     */
+    public Integer getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Sets the number of levels of directories below the root which are listed. Directories below that are emitted
+     * but not listed. A depth of 0 lists only the root, as
+     * {@link com.azure.storage.blob.BlobContainerAsyncClient#listBlobsByHierarchy(String, ListBlobsOptions)} does.
+     *
+     * @param maxDepth The maximum depth, or null to walk the whole tree.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxDepth} is negative.
+     */
+    public BlobHierarchyWalkOptions setMaxDepth(Integer maxDepth) {
+        if (maxDepth != null) {
+            StorageImplUtils.assertInBounds("maxDepth", maxDepth, 0, Integer.MAX_VALUE);
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+}
@@ -0,0 +1,153 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optional parameters for listing the blobs under a prefix in parallel.
+ *
+ * <p>A listing is normally sequential, since each page is requested with the marker returned by the page before it.
+ * A parallel listing instead splits the namespace under the prefix into {@link #getPartitions() partitions}, one for
+ * each string which may follow the prefix, and lists up to {@link #getMaxConcurrency() maxConcurrency} partitions at
+ * a time. Blobs whose names continue with a string outside of the partitions are not listed, so the partitions must
+ * cover every name in the container which is to be listed. There is no default: names may continue with any
+ * character, and the service cannot list the names outside of a set of partitions without listing every name, so the
+ * partitions must be chosen for the names in the container. {@link #PRINTABLE_ASCII_PARTITIONS} covers names which
+ * continue with a printable ASCII character.</p>
+ *
+ * <p>By default blobs are emitted as they arrive, so the blobs of different partitions are interleaved; set
+ * {@link #setPreserveOrder(boolean) preserveOrder} to emit the blobs in lexicographic order, at the cost of holding
+ * the blobs of later partitions in memory until every earlier partition has finished.</p>
+ */
+@Fluent
+public class BlobParallelListOptions {
+    /**
+     * One partition for each printable ASCII character, from the space to the tilde. Blobs whose names continue with
+     * a control character, DEL or a character outside of ASCII are not listed with these partitions.
+     */
+    public static final List<String> PRINTABLE_ASCII_PARTITIONS;
+
+    static {
+        List<String> partitions = new ArrayList<>();
+        for (char c = ' '; c <= '~'; c++) {
+            partitions.add(String.valueOf(c));
+        }
+        PRINTABLE_ASCII_PARTITIONS = Collections.unmodifiableList(partitions);
+    }
+
+    private final ClientLogger logger = new ClientLogger(BlobParallelListOptions.class);
+
+    private ListBlobsOptions listBlobsOptions;
+    private List<String> partitions;
+    private Integer maxConcurrency;
+    private boolean preserveOrder;
+
+    /**
+     * @return {@link ListBlobsOptions} applied to every partition.
+     */
+    public ListBlobsOptions getListBlobsOptions() {
+        return listBlobsOptions;
+    }
+
+    /**
+     * Sets the options applied to every partition. The prefix of the options is the prefix under which the
+     * namespace is split.
+     *
+     * @param listBlobsOptions {@link ListBlobsOptions}
+     * @return The updated options.
+     */
+    public BlobParallelListOptions setListBlobsOptions(ListBlobsOptions listBlobsOptions) {
+        this.listBlobsOptions = listBlobsOptions;
+        return this;
+    }
+
+    /**
+     * @return The strings which may follow the prefix, one for each partition, or null if they have not been set.
+     */
+    public List<String> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Sets the strings which may follow the prefix, one for each partition. Each partition lists the blobs whose names
+     * begin with the prefix followed by its string. A blob whose name is exactly the prefix is always listed. The
+     * partitions must be set before listing.
+     *
+     * @param partitions The partitions.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code partitions} is empty, holds a null or empty string, or holds a
+     * string which begins with another of its strings.
+     */
+    public BlobParallelListOptions setPartitions(List<String> partitions) {
+        if (partitions == null) {
+            this.partitions = null;
+            return this;
+        }
+        if (partitions.isEmpty()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'partitions' cannot be empty."));
+        }
+
+        List<String> sorted = new ArrayList<>(partitions);
+        for (String partition : sorted) {
+            if (partition == null || partition.isEmpty()) {
+                throw logger.logExceptionAsError(
+                    new IllegalArgumentException("'partitions' cannot hold a null or empty string."));
+            }
+        }
+        Collections.sort(sorted);
+        // Once sorted, a string which begins with another directly follows it or another string beginning with it.
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).startsWith(sorted.get(i - 1))) {
+                throw logger.logExceptionAsError(new IllegalArgumentException(String.format(
+                    "Partition '%s' overlaps partition '%s'.", sorted.get(i), sorted.get(i - 1))));
+            }
+        }
+        this.partitions = Collections.unmodifiableList(sorted);
+        return this;
+    }
+
+    /**
+     * @return The maximum number of partitions that will be listed at any given time.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of partitions that will be listed at any given time.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxConcurrency} is less than 1.
+     */
+    public BlobParallelListOptions setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return Whether blobs are emitted in lexicographic order.
+     */
+    public boolean isPreserveOrder() {
+        return preserveOrder;
+    }
+
+    /**
+     * @param preserveOrder Whether blobs are emitted in lexicographic order.
+     * @return The updated options.
+     */
+    public BlobParallelListOptions setPreserveOrder(boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+        return this;
+    }
+}
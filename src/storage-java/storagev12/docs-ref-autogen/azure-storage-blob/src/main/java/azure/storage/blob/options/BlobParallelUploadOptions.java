@@ -10,6 +10,7 @@ import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.BlobHttpHeaders;
 import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.models.TransferCompression;
 import com.azure.storage.common.implementation.StorageImplUtils;
 import reactor.core.publisher.Flux;
 
@@ -33,6 +34,7 @@ public class BlobParallelUploadOptions {
     private AccessTier tier;
     private BlobRequestConditions requestConditions;
     private Duration timeout;
+    private TransferCompression transferCompression;
 
     /**
      * Constructs a new {@code BlobParallelUploadOptions}.
@@ -212,6 +214,30 @@ public class BlobParallelUploadOptions {
         return this;
     }
 
+    /**
+     * Gets the codec used to compress the data before it is sent, or null if the data is sent as is.
+     *
+     * @return {@link TransferCompression}
+     */
+    public TransferCompression getTransferCompression() {
+        return transferCompression;
+    }
+
+    /**
+     * Sets the codec used to compress the data before it is sent. Each block is compressed independently, in parallel,
+     * and the blob is stored with the matching {@code Content-Encoding}. Compressed uploads are always staged as
+     * blocks, regardless of their size. The headers may not set a {@code Content-MD5}, since it would describe the
+     * data before it was compressed, nor a different {@code Content-Encoding}; the upload fails with an
+     * {@link IllegalArgumentException} if they do.
+     *
+     * @param transferCompression {@link TransferCompression}. Pass null to send the data as is.
+     * @return The updated options.
+     */
+    public BlobParallelUploadOptions setTransferCompression(TransferCompression transferCompression) {
+        this.transferCompression = transferCompression;
+        return this;
+    }
+
     /**
      * Gets the timeout.
      *
@@ -8,6 +8,7 @@ import com.azure.storage.blob.models.BlobQueryError;
 import com.azure.storage.blob.models.BlobQueryProgress;
 import com.azure.storage.blob.models.BlobQuerySerialization;
 import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.specialized.BlobQueryCache;
 import com.azure.storage.common.implementation.StorageImplUtils;
 
 import java.io.OutputStream;
@@ -26,6 +27,7 @@ public class BlobQueryOptions {
     private BlobRequestConditions requestConditions;
     private Consumer<BlobQueryError> errorConsumer;
     private Consumer<BlobQueryProgress> progressConsumer;
+    private BlobQueryCache cache;
 
     /**
      * Constructs a {@link BlobQueryOptions}.
@@ -166,4 +168,28 @@ public class BlobQueryOptions {
         this.progressConsumer = progressConsumer;
         return this;
     }
+
+    /**
+     * Gets the cache of query output.
+     *
+     * @return the cache.
+     */
+    public BlobQueryCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets a cache of query output. Before querying, the properties of the blob are fetched under the request
+     * conditions, which checks the conditions and gets the current ETag of the blob. If the output of the same query
+     * against that version of the blob is cached, it is returned without querying the blob; the response then has the
+     * request and the headers describing the blob of the properties request, and the progress consumer is not called.
+     * Otherwise the query is locked to that ETag and its output is cached.
+     *
+     * @param cache The cache.
+     * @return the updated BlobQueryOptions object.
+     */
+    public BlobQueryOptions setCache(BlobQueryCache cache) {
+        this.cache = cache;
+        return this;
+    }
 }
@@ -0,0 +1,159 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Extended options that may be passed when reading several ranges of a blob at once.
+ *
+ * <p>Ranges that are separated by no more than {@link #getMaxGapSize() maxGapSize} bytes are coalesced into a single
+ * request, as long as the coalesced request does not exceed {@link #getMaxMergedRangeSize() maxMergedRangeSize}. The
+ * bytes in the gaps are downloaded and discarded, so the gap size trades extra bytes on the wire for fewer requests.
+ * </p>
+ */
+@Fluent
+public class BlobReadRangesOptions {
+
+    private final List<BlobRange> ranges;
+    private Long maxGapSize;
+    private Long maxMergedRangeSize;
+    private Integer maxConcurrency;
+    private DownloadRetryOptions downloadRetryOptions;
+    private BlobRequestConditions requestConditions;
+
+    /**
+     * @param ranges The ranges to read. Every range must specify a count.
+     * @throws NullPointerException If {@code ranges} is null.
+     * @throws IllegalArgumentException If any range does not specify a count.
+     */
+    public BlobReadRangesOptions(List<BlobRange> ranges) {
+        StorageImplUtils.assertNotNull("ranges", ranges);
+        for (BlobRange range : ranges) {
+            StorageImplUtils.assertNotNull("range", range);
+            if (range.getCount() == null) {
+                throw new IllegalArgumentException("Every range passed to readRanges must specify a count.");
+            }
+        }
+        this.ranges = Collections.unmodifiableList(new ArrayList<>(ranges));
+    }
+
+    /**
+     * @return The ranges to read.
+     */
+    public List<BlobRange> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Gets the largest number of bytes between two ranges for which the ranges will be read with a single request.
+     *
+     * @return The maximum gap size.
+     */
+    public Long getMaxGapSize() {
+        return maxGapSize;
+    }
+
+    /**
+     * Sets the largest number of bytes between two ranges for which the ranges will be read with a single request. A
+     * value of 0 only coalesces ranges which touch or overlap.
+     *
+     * @param maxGapSize The maximum gap size.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxGapSize} is less than 0.
+     */
+    public BlobReadRangesOptions setMaxGapSize(Long maxGapSize) {
+        if (maxGapSize != null) {
+            StorageImplUtils.assertInBounds("maxGapSize", maxGapSize, 0, Long.MAX_VALUE);
+        }
+        this.maxGapSize = maxGapSize;
+        return this;
+    }
+
+    /**
+     * Gets the largest request that coalescing may produce. A single range larger than this value is still read with
+     * one request; it is simply never combined with its neighbors.
+     *
+     * @return The maximum merged range size.
+     */
+    public Long getMaxMergedRangeSize() {
+        return maxMergedRangeSize;
+    }
+
+    /**
+     * Sets the largest request that coalescing may produce. A single range larger than this value is still read with
+     * one request; it is simply never combined with its neighbors.
+     *
+     * @param maxMergedRangeSize The maximum merged range size.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxMergedRangeSize} is less than 1.
+     */
+    public BlobReadRangesOptions setMaxMergedRangeSize(Long maxMergedRangeSize) {
+        if (maxMergedRangeSize != null) {
+            StorageImplUtils.assertInBounds("maxMergedRangeSize", maxMergedRangeSize, 1, Long.MAX_VALUE);
+        }
+        this.maxMergedRangeSize = maxMergedRangeSize;
+        return this;
+    }
+
+    /**
+     * @return The maximum number of coalesced requests that will be in flight at any given time.
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @param maxConcurrency The maximum number of coalesced requests that will be in flight at any given time.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code maxConcurrency} is less than 1.
+     */
+    public BlobReadRangesOptions setMaxConcurrency(Integer maxConcurrency) {
+        if (maxConcurrency != null) {
+            StorageImplUtils.assertInBounds("maxConcurrency", maxConcurrency, 1, Integer.MAX_VALUE);
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @return {@link DownloadRetryOptions}
+     */
+    public DownloadRetryOptions getDownloadRetryOptions() {
+        return downloadRetryOptions;
+    }
+
+    /**
+     * @param downloadRetryOptions {@link DownloadRetryOptions}
+     * @return The updated options.
+     */
+    public BlobReadRangesOptions setDownloadRetryOptions(DownloadRetryOptions downloadRetryOptions) {
+        this.downloadRetryOptions = downloadRetryOptions;
+        return this;
+    }
+
+    /**
+     * @return {@link BlobRequestConditions}
+     */
+    public BlobRequestConditions getRequestConditions() {
+        return requestConditions;
+    }
+
+    /**
+     * @param requestConditions {@link BlobRequestConditions}
+     * @return The updated options.
+     */
+    public BlobReadRangesOptions setRequestConditions(BlobRequestConditions requestConditions) {
+        this.requestConditions = requestConditions;
+        return this;
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.options;
+
+import com.azure.core.annotation.Fluent;
+import com.azure.storage.common.implementation.StorageImplUtils;
+
+import java.time.Duration;
+
+/**
+ * Optional parameters for a {@link com.azure.storage.blob.specialized.BlobSasFactory} signing with user delegation
+ * keys.
+ */
+@Fluent
+public class BlobSasFactoryOptions {
+    /**
+     * The longest validity the service grants a user delegation key.
+     */
+    public static final Duration MAX_KEY_VALIDITY = Duration.ofDays(7);
+
+    private Duration keyValidity;
+    private Duration keyRefreshWindow;
+
+    /**
+     * @return How long each user delegation key is requested to remain valid past the expiry of the SAS which
+     * needed it.
+     */
+    public Duration getKeyValidity() {
+        return keyValidity;
+    }
+
+    /**
+     * Sets how long each user delegation key is requested to remain valid past the expiry of the SAS which needed it.
+     * Defaults to one day. The longer a key remains valid, the more SAS are signed with it before another is needed.
+     * No key is requested for longer than {@link #MAX_KEY_VALIDITY} from now.
+     *
+     * @param keyValidity How long each user delegation key is requested to remain valid past the expiry of the SAS
+     * which needed it.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code keyValidity} is not positive or is longer than
+     * {@link #MAX_KEY_VALIDITY}.
+     */
+    public BlobSasFactoryOptions setKeyValidity(Duration keyValidity) {
+        if (keyValidity != null) {
+            StorageImplUtils.assertInBounds("keyValidity", keyValidity.getSeconds(), 1,
+                MAX_KEY_VALIDITY.getSeconds());
+        }
+        this.keyValidity = keyValidity;
+        return this;
+    }
+
+    /**
+     * @return How long before a SAS would outlive the user delegation key a new one is requested.
+     */
+    public Duration getKeyRefreshWindow() {
+        return keyRefreshWindow;
+    }
+
+    /**
+     * Sets how long before a SAS would outlive the user delegation key a new one is requested. Defaults to one hour
+     * and must be shorter than the key validity. The new key is requested in the background while SAS continue to be
+     * signed with the current one, so signing only waits on the service for the first key, or if a SAS would outlive
+     * the current key before its replacement arrives.
+     *
+     * @param keyRefreshWindow How long before a SAS would outlive the user delegation key a new one is requested.
+     * @return The updated options.
+     * @throws IllegalArgumentException If {@code keyRefreshWindow} is negative.
+     */
+    public BlobSasFactoryOptions setKeyRefreshWindow(Duration keyRefreshWindow) {
+        if (keyRefreshWindow != null) {
+            StorageImplUtils.assertInBounds("keyRefreshWindow", keyRefreshWindow.getSeconds(), 0, Long.MAX_VALUE);
+        }
+        this.keyRefreshWindow = keyRefreshWindow;
+        return this;
+    }
+}
@@ -3,18 +3,24 @@
 
 package com.azure.storage.blob.specialized;
 
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
 import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpRequest;
 import com.azure.core.http.HttpResponse;
 import com.azure.core.http.RequestConditions;
 import com.azure.core.http.rest.Response;
 import com.azure.core.http.rest.SimpleResponse;
 import com.azure.core.util.Context;
 import com.azure.core.util.CoreUtils;
+import com.azure.core.util.DateTimeRfc1123;
 import com.azure.core.util.FluxUtil;
+import com.azure.core.util.UrlBuilder;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.core.util.polling.LongRunningOperationStatus;
 import com.azure.core.util.polling.PollResponse;
 import com.azure.core.util.polling.PollerFlux;
+import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.BlobServiceAsyncClient;
 import com.azure.storage.blob.BlobServiceVersion;
 import com.azure.storage.blob.HttpGetterInfo;
@@ -29,23 +35,38 @@ import com.azure.storage.blob.implementation.models.BlobTags;
 import com.azure.storage.blob.implementation.models.EncryptionScope;
 import com.azure.storage.blob.implementation.models.QueryRequest;
 import com.azure.storage.blob.implementation.models.QuerySerialization;
+import com.azure.storage.blob.implementation.util.ArrowStreamUtils;
+import com.azure.storage.blob.implementation.util.BlobQueryHelper;
 import com.azure.storage.blob.implementation.util.BlobQueryReader;
 import com.azure.storage.blob.implementation.util.BlobSasImplUtil;
 import com.azure.storage.blob.implementation.util.ChunkedDownloadUtils;
+import com.azure.storage.blob.implementation.util.GzipUtils;
 import com.azure.storage.blob.implementation.util.ModelHelper;
+import com.azure.storage.blob.implementation.util.RangeCoalescingUtils;
+import com.azure.storage.blob.implementation.util.SecondaryReadPolicy;
+import com.azure.storage.blob.implementation.util.SharedKeySigningPolicy;
 import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.ArchiveStatus;
 import com.azure.storage.blob.models.BlobDownloadHeaders;
+import com.azure.storage.blob.models.BlobErrorCode;
 import com.azure.storage.blob.models.BlobBeginCopySourceRequestConditions;
 import com.azure.storage.blob.options.BlobBeginCopyOptions;
 import com.azure.storage.blob.options.BlobCopyFromUrlOptions;
 import com.azure.storage.blob.models.BlobCopyInfo;
 import com.azure.storage.blob.models.BlobDownloadAsyncResponse;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobItemProperties;
 import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobQueryArrowSerialization;
 import com.azure.storage.blob.models.BlobQueryAsyncResponse;
+import com.azure.storage.blob.models.BlobQueryError;
+import com.azure.storage.blob.models.BlobQueryHeaders;
+import com.azure.storage.blob.models.BlobQueryProgress;
 import com.azure.storage.blob.options.BlobGetTagsOptions;
 import com.azure.storage.blob.options.BlobQueryOptions;
+import com.azure.storage.blob.options.BlobDownloadIntoOptions;
+import com.azure.storage.blob.options.BlobDownloadToFileOptions;
+import com.azure.storage.blob.options.BlobReadRangesOptions;
 import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.BlobRequestConditions;
 import com.azure.storage.blob.models.BlobStorageException;
@@ -56,13 +77,15 @@ import com.azure.storage.blob.models.DownloadRetryOptions;
 import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.models.RehydratePriority;
 import com.azure.storage.blob.models.StorageAccountInfo;
+import com.azure.storage.blob.models.TransferCompression;
 import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
 import com.azure.storage.blob.options.BlobSetAccessTierOptions;
 import com.azure.storage.blob.options.BlobSetTagsOptions;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.Utility;
-import com.azure.storage.common.implementation.SasImplUtils;
+import com.azure.storage.common.implementation.Constants;
 import com.azure.storage.common.implementation.StorageImplUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -91,10 +114,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import static com.azure.core.util.FluxUtil.fluxError;
 import static com.azure.core.util.FluxUtil.monoError;
@@ -111,6 +138,16 @@ import static com.azure.storage.common.Utility.STORAGE_TRACING_NAMESPACE_VALUE;
  */
 public class BlobAsyncClientBase {
 
+    /*
+    Reading and discarding up to this many bytes between two ranges is cheaper than paying for another round trip.
+     */
+    private static final long READ_RANGES_DEFAULT_MAX_GAP_SIZE = Constants.MB;
+
+    static {
+        BlobQueryHelper.setAccessor((client, queryOptions, listedETag, context) ->
+            client.queryWithResponse(queryOptions, listedETag, context));
+    }
+
     private final ClientLogger logger = new ClientLogger(BlobAsyncClientBase.class);
 
     protected final AzureBlobStorageImpl azureBlobStorage;
@@ -920,11 +957,51 @@ public class BlobAsyncClientBase {
 
     Mono<BlobDownloadAsyncResponse> downloadWithResponse(BlobRange range, DownloadRetryOptions options,
         BlobRequestConditions requestConditions, boolean getRangeContentMd5, Context context) {
-        return downloadHelper(range, options, requestConditions, getRangeContentMd5, context)
+        // Retries resume from the ETag of the first response, so they must reach the endpoint which served it.
+        return downloadHelper(range, options, requestConditions, getRangeContentMd5,
+            SecondaryReadPolicy.startReadSession(context))
             .map(response -> new BlobDownloadAsyncResponse(response.getRequest(), response.getStatusCode(),
                 response.getHeaders(), response.getValue(), response.getDeserializedHeaders()));
     }
 
+    /**
+     * Reads the entire blob, decompressing it as it arrives if it was uploaded with
+     * {@link BlobParallelUploadOptions#setTransferCompression(TransferCompression) transfer compression}. Blobs whose
+     * {@code Content-Encoding} is not one this client can decode are returned as is.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * client.downloadDecompressedWithResponse&#40;null, null&#41;.subscribe&#40;response -&gt;
+     *     response.getValue&#40;&#41;.subscribe&#40;piece -&gt; System.out.printf&#40;&quot;Read %d bytes%n&quot;, piece.remaining&#40;&#41;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param options {@link DownloadRetryOptions}
+     * @param requestConditions {@link BlobRequestConditions}
+     * @return A reactive response containing the decompressed blob data. The headers describe the stored blob.
+     */
+    public Mono<BlobDownloadAsyncResponse> downloadDecompressedWithResponse(DownloadRetryOptions options,
+        BlobRequestConditions requestConditions) {
+        try {
+            return withContext(context -> downloadDecompressedWithResponse(options, requestConditions, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<BlobDownloadAsyncResponse> downloadDecompressedWithResponse(DownloadRetryOptions options,
+        BlobRequestConditions requestConditions, Context context) {
+        return downloadWithResponse(null, options, requestConditions, false, context)
+            .map(response -> TransferCompression.fromContentEncoding(
+                response.getDeserializedHeaders().getContentEncoding()) == null ? response
+                : new BlobDownloadAsyncResponse(response.getRequest(), response.getStatusCode(),
+                    response.getHeaders(), GzipUtils.decompress(response.getValue()),
+                    response.getDeserializedHeaders()));
+    }
+
     private Mono<ReliableDownload> downloadHelper(BlobRange range, DownloadRetryOptions options,
         BlobRequestConditions requestConditions, boolean getRangeContentMd5, Context context) {
         range = range == null ? new BlobRange(0) : range;
@@ -1091,10 +1168,64 @@ public class BlobAsyncClientBase {
         }
     }
 
+    /**
+     * Downloads the entire blob into a file specified by the path.
+     *
+     * <p>By default the file will be created and must not exist, if the file already exists a
+     * {@link FileAlreadyExistsException} will be thrown. If the size and etag of the blob are already known they may
+     * be passed with {@link BlobDownloadToFileOptions#setKnownItemProperties(BlobItemProperties)}, in which case every
+     * chunk is requested at once instead of waiting for the first chunk to discover them.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * containerClient.listBlobs&#40;&#41;.flatMap&#40;blob -&gt; containerClient.getBlobAsyncClient&#40;blob.getName&#40;&#41;&#41;
+     *     .downloadToFileWithResponse&#40;new BlobDownloadToFileOptions&#40;blob.getName&#40;&#41;&#41;
+     *         .setKnownItemProperties&#40;blob.getProperties&#40;&#41;&#41;&#41;&#41;
+     *     .subscribe&#40;response -&gt; System.out.println&#40;&quot;Completed download to file&quot;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param options {@link BlobDownloadToFileOptions}
+     * @return A reactive response containing the blob properties and metadata.
+     * @throws NullPointerException If {@code options} is null.
+     * @throws IllegalArgumentException If {@code blockSize} is less than 0 or greater than 4000MB.
+     * @throws UncheckedIOException If an I/O error occurs.
+     */
+    public Mono<Response<BlobProperties>> downloadToFileWithResponse(BlobDownloadToFileOptions options) {
+        try {
+            return withContext(context -> downloadToFileWithResponse(options, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<Response<BlobProperties>> downloadToFileWithResponse(BlobDownloadToFileOptions options, Context context) {
+        StorageImplUtils.assertNotNull("options", options);
+        return downloadToFileWithResponse(options.getFilePath(), options.getRange(),
+            options.getParallelTransferOptions(), options.getDownloadRetryOptions(), options.getRequestConditions(),
+            options.isRetrieveContentRangeMd5(), options.getOpenOptions(), options.getKnownBlobSize(),
+            options.getKnownETag(), options.isDecompress(), context);
+    }
+
     Mono<Response<BlobProperties>> downloadToFileWithResponse(String filePath, BlobRange range,
         ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
         BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Set<OpenOption> openOptions,
         Context context) {
+        return downloadToFileWithResponse(filePath, range, parallelTransferOptions, downloadRetryOptions,
+            requestConditions, rangeGetContentMd5, openOptions, null, null, false, context);
+    }
+
+    private Mono<Response<BlobProperties>> downloadToFileWithResponse(String filePath, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Set<OpenOption> openOptions,
+        Long knownBlobSize, String knownETag, boolean decompress, Context context) {
+        if (decompress && range != null) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("A range of the blob cannot be downloaded with decompression."));
+        }
         BlobRange finalRange = range == null ? new BlobRange(0) : range;
         final ParallelTransferOptions finalParallelTransferOptions =
             ModelHelper.populateAndApplyDefaults(parallelTransferOptions);
@@ -1111,11 +1242,24 @@ public class BlobAsyncClientBase {
 
         AsynchronousFileChannel channel = downloadToFileResourceSupplier(filePath, openOptions);
         return Mono.just(channel)
-            .flatMap(c -> this.downloadToFileImpl(c, finalRange, finalParallelTransferOptions,
-                downloadRetryOptions, finalConditions, rangeGetContentMd5, context))
+            .flatMap(c -> decompress
+                ? this.downloadDecompressedToFileImpl(c, downloadRetryOptions, finalConditions, context)
+                : this.downloadToFileImpl(c, finalRange, finalParallelTransferOptions, downloadRetryOptions,
+                    finalConditions, rangeGetContentMd5, knownBlobSize, knownETag, context))
             .doFinally(signalType -> this.downloadToFileCleanup(channel, filePath, signalType));
     }
 
+    /*
+     * Decompression must see the data in order, so a compressed blob is downloaded as a single stream and written
+     * sequentially rather than in parallel chunks.
+     */
+    private Mono<Response<BlobProperties>> downloadDecompressedToFileImpl(AsynchronousFileChannel file,
+        DownloadRetryOptions downloadRetryOptions, BlobRequestConditions requestConditions, Context context) {
+        return downloadDecompressedWithResponse(downloadRetryOptions, requestConditions, context)
+            .flatMap(response -> FluxUtil.writeFile(response.getValue(), file, 0)
+                .then(Mono.fromCallable(() -> buildBlobPropertiesResponse(response))));
+    }
+
     private AsynchronousFileChannel downloadToFileResourceSupplier(String filePath, Set<OpenOption> openOptions) {
         try {
             return AsynchronousFileChannel.open(Paths.get(filePath), openOptions, null);
@@ -1126,20 +1270,23 @@ public class BlobAsyncClientBase {
 
     private Mono<Response<BlobProperties>> downloadToFileImpl(AsynchronousFileChannel file, BlobRange finalRange,
         ParallelTransferOptions finalParallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
-        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Context context) {
+        BlobRequestConditions requestConditions, boolean rangeGetContentMd5, Long knownBlobSize, String knownETag,
+        Context context) {
         // See ProgressReporter for an explanation on why this lock is necessary and why we use AtomicLong.
         Lock progressLock = new ReentrantLock();
         AtomicLong totalProgress = new AtomicLong(0);
 
         /*
-         * Downloads the first chunk and gets the size of the data and etag if not specified by the user.
+         * Gets the size of the data and etag if not specified by the user, downloading the first chunk if they are not
+         * already known. Every chunk is locked to that etag, so every chunk is read from the same endpoint.
          */
+        Context readContext = SecondaryReadPolicy.startReadSession(context);
         BiFunction<BlobRange, BlobRequestConditions, Mono<BlobDownloadAsyncResponse>> downloadFunc =
             (range, conditions) -> this.downloadWithResponse(range, downloadRetryOptions, conditions,
-                rangeGetContentMd5, context);
+                rangeGetContentMd5, readContext);
 
-        return ChunkedDownloadUtils.downloadFirstChunk(finalRange, finalParallelTransferOptions, requestConditions,
-            downloadFunc, true)
+        return ChunkedDownloadUtils.setupDownload(finalRange, finalParallelTransferOptions, requestConditions,
+            knownBlobSize, knownETag, downloadFunc, true)
             .flatMap(setupTuple3 -> {
                 long newCount = setupTuple3.getT1();
                 BlobRequestConditions finalConditions = setupTuple3.getT2();
@@ -1150,15 +1297,22 @@ public class BlobAsyncClientBase {
                 // In case it is an empty blob, this ensures we still actually perform a download operation.
                 numChunks = numChunks == 0 ? 1 : numChunks;
 
-                BlobDownloadAsyncResponse initialResponse = setupTuple3.getT3();
+                // When the size was known up front the first chunk is downloaded alongside the others.
+                BlobDownloadAsyncResponse initialResponse = setupTuple3.getT3().orElse(null);
+                AtomicReference<BlobDownloadAsyncResponse> firstResponse = new AtomicReference<>(initialResponse);
                 return Flux.range(0, numChunks)
                     .flatMap(chunkNum -> ChunkedDownloadUtils.downloadChunk(chunkNum, initialResponse,
                         finalRange, finalParallelTransferOptions, finalConditions, newCount, downloadFunc,
-                        response -> writeBodyToFile(response, file, chunkNum, finalParallelTransferOptions,
-                            progressLock, totalProgress).flux()), finalParallelTransferOptions.getMaxConcurrency())
+                        response -> {
+                            if (chunkNum == 0) {
+                                firstResponse.set(response);
+                            }
+                            return writeBodyToFile(response, file, chunkNum, finalParallelTransferOptions,
+                                progressLock, totalProgress).flux();
+                        }), finalParallelTransferOptions.getMaxConcurrency())
 
                     // Only the first download call returns a value.
-                    .then(Mono.just(buildBlobPropertiesResponse(initialResponse)));
+                    .then(Mono.fromCallable(() -> buildBlobPropertiesResponse(firstResponse.get())));
             });
     }
 
@@ -1221,6 +1375,376 @@ public class BlobAsyncClientBase {
         }
     }
 
+    /**
+     * Downloads a range of the blob directly into the given buffer, starting at its current position. The range is
+     * downloaded in parallel chunks and each chunk is written at its own offset in the buffer, so no intermediate
+     * buffers are allocated. Both heap and direct buffers are supported.
+     *
+     * <p>On success the position of {@code target} is advanced by the number of bytes downloaded. On failure the
+     * contents of the buffer between its position and limit are undefined.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * ByteBuffer target = ByteBuffer.allocateDirect&#40;8 * Constants.MB&#41;;
+     * client.downloadInto&#40;target, new BlobRange&#40;0, 8L * Constants.MB&#41;, null&#41;
+     *     .subscribe&#40;properties -&gt; System.out.printf&#40;&quot;Downloaded %d bytes%n&quot;, target.position&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param target The buffer into which the data will be written. It must be writable and have enough space
+     * remaining to hold the range.
+     * @param range {@link BlobRange}
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download into the buffer.
+     * @return A reactive response containing the blob properties and metadata.
+     * @throws IllegalArgumentException If {@code target} is read-only or has too little space remaining.
+     */
+    public Mono<BlobProperties> downloadInto(ByteBuffer target, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions) {
+        try {
+            return downloadIntoWithResponse(target, range, parallelTransferOptions, null, null)
+                .flatMap(FluxUtil::toMono);
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    /**
+     * Downloads a range of the blob directly into the given buffer, starting at its current position. The range is
+     * downloaded in parallel chunks and each chunk is written at its own offset in the buffer, so no intermediate
+     * buffers are allocated. Both heap and direct buffers are supported.
+     *
+     * <p>On success the position of {@code target} is advanced by the number of bytes downloaded. On failure the
+     * contents of the buffer between its position and limit are undefined.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * ByteBuffer target = ByteBuffer.allocateDirect&#40;8 * Constants.MB&#41;;
+     * DownloadRetryOptions downloadRetryOptions = new DownloadRetryOptions&#40;&#41;.setMaxRetryRequests&#40;5&#41;;
+     *
+     * client.downloadIntoWithResponse&#40;target, new BlobRange&#40;0, 8L * Constants.MB&#41;,
+     *     new ParallelTransferOptions&#40;&#41;.setBlockSizeLong&#40;Constants.MB&#41;, downloadRetryOptions, null&#41;
+     *     .subscribe&#40;response -&gt; System.out.printf&#40;&quot;Downloaded %d bytes%n&quot;, target.position&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param target The buffer into which the data will be written. It must be writable and have enough space
+     * remaining to hold the range.
+     * @param range {@link BlobRange}
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download into the buffer.
+     * @param downloadRetryOptions {@link DownloadRetryOptions}
+     * @param requestConditions {@link BlobRequestConditions}
+     * @return A reactive response containing the blob properties and metadata.
+     * @throws IllegalArgumentException If {@code target} is read-only or has too little space remaining.
+     */
+    public Mono<Response<BlobProperties>> downloadIntoWithResponse(ByteBuffer target, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions) {
+        try {
+            return withContext(context -> downloadIntoWithResponse(target, range, parallelTransferOptions,
+                downloadRetryOptions, requestConditions, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    /**
+     * Downloads a range of the blob directly into the given buffer, starting at its current position. The range is
+     * downloaded in parallel chunks and each chunk is written at its own offset in the buffer, so no intermediate
+     * buffers are allocated. If the size and etag of the blob are already known they may be passed with
+     * {@link BlobDownloadIntoOptions#setKnownItemProperties(BlobItemProperties)}, in which case every chunk is
+     * requested at once instead of waiting for the first chunk to discover them.
+     *
+     * <p>On success the position of the target buffer is advanced by the number of bytes downloaded. On failure the
+     * contents of the buffer between its position and limit are undefined.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * long size = blob.getProperties&#40;&#41;.getContentLength&#40;&#41;;
+     * ByteBuffer target = ByteBuffer.allocateDirect&#40;&#40;int&#41; size&#41;;
+     * client.downloadIntoWithResponse&#40;new BlobDownloadIntoOptions&#40;target&#41;
+     *     .setKnownItemProperties&#40;blob.getProperties&#40;&#41;&#41;&#41;
+     *     .subscribe&#40;response -&gt;
+     *         System.out.printf&#40;&quot;Downloaded %d bytes%n&quot;, target.position&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param options {@link BlobDownloadIntoOptions}
+     * @return A reactive response containing the blob properties and metadata.
+     * @throws NullPointerException If {@code options} is null.
+     * @throws IllegalArgumentException If the target buffer is read-only or has too little space remaining.
+     */
+    public Mono<Response<BlobProperties>> downloadIntoWithResponse(BlobDownloadIntoOptions options) {
+        try {
+            return withContext(context -> downloadIntoWithResponse(options, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<Response<BlobProperties>> downloadIntoWithResponse(BlobDownloadIntoOptions options, Context context) {
+        StorageImplUtils.assertNotNull("options", options);
+        return downloadIntoWithResponse(options.getTarget(), options.getRange(), options.getParallelTransferOptions(),
+            options.getDownloadRetryOptions(), options.getRequestConditions(), options.getKnownBlobSize(),
+            options.getKnownETag(), context);
+    }
+
+    Mono<Response<BlobProperties>> downloadIntoWithResponse(ByteBuffer target, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions, Context context) {
+        return downloadIntoWithResponse(target, range, parallelTransferOptions, downloadRetryOptions,
+            requestConditions, null, null, context);
+    }
+
+    private Mono<Response<BlobProperties>> downloadIntoWithResponse(ByteBuffer target, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions, Long knownBlobSize, String knownETag, Context context) {
+        StorageImplUtils.assertNotNull("target", target);
+        if (target.isReadOnly()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'target' must be writable."));
+        }
+        BlobRange finalRange = range == null ? new BlobRange(0) : range;
+        if (finalRange.getCount() != null && finalRange.getCount() > target.remaining()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                "'target' does not have enough space remaining to hold the requested range."));
+        }
+        final ParallelTransferOptions finalParallelTransferOptions =
+            ModelHelper.populateAndApplyDefaults(parallelTransferOptions);
+        BlobRequestConditions finalConditions = requestConditions == null
+            ? new BlobRequestConditions() : requestConditions;
+
+        // See ProgressReporter for an explanation on why this lock is necessary and why we use AtomicLong.
+        Lock progressLock = new ReentrantLock();
+        AtomicLong totalProgress = new AtomicLong(0);
+        int basePosition = target.position();
+
+        Context readContext = SecondaryReadPolicy.startReadSession(context);
+        BiFunction<BlobRange, BlobRequestConditions, Mono<BlobDownloadAsyncResponse>> downloadFunc =
+            (chunkRange, conditions) -> this.downloadWithResponse(chunkRange, downloadRetryOptions, conditions,
+                false, readContext);
+
+        return ChunkedDownloadUtils.setupDownload(finalRange, finalParallelTransferOptions, finalConditions,
+            knownBlobSize, knownETag, downloadFunc, true)
+            .flatMap(setupTuple3 -> {
+                long newCount = setupTuple3.getT1();
+                BlobRequestConditions eTagConditions = setupTuple3.getT2();
+
+                // When the size was known up front the first chunk is downloaded alongside the others.
+                BlobDownloadAsyncResponse initialResponse = setupTuple3.getT3().orElse(null);
+                AtomicReference<BlobDownloadAsyncResponse> firstResponse = new AtomicReference<>(initialResponse);
+
+                // The size of the range is only known for certain once the first chunk has been downloaded.
+                if (newCount > target.remaining()) {
+                    return monoError(logger, new IllegalArgumentException(
+                        "'target' does not have enough space remaining to hold the blob."));
+                }
+
+                long blockSize = finalParallelTransferOptions.getBlockSizeLong();
+                int numChunks = ChunkedDownloadUtils.calculateNumBlocks(newCount, blockSize);
+
+                // In case it is an empty blob, this ensures we still actually perform a download operation.
+                numChunks = numChunks == 0 ? 1 : numChunks;
+
+                return Flux.range(0, numChunks)
+                    .flatMap(chunkNum -> ChunkedDownloadUtils.downloadChunk(chunkNum, initialResponse,
+                        finalRange, finalParallelTransferOptions, eTagConditions, newCount, downloadFunc,
+                        response -> {
+                            if (chunkNum == 0) {
+                                firstResponse.set(response);
+                            }
+                            return writeBodyToBuffer(response, target, basePosition + chunkNum * blockSize,
+                                Math.min(blockSize, newCount - chunkNum * blockSize), finalParallelTransferOptions,
+                                progressLock, totalProgress).flux();
+                        }), finalParallelTransferOptions.getMaxConcurrency())
+                    .then(Mono.fromCallable(() -> {
+                        target.position(basePosition + (int) newCount);
+                        return buildBlobPropertiesResponse(firstResponse.get());
+                    }));
+            });
+    }
+
+    private static Mono<Void> writeBodyToBuffer(BlobDownloadAsyncResponse response, ByteBuffer target,
+        long chunkPosition, long chunkSize, ParallelTransferOptions finalParallelTransferOptions, Lock progressLock,
+        AtomicLong totalProgress) {
+
+        // Report progress as necessary.
+        Flux<ByteBuffer> data = ProgressReporter.addParallelProgressReporting(response.getValue(),
+            finalParallelTransferOptions.getProgressReceiver(), progressLock, totalProgress);
+
+        /*
+        Each chunk writes through its own view of the target so chunks can be written concurrently without touching
+        the position of the caller's buffer. Buffers within a chunk arrive in order, including after a retry, so the
+        view's position tracks where the next buffer belongs.
+         */
+        return Mono.fromCallable(() -> {
+            ByteBuffer view = target.duplicate();
+            view.limit((int) (chunkPosition + chunkSize));
+            view.position((int) chunkPosition);
+            return view;
+        }).flatMap(view -> data.doOnNext(view::put).then());
+    }
+
+    /**
+     * Reads several ranges of the blob. Ranges that are close to each other are coalesced into a single request and
+     * the coalesced requests are issued in parallel.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * List&lt;BlobRange&gt; ranges = Arrays.asList&#40;new BlobRange&#40;0, 1024L&#41;, new BlobRange&#40;4096, 512L&#41;&#41;;
+     * client.readRanges&#40;ranges&#41;.subscribe&#40;buffers -&gt;
+     *     System.out.printf&#40;&quot;Read %d ranges%n&quot;, buffers.size&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param ranges The ranges to read. Every range must specify a count.
+     * @return A reactive response containing one buffer per requested range, in the order the ranges were given.
+     */
+    public Mono<List<ByteBuffer>> readRanges(List<BlobRange> ranges) {
+        try {
+            return readRanges(new BlobReadRangesOptions(ranges));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    /**
+     * Reads several ranges of the blob. Ranges that are close to each other are coalesced into a single request and
+     * the coalesced requests are issued in parallel.
+     *
+     * <p>The returned buffers are views over the data read by each coalesced request, so ranges that overlap share
+     * memory. If no ETag condition is given, the coalesced requests sent once the first has returned are made
+     * conditional on its ETag, and the read fails with an {@link IllegalStateException} when the blob is modified
+     * between coalesced requests. A failure of the given request conditions is reported as the
+     * {@link BlobStorageException} the service returned.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * List&lt;BlobRange&gt; ranges = Arrays.asList&#40;new BlobRange&#40;0, 1024L&#41;, new BlobRange&#40;4096, 512L&#41;&#41;;
+     * BlobReadRangesOptions options = new BlobReadRangesOptions&#40;ranges&#41;
+     *     .setMaxGapSize&#40;64L * Constants.KB&#41;
+     *     .setMaxConcurrency&#40;4&#41;;
+     *
+     * client.readRanges&#40;options&#41;.subscribe&#40;buffers -&gt;
+     *     System.out.printf&#40;&quot;Read %d ranges%n&quot;, buffers.size&#40;&#41;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param options {@link BlobReadRangesOptions}
+     * @return A reactive response containing one buffer per requested range, in the order the ranges were given.
+     */
+    public Mono<List<ByteBuffer>> readRanges(BlobReadRangesOptions options) {
+        try {
+            return withContext(context -> readRanges(options, context));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    Mono<List<ByteBuffer>> readRanges(BlobReadRangesOptions options, Context context) {
+        StorageImplUtils.assertNotNull("options", options);
+        List<BlobRange> ranges = options.getRanges();
+        long maxGapSize = options.getMaxGapSize() == null
+            ? READ_RANGES_DEFAULT_MAX_GAP_SIZE : options.getMaxGapSize();
+        long maxMergedRangeSize = options.getMaxMergedRangeSize() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_UPLOAD_BLOCK_SIZE : options.getMaxMergedRangeSize();
+        int maxConcurrency = options.getMaxConcurrency() == null
+            ? BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS : options.getMaxConcurrency();
+        BlobRequestConditions requestConditions = options.getRequestConditions() == null
+            ? new BlobRequestConditions() : options.getRequestConditions();
+
+        List<RangeCoalescingUtils.CoalescedRange> coalescedRanges =
+            RangeCoalescingUtils.coalesce(ranges, maxGapSize, maxMergedRangeSize);
+        for (RangeCoalescingUtils.CoalescedRange coalescedRange : coalescedRanges) {
+            if (coalescedRange.getCount() > Integer.MAX_VALUE) {
+                throw logger.logExceptionAsError(new IllegalArgumentException(
+                    "A range passed to readRanges cannot be larger than " + Integer.MAX_VALUE + " bytes."));
+            }
+        }
+
+        ByteBuffer[] results = new ByteBuffer[ranges.size()];
+        Set<String> eTags = ConcurrentHashMap.newKeySet();
+
+        /*
+        Without an If-Match condition, the requests sent once the first response has arrived are locked to its ETag so
+        that a modified blob fails them straight away rather than once every range has been read.
+         */
+        boolean lockETag = requestConditions.getIfMatch() == null;
+        AtomicReference<String> firstETag = new AtomicReference<>();
+        Context readContext = SecondaryReadPolicy.startReadSession(context);
+
+        // A coalesced range is only mapped to its request once the request can be sent.
+        return Flux.fromIterable(coalescedRanges)
+            .flatMap(coalescedRange -> {
+                String eTag = firstETag.get();
+                boolean lockedToETag = lockETag && eTag != null;
+                BlobRequestConditions conditions = lockedToETag
+                    ? copyWithIfMatch(requestConditions, eTag) : requestConditions;
+                return downloadWithResponse(coalescedRange.toBlobRange(), options.getDownloadRetryOptions(),
+                    conditions, false, readContext)
+                    .onErrorMap(error -> lockedToETag && isConditionNotMet(error),
+                        error -> logger.logExceptionAsError(new IllegalStateException(
+                            "Blob was modified while its ranges were being read.", error)))
+                    .flatMap(response -> {
+                        String responseETag = response.getDeserializedHeaders().getETag();
+                        firstETag.compareAndSet(null, responseETag);
+                        eTags.add(responseETag);
+                        return response.getValue()
+                            .reduceWith(() -> ByteBuffer.allocate((int) coalescedRange.getCount()),
+                                (target, buffer) -> target.put(buffer));
+                    })
+                    .doOnNext(data -> {
+                        data.flip();
+                        RangeCoalescingUtils.slice(coalescedRange, data, ranges, results);
+                    });
+            }, maxConcurrency)
+            .then(Mono.fromCallable(() -> {
+                /*
+                Without an If-Match condition each coalesced request may observe a different version of the blob. Fail
+                rather than hand back a mix of versions.
+                 */
+                if (eTags.size() > 1) {
+                    throw logger.logExceptionAsError(new IllegalStateException(
+                        "Blob was modified while its ranges were being read."));
+                }
+                return RangeCoalescingUtils.collectResults(results);
+            }));
+    }
+
+    /*
+     * The caller's conditions held for the first coalesced request, so a request locked to the ETag it returned which
+     * then fails with ConditionNotMet has seen a modified blob. Any other failure, such as a lease mismatch or a
+     * condition failing on a request sent before the ETag was known, is the caller's and is left as it is.
+     */
+    private static boolean isConditionNotMet(Throwable error) {
+        return error instanceof BlobStorageException
+            && ((BlobStorageException) error).getStatusCode() == 412
+            && BlobErrorCode.CONDITION_NOT_MET.equals(((BlobStorageException) error).getErrorCode());
+    }
+
+    private static BlobRequestConditions copyWithIfMatch(BlobRequestConditions requestConditions, String eTag) {
+        return new BlobRequestConditions()
+            .setLeaseId(requestConditions.getLeaseId())
+            .setIfModifiedSince(requestConditions.getIfModifiedSince())
+            .setIfUnmodifiedSince(requestConditions.getIfUnmodifiedSince())
+            .setIfNoneMatch(requestConditions.getIfNoneMatch())
+            .setTagsConditions(requestConditions.getTagsConditions())
+            .setIfMatch(eTag);
+    }
+
     /**
      * Deletes the specified blob or snapshot. Note that deleting a blob also deletes all its snapshots.
      *
@@ -1941,7 +2465,7 @@ public class BlobAsyncClientBase {
     public String generateSas(BlobServiceSasSignatureValues blobServiceSasSignatureValues) {
         return new BlobSasImplUtil(blobServiceSasSignatureValues, getContainerName(), getBlobName(),
             getSnapshotId(), getVersionId())
-            .generateSas(SasImplUtils.extractSharedKeyCredential(getHttpPipeline()));
+            .generateSas(SharedKeySigningPolicy.extractSharedKeyCredential(getHttpPipeline()));
     }
 
     /**
@@ -2026,31 +2550,144 @@ public class BlobAsyncClientBase {
     }
 
     Mono<BlobQueryAsyncResponse> queryWithResponse(BlobQueryOptions queryOptions, Context context) {
+        return queryWithResponse(queryOptions, null, context);
+    }
+
+    /*
+     * A container query passes the ETag its listing returned for the blob, under which cached output is looked up
+     * without fetching the properties of the blob again.
+     */
+    Mono<BlobQueryAsyncResponse> queryWithResponse(BlobQueryOptions queryOptions, String listedETag,
+        Context context) {
         StorageImplUtils.assertNotNull("queryOptions", queryOptions);
         BlobRequestConditions requestConditions = queryOptions.getRequestConditions() == null
             ? new BlobRequestConditions() : queryOptions.getRequestConditions();
 
-        QuerySerialization in = BlobQueryReader.transformSerialization(queryOptions.getInputSerialization(),
+        QuerySerialization in = BlobQueryReader.transformInputSerialization(queryOptions.getInputSerialization(),
             logger);
         QuerySerialization out = BlobQueryReader.transformSerialization(queryOptions.getOutputSerialization(),
             logger);
+        boolean arrowOutput = queryOptions.getOutputSerialization() instanceof BlobQueryArrowSerialization;
+        if (arrowOutput && serviceVersion.ordinal() < BlobServiceVersion.V2020_02_10.ordinal()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(
+                "%s requires service version %s or later.", BlobQueryArrowSerialization.class.getSimpleName(),
+                BlobServiceVersion.V2020_02_10.getVersion())));
+        }
 
         QueryRequest qr = new QueryRequest()
             .setExpression(queryOptions.getExpression())
             .setInputSerialization(in)
             .setOutputSerialization(out);
 
+        if (queryOptions.getCache() != null) {
+            return cachedQueryWithResponse(qr, queryOptions, requestConditions, arrowOutput, listedETag, context);
+        }
+        return sendQuery(qr, requestConditions, queryOptions.getProgressConsumer(), queryOptions.getErrorConsumer(),
+            arrowOutput, context);
+    }
+
+    private Mono<BlobQueryAsyncResponse> sendQuery(QueryRequest qr, BlobRequestConditions requestConditions,
+        Consumer<BlobQueryProgress> progressConsumer, Consumer<BlobQueryError> errorConsumer, boolean arrowOutput,
+        Context context) {
         return this.azureBlobStorage.blobs().queryWithRestResponseAsync(null, null, qr,
             getSnapshotId(), null, requestConditions.getLeaseId(), requestConditions.getIfModifiedSince(),
             requestConditions.getIfUnmodifiedSince(), requestConditions.getIfMatch(),
             requestConditions.getIfNoneMatch(), requestConditions.getTagsConditions(), null,
             getCustomerProvidedKey(), context)
-            .map(response -> new BlobQueryAsyncResponse(response.getRequest(), response.getStatusCode(),
-                response.getHeaders(),
+            .map(response -> {
                 /* Parse the avro reactive stream. */
-                new BlobQueryReader(response.getValue(), queryOptions.getProgressConsumer(),
-                    queryOptions.getErrorConsumer())
-                    .read(),
-                response.getDeserializedHeaders()));
+                Flux<ByteBuffer> data = new BlobQueryReader(response.getValue(), progressConsumer, errorConsumer)
+                    .read();
+                return new BlobQueryAsyncResponse(response.getRequest(), response.getStatusCode(),
+                    response.getHeaders(), arrowOutput ? ArrowStreamUtils.frameMessages(data) : data,
+                    response.getDeserializedHeaders());
+            });
+    }
+
+    /*
+     * Looks the query up in the cache under the current ETag of the blob. Unless a container query passes the ETag its
+     * listing just returned, the properties of the blob are first fetched under the request conditions, so that they
+     * are checked and the ETag is current even when output is served from the cache. On a miss the query is locked to
+     * that ETag so that the output cached under it is consistent. Output is cached per customer provided key and
+     * encryption scope, so it is only served to clients which could have read it from the blob.
+     */
+    private Mono<BlobQueryAsyncResponse> cachedQueryWithResponse(QueryRequest qr, BlobQueryOptions queryOptions,
+        BlobRequestConditions requestConditions, boolean arrowOutput, String listedETag, Context context) {
+        BlobQueryCache cache = queryOptions.getCache();
+        Mono<Response<BlobQueryHeaders>> validation = listedETag != null
+            ? Mono.fromCallable(() -> new SimpleResponse<>(new HttpRequest(HttpMethod.POST,
+                UrlBuilder.parse(getBlobUrl()).setQueryParameter("comp", "query").toString()), 200,
+                new HttpHeaders().put("ETag", listedETag), new BlobQueryHeaders().setETag(listedETag)))
+            : getPropertiesWithResponse(requestConditions, context)
+                .map(response -> new SimpleResponse<>(response.getRequest(), response.getStatusCode(),
+                    toCachedQueryHttpHeaders(response.getHeaders()),
+                    toCachedQueryHeaders(response.getHeaders(), response.getValue())));
+
+        return validation.flatMap(validated -> {
+            String currentETag = validated.getValue().getETag();
+            String key = BlobQueryCache.computeKey(getBlobUrl(), currentETag, customerProvidedKey == null ? null
+                : customerProvidedKey.getEncryptionKeySha256(), getEncryptionScope(), qr);
+            return cache.get(key)
+                .map(data -> new BlobQueryAsyncResponse(validated.getRequest(), 200, validated.getHeaders(),
+                    arrowOutput ? ArrowStreamUtils.frameMessages(data) : data,
+                    validated.getValue()))
+                .switchIfEmpty(Mono.defer(() -> {
+                    AtomicBoolean errorReported = new AtomicBoolean();
+                    Consumer<BlobQueryError> errorConsumer = queryOptions.getErrorConsumer() == null ? null
+                        : error -> {
+                            errorReported.set(true);
+                            queryOptions.getErrorConsumer().accept(error);
+                        };
+                    BlobRequestConditions lockedConditions = new BlobRequestConditions()
+                        .setLeaseId(requestConditions.getLeaseId())
+                        .setIfModifiedSince(requestConditions.getIfModifiedSince())
+                        .setIfUnmodifiedSince(requestConditions.getIfUnmodifiedSince())
+                        .setIfNoneMatch(requestConditions.getIfNoneMatch())
+                        .setTagsConditions(requestConditions.getTagsConditions())
+                        .setIfMatch(currentETag);
+
+                    return sendQuery(qr, lockedConditions, queryOptions.getProgressConsumer(), errorConsumer,
+                        arrowOutput, context)
+                        .map(response -> new BlobQueryAsyncResponse(response.getRequest(),
+                            response.getStatusCode(), response.getHeaders(),
+                            cache.record(key, response.getValue(), () -> !errorReported.get()),
+                            response.getDeserializedHeaders()));
+                }));
+        });
+    }
+
+    /*
+     * The headers of the properties response which describe the blob rather than the body of that response.
+     */
+    private static HttpHeaders toCachedQueryHttpHeaders(HttpHeaders headers) {
+        HttpHeaders cachedHeaders = new HttpHeaders(headers);
+        cachedHeaders.remove("Content-Length");
+        cachedHeaders.remove("Content-Type");
+        cachedHeaders.remove("Content-MD5");
+        cachedHeaders.remove("Content-Encoding");
+        cachedHeaders.remove("Content-Range");
+        cachedHeaders.remove("Accept-Ranges");
+        return cachedHeaders;
+    }
+
+    private static BlobQueryHeaders toCachedQueryHeaders(HttpHeaders headers, BlobProperties properties) {
+        String date = headers.getValue("Date");
+        return new BlobQueryHeaders()
+            .setETag(properties.getETag())
+            .setLastModified(properties.getLastModified())
+            .setMetadata(properties.getMetadata())
+            .setBlobType(properties.getBlobType())
+            .setBlobSequenceNumber(properties.getBlobSequenceNumber())
+            .setBlobCommittedBlockCount(properties.getCommittedBlockCount())
+            .setLeaseDuration(properties.getLeaseDuration())
+            .setLeaseState(properties.getLeaseState())
+            .setLeaseStatus(properties.getLeaseStatus())
+            .setServerEncrypted(properties.isServerEncrypted())
+            .setEncryptionKeySha256(properties.getEncryptionKeySha256())
+            .setEncryptionScope(properties.getEncryptionScope())
+            .setClientRequestId(headers.getValue("x-ms-client-request-id"))
+            .setRequestId(headers.getValue("x-ms-request-id"))
+            .setVersion(headers.getValue("x-ms-version"))
+            .setDateProperty(date == null ? null : new DateTimeRfc1123(date).getDateTime());
     }
 }
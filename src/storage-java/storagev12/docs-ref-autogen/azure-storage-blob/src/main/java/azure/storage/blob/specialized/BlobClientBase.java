@@ -22,9 +22,13 @@ import com.azure.storage.blob.models.AccessTier;
 import com.azure.storage.blob.models.BlobCopyInfo;
 import com.azure.storage.blob.models.BlobDownloadResponse;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobItemProperties;
 import com.azure.storage.blob.models.BlobQueryAsyncResponse;
 import com.azure.storage.blob.options.BlobGetTagsOptions;
 import com.azure.storage.blob.options.BlobQueryOptions;
+import com.azure.storage.blob.options.BlobDownloadIntoOptions;
+import com.azure.storage.blob.options.BlobDownloadToFileOptions;
+import com.azure.storage.blob.options.BlobReadRangesOptions;
 import com.azure.storage.blob.models.BlobQueryResponse;
 import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.BlobRequestConditions;
@@ -35,6 +39,7 @@ import com.azure.storage.blob.models.DownloadRetryOptions;
 import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.models.RehydratePriority;
 import com.azure.storage.blob.models.StorageAccountInfo;
+import com.azure.storage.blob.models.TransferCompression;
 import com.azure.storage.blob.models.UserDelegationKey;
 import com.azure.storage.blob.options.BlobSetAccessTierOptions;
 import com.azure.storage.blob.options.BlobSetTagsOptions;
@@ -50,14 +55,17 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static com.azure.storage.common.implementation.StorageImplUtils.blockWithOptionalTimeout;
 
@@ -241,6 +249,29 @@ public class BlobClientBase {
         return new BlobInputStream(client, range.getOffset(), range.getCount(), requestConditions);
     }
 
+    /**
+     * Opens an input stream which reads the entire blob, decompressing it as it is read if it was uploaded with
+     * {@link com.azure.storage.blob.options.BlobParallelUploadOptions#setTransferCompression(TransferCompression)
+     * transfer compression}. Blobs whose {@code Content-Encoding} is not one this client can decode are read as is.
+     *
+     * @param requestConditions An {@link BlobRequestConditions} object that represents the access conditions for the
+     * blob.
+     * @return An <code>InputStream</code> object that represents the stream to use for reading from the blob.
+     * @throws BlobStorageException If a storage service error occurred.
+     * @throws UncheckedIOException If the blob is not in the format given by its {@code Content-Encoding}.
+     */
+    public final InputStream openDecompressedInputStream(BlobRequestConditions requestConditions) {
+        BlobInputStream blobStream = openInputStream(new BlobRange(0), requestConditions);
+        if (TransferCompression.fromContentEncoding(blobStream.getProperties().getContentEncoding()) == null) {
+            return blobStream;
+        }
+        try {
+            return new GZIPInputStream(blobStream);
+        } catch (IOException ex) {
+            throw logger.logExceptionAsError(new UncheckedIOException(ex));
+        }
+    }
+
     /**
      * Gets if the blob this client represents exists in the cloud.
      *
@@ -587,6 +618,48 @@ public class BlobClientBase {
         return blockWithOptionalTimeout(download, timeout);
     }
 
+    /**
+     * Downloads the entire blob into an output stream, decompressing it as it arrives if it was uploaded with
+     * {@link com.azure.storage.blob.options.BlobParallelUploadOptions#setTransferCompression(TransferCompression)
+     * transfer compression}. Blobs whose {@code Content-Encoding} is not one this client can decode are written as is.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * System.out.printf&#40;&quot;Download completed with status %d%n&quot;,
+     *     client.downloadDecompressedWithResponse&#40;new ByteArrayOutputStream&#40;&#41;, null, null, timeout,
+     *         new Context&#40;key2, value2&#41;&#41;.getStatusCode&#40;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param stream A non-null {@link OutputStream} instance where the decompressed data will be written.
+     * @param options {@link DownloadRetryOptions}
+     * @param requestConditions {@link BlobRequestConditions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A response containing status code and HTTP headers. The headers describe the stored blob.
+     * @throws UncheckedIOException If an I/O error occurs.
+     * @throws NullPointerException if {@code stream} is null
+     */
+    public BlobDownloadResponse downloadDecompressedWithResponse(OutputStream stream, DownloadRetryOptions options,
+        BlobRequestConditions requestConditions, Duration timeout, Context context) {
+        StorageImplUtils.assertNotNull("stream", stream);
+        Mono<BlobDownloadResponse> download = client
+            .downloadDecompressedWithResponse(options, requestConditions, context)
+            .flatMap(response -> response.getValue().reduce(stream, (outputStream, buffer) -> {
+                try {
+                    outputStream.write(FluxUtil.byteBufferToArray(buffer));
+                    return outputStream;
+                } catch (IOException ex) {
+                    throw logger.logExceptionAsError(Exceptions.propagate(new UncheckedIOException(ex)));
+                }
+            }).thenReturn(new BlobDownloadResponse(response)));
+
+        return blockWithOptionalTimeout(download, timeout);
+    }
+
     /**
      * Downloads the entire blob into a file specified by the path.
      *
@@ -731,6 +804,205 @@ public class BlobClientBase {
         return blockWithOptionalTimeout(download, timeout);
     }
 
+    /**
+     * Downloads the entire blob into a file specified by the path.
+     *
+     * <p>By default the file will be created and must not exist, if the file already exists a
+     * {@link FileAlreadyExistsException} will be thrown. If the size and etag of the blob are already known they may
+     * be passed with {@link BlobDownloadToFileOptions#setKnownItemProperties(BlobItemProperties)}, in which case every
+     * chunk is requested at once instead of waiting for the first chunk to discover them.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * for &#40;BlobItem blob : containerClient.listBlobs&#40;&#41;&#41; &#123;
+     *     containerClient.getBlobClient&#40;blob.getName&#40;&#41;&#41;.downloadToFileWithResponse&#40;
+     *         new BlobDownloadToFileOptions&#40;blob.getName&#40;&#41;&#41;
+     *             .setKnownItemProperties&#40;blob.getProperties&#40;&#41;&#41;,
+     *         timeout, new Context&#40;key2, value2&#41;&#41;;
+     * &#125;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param options {@link BlobDownloadToFileOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A response containing the blob properties and metadata.
+     * @throws NullPointerException If {@code options} is null.
+     * @throws UncheckedIOException If an I/O error occurs.
+     */
+    public Response<BlobProperties> downloadToFileWithResponse(BlobDownloadToFileOptions options, Duration timeout,
+        Context context) {
+        Mono<Response<BlobProperties>> download = client.downloadToFileWithResponse(options, context);
+        return blockWithOptionalTimeout(download, timeout);
+    }
+
+    /**
+     * Downloads a range of the blob directly into the given buffer, starting at its current position. The range is
+     * downloaded in parallel chunks and each chunk is written at its own offset in the buffer, so no intermediate
+     * buffers are allocated. Both heap and direct buffers are supported.
+     *
+     * <p>On success the position of {@code target} is advanced by the number of bytes downloaded. On failure the
+     * contents of the buffer between its position and limit are undefined.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * ByteBuffer target = ByteBuffer.allocateDirect&#40;8 * Constants.MB&#41;;
+     * client.downloadInto&#40;target, new BlobRange&#40;0, 8L * Constants.MB&#41;, null&#41;;
+     * System.out.printf&#40;&quot;Downloaded %d bytes%n&quot;, target.position&#40;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param target The buffer into which the data will be written. It must be writable and have enough space
+     * remaining to hold the range.
+     * @param range {@link BlobRange}
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download into the buffer.
+     * @return The blob properties and metadata.
+     * @throws IllegalArgumentException If {@code target} is read-only or has too little space remaining.
+     */
+    public BlobProperties downloadInto(ByteBuffer target, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions) {
+        return downloadIntoWithResponse(target, range, parallelTransferOptions, null, null, null, Context.NONE)
+            .getValue();
+    }
+
+    /**
+     * Downloads a range of the blob directly into the given buffer, starting at its current position. The range is
+     * downloaded in parallel chunks and each chunk is written at its own offset in the buffer, so no intermediate
+     * buffers are allocated. Both heap and direct buffers are supported.
+     *
+     * <p>On success the position of {@code target} is advanced by the number of bytes downloaded. On failure the
+     * contents of the buffer between its position and limit are undefined.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * ByteBuffer target = ByteBuffer.allocateDirect&#40;8 * Constants.MB&#41;;
+     * DownloadRetryOptions downloadRetryOptions = new DownloadRetryOptions&#40;&#41;.setMaxRetryRequests&#40;5&#41;;
+     *
+     * client.downloadIntoWithResponse&#40;target, new BlobRange&#40;0, 8L * Constants.MB&#41;,
+     *     new ParallelTransferOptions&#40;&#41;.setBlockSizeLong&#40;Constants.MB&#41;, downloadRetryOptions, null, timeout,
+     *     new Context&#40;key2, value2&#41;&#41;;
+     * System.out.printf&#40;&quot;Downloaded %d bytes%n&quot;, target.position&#40;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param target The buffer into which the data will be written. It must be writable and have enough space
+     * remaining to hold the range.
+     * @param range {@link BlobRange}
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to use to download into the buffer.
+     * @param downloadRetryOptions {@link DownloadRetryOptions}
+     * @param requestConditions {@link BlobRequestConditions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A response containing the blob properties and metadata.
+     * @throws IllegalArgumentException If {@code target} is read-only or has too little space remaining.
+     */
+    public Response<BlobProperties> downloadIntoWithResponse(ByteBuffer target, BlobRange range,
+        ParallelTransferOptions parallelTransferOptions, DownloadRetryOptions downloadRetryOptions,
+        BlobRequestConditions requestConditions, Duration timeout, Context context) {
+        Mono<Response<BlobProperties>> download = client.downloadIntoWithResponse(target, range,
+            parallelTransferOptions, downloadRetryOptions, requestConditions, context);
+        return blockWithOptionalTimeout(download, timeout);
+    }
+
+    /**
+     * Downloads a range of the blob directly into the given buffer, starting at its current position. The range is
+     * downloaded in parallel chunks and each chunk is written at its own offset in the buffer, so no intermediate
+     * buffers are allocated. If the size and etag of the blob are already known they may be passed with
+     * {@link BlobDownloadIntoOptions#setKnownItemProperties(BlobItemProperties)}, in which case every chunk is
+     * requested at once instead of waiting for the first chunk to discover them.
+     *
+     * <p>On success the position of the target buffer is advanced by the number of bytes downloaded. On failure the
+     * contents of the buffer between its position and limit are undefined.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * long size = blob.getProperties&#40;&#41;.getContentLength&#40;&#41;;
+     * ByteBuffer target = ByteBuffer.allocateDirect&#40;&#40;int&#41; size&#41;;
+     * client.downloadIntoWithResponse&#40;new BlobDownloadIntoOptions&#40;target&#41;
+     *     .setKnownItemProperties&#40;blob.getProperties&#40;&#41;&#41;, timeout,
+     *     new Context&#40;key2, value2&#41;&#41;;
+     * System.out.printf&#40;&quot;Downloaded %d bytes%n&quot;, target.position&#40;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param options {@link BlobDownloadIntoOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return A response containing the blob properties and metadata.
+     * @throws NullPointerException If {@code options} is null.
+     * @throws IllegalArgumentException If the target buffer is read-only or has too little space remaining.
+     */
+    public Response<BlobProperties> downloadIntoWithResponse(BlobDownloadIntoOptions options, Duration timeout,
+        Context context) {
+        Mono<Response<BlobProperties>> download = client.downloadIntoWithResponse(options, context);
+        return blockWithOptionalTimeout(download, timeout);
+    }
+
+    /**
+     * Reads several ranges of the blob. Ranges that are close to each other are coalesced into a single request and
+     * the coalesced requests are issued in parallel.
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * List&lt;BlobRange&gt; ranges = Arrays.asList&#40;new BlobRange&#40;0, 1024L&#41;, new BlobRange&#40;4096, 512L&#41;&#41;;
+     * System.out.printf&#40;&quot;Read %d ranges%n&quot;, client.readRanges&#40;ranges&#41;.size&#40;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param ranges The ranges to read. Every range must specify a count.
+     * @return One buffer per requested range, in the order the ranges were given.
+     */
+    public List<ByteBuffer> readRanges(List<BlobRange> ranges) {
+        return readRanges(new BlobReadRangesOptions(ranges), null, Context.NONE);
+    }
+
+    /**
+     * Reads several ranges of the blob. Ranges that are close to each other are coalesced into a single request and
+     * the coalesced requests are issued in parallel.
+     *
+     * <p>The returned buffers are views over the data read by each coalesced request, so ranges that overlap share
+     * memory. If no ETag condition is given, the read fails with an {@link IllegalStateException} when the blob is
+     * modified between coalesced requests.</p>
+     *
+     * <p><strong>Code Samples</strong></p>
+     *
+     * <pre>
+     * List&lt;BlobRange&gt; ranges = Arrays.asList&#40;new BlobRange&#40;0, 1024L&#41;, new BlobRange&#40;4096, 512L&#41;&#41;;
+     * BlobReadRangesOptions options = new BlobReadRangesOptions&#40;ranges&#41;
+     *     .setMaxGapSize&#40;64L * Constants.KB&#41;
+     *     .setMaxConcurrency&#40;4&#41;;
+     *
+     * System.out.printf&#40;&quot;Read %d ranges%n&quot;,
+     *     client.readRanges&#40;options, timeout, new Context&#40;key1, value1&#41;&#41;.size&#40;&#41;&#41;;
+     * </pre>
+     *
+     * <p>For more information, see the
+     * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
+     *
+     * @param options {@link BlobReadRangesOptions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     * @param context Additional context that is passed through the Http pipeline during the service call.
+     * @return One buffer per requested range, in the order the ranges were given.
+     */
+    public List<ByteBuffer> readRanges(BlobReadRangesOptions options, Duration timeout, Context context) {
+        return blockWithOptionalTimeout(client.readRanges(options, context), timeout);
+    }
+
     /**
      * Deletes the specified blob or snapshot. Note that deleting a blob also deletes all its snapshots.
      *
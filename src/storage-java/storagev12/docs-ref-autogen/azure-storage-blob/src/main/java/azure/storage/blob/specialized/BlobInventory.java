@@ -0,0 +1,537 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobSummaryField;
+import com.azure.storage.blob.models.BlobSummaryItem;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.common.implementation.StorageImplUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A snapshot of the blobs under a prefix of a container, kept in a local file so that repeated scans of a large
+ * container are answered without listing it again.
+ *
+ * <p>The file holds the name, size, ETag and last modified time of every blob, sorted by name, and is memory mapped
+ * when opened, so an inventory of millions of blobs is scanned without being read into the heap. Blobs are looked up
+ * by name or by prefix with a binary search of the file, and each {@link BlobSummaryItem} is only decoded once it is
+ * read.</p>
+ *
+ * <p>An inventory is brought up to date by {@link #refresh(BlobContainerAsyncClient, Collection, Path) refreshing}
+ * the prefixes known to have changed. Only those prefixes are listed again, the blobs under every other prefix are
+ * copied from the existing file. The service keeps no modification time or ETag for a prefix, so which prefixes have
+ * changed must be known to the caller, for instance from the layout of the data or a log of the writes made to the
+ * container.</p>
+ *
+ * <p>An inventory is immutable and safe to share between threads. The file may hold at most 2 GB.</p>
+ */
+public final class BlobInventory {
+    private static final int MAGIC = 0x42494e56;
+    private static final int VERSION = 1;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final Set<BlobSummaryField> FIELDS =
+        EnumSet.of(BlobSummaryField.CONTENT_LENGTH, BlobSummaryField.ETAG, BlobSummaryField.LAST_MODIFIED);
+
+    private final ClientLogger logger = new ClientLogger(BlobInventory.class);
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final String prefix;
+    private final OffsetDateTime creationTime;
+    private final int blobCount;
+    private final int offsetsStart;
+
+    private BlobInventory(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+
+        // Layout: header (magic, version, creation time, prefix), records sorted by name, the offset of each record
+        // and finally the number of records.
+        if (buffer.limit() < 24 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw logger.logExceptionAsError(new UncheckedIOException(
+                new IOException("File " + file + " is not a blob inventory.")));
+        }
+        this.creationTime = toDateTime(buffer.getLong(8));
+        this.prefix = readString(16);
+        this.blobCount = buffer.getInt(buffer.limit() - 4);
+        this.offsetsStart = buffer.limit() - 4 - blobCount * 8;
+    }
+
+    /**
+     * Opens an inventory written earlier.
+     *
+     * @param file The file of the inventory.
+     * @return The inventory.
+     * @throws NullPointerException If {@code file} is null.
+     * @throws UncheckedIOException If the file cannot be read or does not hold an inventory.
+     */
+    public static BlobInventory open(Path file) {
+        StorageImplUtils.assertNotNull("file", file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BlobInventory(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException ex) {
+            throw new ClientLogger(BlobInventory.class).logExceptionAsError(new UncheckedIOException(ex));
+        }
+    }
+
+    /**
+     * Lists the blobs under a prefix of a container into a new inventory.
+     *
+     * @param client The client of the container.
+     * @param prefix The prefix of the blobs to take stock of, or null for the whole container.
+     * @param file The file to write the inventory to. An existing file is replaced.
+     * @return A reactive response emitting the new inventory.
+     */
+    public static Mono<BlobInventory> create(BlobContainerAsyncClient client, String prefix, Path file) {
+        StorageImplUtils.assertNotNull("client", client);
+        StorageImplUtils.assertNotNull("file", file);
+        String root = prefix == null ? "" : prefix;
+        return write(file, root, Collections.emptyIterator(), client.listBlobSummaries(listOptions(root), FIELDS));
+    }
+
+    /**
+     * Lists the blobs under a prefix of a container into a new inventory.
+     *
+     * @param client The client of the container.
+     * @param prefix The prefix of the blobs to take stock of, or null for the whole container.
+     * @param file The file to write the inventory to. An existing file is replaced.
+     * @return The new inventory.
+     * @throws UncheckedIOException If the inventory cannot be written.
+     */
+    public static BlobInventory create(BlobContainerClient client, String prefix, Path file) {
+        StorageImplUtils.assertNotNull("client", client);
+        StorageImplUtils.assertNotNull("file", file);
+        String root = prefix == null ? "" : prefix;
+        InventoryWriter writer = new InventoryWriter(file, root, Collections.emptyIterator());
+        try {
+            client.listBlobSummaries(listOptions(root), FIELDS, null).forEach(writer::add);
+            return writer.finish();
+        } finally {
+            writer.abort();
+        }
+    }
+
+    /**
+     * Lists the given prefixes again and writes a new inventory holding their current blobs along with the blobs of
+     * this inventory under every other prefix.
+     *
+     * @param client The client of the container.
+     * @param prefixes The prefixes which have changed. Each must begin with the prefix of the inventory.
+     * @param file The file to write the new inventory to. It may be the file of this inventory on platforms which
+     * allow a memory mapped file to be replaced.
+     * @return A reactive response emitting the new inventory.
+     * @throws IllegalArgumentException If a prefix does not begin with the prefix of the inventory.
+     */
+    public Mono<BlobInventory> refresh(BlobContainerAsyncClient client, Collection<String> prefixes, Path file) {
+        StorageImplUtils.assertNotNull("client", client);
+        StorageImplUtils.assertNotNull("file", file);
+        List<String> changed = normalize(prefixes);
+        // The changed prefixes are sorted and none begins with another, so their listings follow one another.
+        return write(file, prefix, kept(changed), Flux.fromIterable(changed)
+            .flatMapSequential(changedPrefix -> client.listBlobSummaries(listOptions(changedPrefix), FIELDS),
+                BlobAsyncClient.BLOB_DEFAULT_NUMBER_OF_BUFFERS));
+    }
+
+    /**
+     * Lists the given prefixes again and writes a new inventory holding their current blobs along with the blobs of
+     * this inventory under every other prefix.
+     *
+     * @param client The client of the container.
+     * @param prefixes The prefixes which have changed. Each must begin with the prefix of the inventory.
+     * @param file The file to write the new inventory to. It may be the file of this inventory on platforms which
+     * allow a memory mapped file to be replaced.
+     * @return The new inventory.
+     * @throws IllegalArgumentException If a prefix does not begin with the prefix of the inventory.
+     * @throws UncheckedIOException If the inventory cannot be written.
+     */
+    public BlobInventory refresh(BlobContainerClient client, Collection<String> prefixes, Path file) {
+        StorageImplUtils.assertNotNull("client", client);
+        StorageImplUtils.assertNotNull("file", file);
+        List<String> changed = normalize(prefixes);
+        InventoryWriter writer = new InventoryWriter(file, prefix, kept(changed));
+        try {
+            for (String changedPrefix : changed) {
+                client.listBlobSummaries(listOptions(changedPrefix), FIELDS, null).forEach(writer::add);
+            }
+            return writer.finish();
+        } finally {
+            writer.abort();
+        }
+    }
+
+    /**
+     * @return The file of the inventory.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return The prefix of the blobs in the inventory.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return The time the inventory was written.
+     */
+    public OffsetDateTime getCreationTime() {
+        return creationTime;
+    }
+
+    /**
+     * @return The number of blobs in the inventory.
+     */
+    public int getBlobCount() {
+        return blobCount;
+    }
+
+    /**
+     * Finds a blob by name.
+     *
+     * @param name The name of the blob.
+     * @return The blob, or null if the inventory holds no blob of that name.
+     */
+    public BlobSummaryItem getBlob(String name) {
+        StorageImplUtils.assertNotNull("name", name);
+        int index = lowerBound(name);
+        return index < blobCount && name.equals(readName(index)) ? readBlob(index) : null;
+    }
+
+    /**
+     * Lists the blobs whose names begin with a prefix, sorted by name. Blobs are decoded as the list is read.
+     *
+     * @param prefix The prefix, or null to list every blob.
+     * @return The blobs under the prefix.
+     */
+    public List<BlobSummaryItem> listBlobs(String prefix) {
+        String match = prefix == null ? "" : prefix;
+        int from = lowerBound(match);
+        // The names beginning with the prefix follow one another, the first name after them no longer begins with it.
+        int low = from;
+        int high = blobCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (readName(mid).startsWith(match)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int to = low;
+        return new AbstractList<BlobSummaryItem>() {
+            @Override
+            public BlobSummaryItem get(int index) {
+                if (index < 0 || index >= to - from) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (to - from));
+                }
+                return readBlob(from + index);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /*
+     * Returns the index of the first name which sorts at or after the given name.
+     */
+    private int lowerBound(String name) {
+        int low = 0;
+        int high = blobCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (readName(mid).compareTo(name) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private String readName(int index) {
+        return readString(recordOffset(index));
+    }
+
+    private BlobSummaryItem readBlob(int index) {
+        int offset = recordOffset(index);
+        String name = readString(offset);
+        offset += 4 + buffer.getInt(offset);
+        long contentLength = buffer.getLong(offset);
+        long lastModified = buffer.getLong(offset + 8);
+        String eTag = readString(offset + 16);
+        return new BlobSummaryItem()
+            .setName(name)
+            .setContentLength(contentLength == NO_VALUE ? null : contentLength)
+            .setLastModified(toDateTime(lastModified))
+            .setETag(eTag);
+    }
+
+    private int recordOffset(int index) {
+        return (int) buffer.getLong(offsetsStart + index * 8);
+    }
+
+    /*
+     * Reads a string written as its length in bytes followed by its UTF-8 bytes. A length of -1 is a null string.
+     */
+    private String readString(int offset) {
+        return readString(buffer, offset);
+    }
+
+    private static String readString(ByteBuffer buffer, int offset) {
+        int length = buffer.getInt(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ListBlobsOptions listOptions(String prefix) {
+        return new ListBlobsOptions().setPrefix(prefix.isEmpty() ? null : prefix);
+    }
+
+    /*
+     * Sorts the changed prefixes and drops any which begin with another, since the shorter one lists its blobs too.
+     */
+    private List<String> normalize(Collection<String> prefixes) {
+        StorageImplUtils.assertNotNull("prefixes", prefixes);
+        List<String> sorted = new ArrayList<>(prefixes);
+        for (String changedPrefix : sorted) {
+            if (changedPrefix == null || !changedPrefix.startsWith(prefix)) {
+                throw logger.logExceptionAsError(new IllegalArgumentException(String.format(
+                    "Prefix '%s' is not under the prefix '%s' of the inventory.", changedPrefix, prefix)));
+            }
+        }
+        Collections.sort(sorted);
+        List<String> changed = new ArrayList<>();
+        for (String changedPrefix : sorted) {
+            if (changed.isEmpty() || !changedPrefix.startsWith(changed.get(changed.size() - 1))) {
+                changed.add(changedPrefix);
+            }
+        }
+        return changed;
+    }
+
+    /*
+     * The existing blobs less those under the changed prefixes, in name order.
+     */
+    private Iterator<BlobSummaryItem> kept(List<String> changed) {
+        return listBlobs(prefix).stream()
+            .filter(blob -> changed.stream().noneMatch(blob.getName()::startsWith))
+            .iterator();
+    }
+
+    /*
+     * Writes the kept blobs merged with the listed ones as the listing arrives, so that neither is held in the heap.
+     */
+    private static Mono<BlobInventory> write(Path file, String prefix, Iterator<BlobSummaryItem> kept,
+        Flux<BlobSummaryItem> listed) {
+        return Mono.using(() -> new InventoryWriter(file, prefix, kept),
+            writer -> listed.publishOn(Schedulers.boundedElastic())
+                .doOnNext(writer::add)
+                .then(Mono.fromCallable(writer::finish)),
+            InventoryWriter::abort);
+    }
+
+    /*
+     * Writes an inventory to a temporary file which replaces the target once it is complete. Records are written in
+     * the order they are added, listed blobs merged with the kept ones by name, and only the table of offsets at the
+     * end of the file must be sorted by name. Listings are returned in the order of the service, which matches the
+     * order of Java strings for every name but those mixing characters outside the Basic Multilingual Plane with
+     * characters above U+E000, so the names are only read back and sorted if a name was added out of order.
+     */
+    private static final class InventoryWriter {
+        private final ClientLogger logger = new ClientLogger(InventoryWriter.class);
+        private final Path file;
+        private final Iterator<BlobSummaryItem> kept;
+        private final Path temp;
+        private final DataOutputStream output;
+        private final List<Long> offsets = new ArrayList<>();
+        private BlobSummaryItem nextKept;
+        private String lastName;
+        private boolean sorted = true;
+        private boolean done;
+
+        InventoryWriter(Path file, String prefix, Iterator<BlobSummaryItem> kept) {
+            this.file = file;
+            this.kept = kept;
+            this.nextKept = kept.hasNext() ? kept.next() : null;
+            Path tempFile = null;
+            try {
+                tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(),
+                    ".tmp");
+                this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)));
+                this.temp = tempFile;
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(OffsetDateTime.now(ZoneOffset.UTC).toEpochSecond());
+                writeString(output, prefix);
+            } catch (IOException ex) {
+                abort();
+                deleteQuietly(tempFile);
+                throw logger.logExceptionAsError(new UncheckedIOException(ex));
+            }
+        }
+
+        void add(BlobSummaryItem blob) {
+            try {
+                while (nextKept != null && nextKept.getName().compareTo(blob.getName()) < 0) {
+                    writeBlob(nextKept);
+                    nextKept = kept.hasNext() ? kept.next() : null;
+                }
+                writeBlob(blob);
+            } catch (IOException ex) {
+                throw logger.logExceptionAsError(new UncheckedIOException(ex));
+            }
+        }
+
+        BlobInventory finish() {
+            try {
+                while (nextKept != null) {
+                    writeBlob(nextKept);
+                    nextKept = kept.hasNext() ? kept.next() : null;
+                }
+                output.flush();
+                List<Long> table = sorted ? offsets : sortOffsets();
+                for (long offset : table) {
+                    output.writeLong(offset);
+                }
+                output.writeInt(table.size());
+                output.close();
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                done = true;
+            } catch (IOException ex) {
+                throw logger.logExceptionAsError(new UncheckedIOException(ex));
+            }
+            return open(file);
+        }
+
+        /*
+         * Discards the temporary file unless the inventory was finished. Called once the writer is no longer used.
+         */
+        void abort() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                if (output != null) {
+                    output.close();
+                }
+            } catch (IOException ignored) {
+                // The original failure is the one reported.
+            }
+            deleteQuietly(temp);
+        }
+
+        private void writeBlob(BlobSummaryItem blob) throws IOException {
+            if (lastName != null && lastName.compareTo(blob.getName()) > 0) {
+                sorted = false;
+            }
+            lastName = blob.getName();
+
+            offsets.add((long) output.size());
+            writeString(output, blob.getName());
+            output.writeLong(blob.getContentLength() == null ? NO_VALUE : blob.getContentLength());
+            output.writeLong(blob.getLastModified() == null ? NO_VALUE : blob.getLastModified().toEpochSecond());
+            writeString(output, blob.getETag());
+            // The whole file is mapped as a single buffer.
+            if ((long) output.size() + 8L * offsets.size() + 4 >= Integer.MAX_VALUE) {
+                throw new IOException("The inventory is larger than 2 GB.");
+            }
+        }
+
+        /*
+         * Reads the names back from the records written so far and orders the offsets by them.
+         */
+        private List<Long> sortOffsets() throws IOException {
+            List<Map.Entry<String, Long>> entries = new ArrayList<>(offsets.size());
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(temp)))) {
+                long position = 0;
+                for (long offset : offsets) {
+                    input.skipBytes((int) (offset - position));
+                    byte[] name = new byte[input.readInt()];
+                    input.readFully(name);
+                    position = offset + 4 + name.length;
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(new String(name, StandardCharsets.UTF_8),
+                        offset));
+                }
+            }
+            entries.sort(Map.Entry.comparingByKey());
+            List<Long> table = new ArrayList<>(entries.size());
+            for (Map.Entry<String, Long> entry : entries) {
+                table.add(entry.getValue());
+            }
+            return table;
+        }
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+            // The original failure is the one reported.
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static OffsetDateTime toDateTime(long epochSecond) {
+        return epochSecond == NO_VALUE
+            ? null
+            : OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+}
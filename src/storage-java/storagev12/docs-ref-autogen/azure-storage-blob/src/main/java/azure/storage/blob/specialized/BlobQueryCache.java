@@ -0,0 +1,445 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.util.FluxUtil;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.core.util.serializer.JacksonAdapter;
+import com.azure.core.util.serializer.SerializerAdapter;
+import com.azure.core.util.serializer.SerializerEncoding;
+import com.azure.storage.blob.implementation.models.QueryRequest;
+import com.azure.storage.common.implementation.StorageImplUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A cache of blob query output, which may be set on {@link com.azure.storage.blob.options.BlobQueryOptions} so that
+ * repeating a query against a blob which has not changed is answered locally instead of scanning the blob again.
+ *
+ * <p>Output is keyed by the blob URL, the blob's ETag, the customer provided key and encryption scope of the client,
+ * the query expression and the input and output serializations, so a blob which changes simply stops matching its old
+ * entries, and output is only served to clients which could have read it from the blob. Entries are evicted least
+ * recently used first once the total size of the cached output would exceed the maximum size, and output larger than
+ * the maximum size, or for a cache kept in memory larger than 2 GB, is never cached. Output is only cached once the
+ * query completes without reporting any {@link com.azure.storage.blob.models.BlobQueryError errors}. A cache kept in a
+ * directory writes output to a temporary file as the query runs and moves it into place once the query completes.</p>
+ *
+ * <p>A cache may be kept in memory, or in a local directory so that it survives restarts. A cache is safe to share
+ * between clients and threads, but a directory must not be used by more than one cache at a time.</p>
+ */
+public final class BlobQueryCache {
+    private static final String ENTRY_SUFFIX = ".query";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // The most bytes a byte array holds on common JVMs.
+    private static final long MAX_MEMORY_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+    private static final SerializerAdapter SERIALIZER = JacksonAdapter.createDefaultSerializerAdapter();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ClientLogger logger = new ClientLogger(BlobQueryCache.class);
+    private final Path directory;
+    private final long maxSize;
+
+    // Access ordered, so the first entry is the least recently used. Holds the output itself when kept in memory, or
+    // null when the output is kept in a file of the directory.
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> entrySizes = new LinkedHashMap<>();
+    private long size;
+
+    private BlobQueryCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a cache which keeps query output in memory.
+     *
+     * @param maxSize The maximum number of bytes of query output to keep.
+     * @return A new cache.
+     * @throws IllegalArgumentException If {@code maxSize} is less than 1.
+     */
+    public static BlobQueryCache inMemory(long maxSize) {
+        StorageImplUtils.assertInBounds("maxSize", maxSize, 1, Long.MAX_VALUE);
+        return new BlobQueryCache(null, maxSize);
+    }
+
+    /**
+     * Creates a cache which keeps query output in files of a local directory. Output cached in the directory by an
+     * earlier cache is reused.
+     *
+     * @param directory The directory to keep query output in. It is created if it does not exist.
+     * @param maxSize The maximum number of bytes of query output to keep.
+     * @return A new cache.
+     * @throws NullPointerException If {@code directory} is null.
+     * @throws IllegalArgumentException If {@code maxSize} is less than 1.
+     * @throws UncheckedIOException If the directory cannot be created or read.
+     */
+    public static BlobQueryCache onDisk(Path directory, long maxSize) {
+        StorageImplUtils.assertNotNull("directory", directory);
+        StorageImplUtils.assertInBounds("maxSize", maxSize, 1, Long.MAX_VALUE);
+        BlobQueryCache cache = new BlobQueryCache(directory, maxSize);
+        cache.loadDirectory();
+        return cache;
+    }
+
+    /**
+     * @return The number of bytes of query output currently cached.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Removes all cached query output. A cached file which cannot be deleted is left behind until the next cache is
+     * created on the directory.
+     */
+    public void clear() {
+        List<String> keys;
+        synchronized (this) {
+            keys = new ArrayList<>(entries.keySet());
+            entries.clear();
+            entrySizes.clear();
+            size = 0;
+        }
+        if (directory == null) {
+            return;
+        }
+        deleteFiles(keys);
+    }
+
+    /*
+     * Computes the key of the output of a query against one version of a blob, read with the given customer provided
+     * key hash and encryption scope, either of which may be null.
+     */
+    static String computeKey(String blobUrl, String eTag, String encryptionKeySha256, String encryptionScope,
+        QueryRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((blobUrl + "\n" + eTag + "\n" + encryptionKeySha256 + "\n" + encryptionScope + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+            digest.update(SERIALIZER.serialize(request, SerializerEncoding.XML).getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest();
+            char[] key = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                key[2 * i] = HEX[(hash[i] >> 4) & 0xF];
+                key[2 * i + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(key);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /*
+     * Returns the cached output for the key, or an empty Mono if there is none. Output kept in a file is read as it
+     * is consumed.
+     */
+    Mono<Flux<ByteBuffer>> get(String key) {
+        synchronized (this) {
+            if (!entries.containsKey(key)) {
+                return Mono.empty();
+            }
+            byte[] data = entries.get(key);
+            if (data != null) {
+                return Mono.just(Flux.just(ByteBuffer.wrap(data).asReadOnlyBuffer()));
+            }
+        }
+
+        Path path = entryPath(key);
+        return Mono.fromCallable(() -> Files.size(path))
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(ignored -> Flux.using(() -> AsynchronousFileChannel.open(path, StandardOpenOption.READ),
+                FluxUtil::readFile, this::closeQuietly))
+            .onErrorResume(IOException.class, ex -> {
+                // A file which can no longer be read is treated as a miss, so the query is run again.
+                if (!(ex instanceof NoSuchFileException)) {
+                    logger.warning("Failed to read cached query output.", ex);
+                }
+                synchronized (this) {
+                    forget(key);
+                }
+                return Mono.empty();
+            });
+    }
+
+    /*
+     * Passes the output of a query through, caching a copy once it completes if it fits and isCacheable says so. Output
+     * cached in the directory is written to a temporary file on a bounded elastic thread as it passes, and moved into
+     * place once the query completes.
+     */
+    Flux<ByteBuffer> record(String key, Flux<ByteBuffer> output, BooleanSupplier isCacheable) {
+        return Flux.defer(() -> {
+            Capture capture = directory == null ? new MemoryCapture(key) : new FileCapture(key);
+            Flux<ByteBuffer> captured = directory == null
+                ? output
+                : output.publishOn(Schedulers.boundedElastic());
+            return captured
+                .doOnNext(capture::write)
+                .doOnComplete(() -> {
+                    if (isCacheable.getAsBoolean()) {
+                        capture.commit();
+                    } else {
+                        capture.discard();
+                    }
+                })
+                .doOnError(ignored -> capture.discard())
+                .doOnCancel(() -> Schedulers.boundedElastic().schedule(capture::discard));
+        });
+    }
+
+    private void put(String key, byte[] data, long dataSize) {
+        List<String> evicted;
+        synchronized (this) {
+            // A file already moved over the entry's replaces it, so the entry is only forgotten.
+            forget(key);
+            entries.put(key, data);
+            entrySizes.put(key, dataSize);
+            size += dataSize;
+            evicted = evict();
+        }
+        deleteFiles(evicted);
+    }
+
+    /*
+     * Forgets the least recently used entries until the cache fits, returning the keys of those kept in files so that
+     * the files are deleted once the lock is released.
+     */
+    private List<String> evict() {
+        List<String> evicted = new ArrayList<>();
+        while (size > maxSize && !entries.isEmpty()) {
+            String key = entries.keySet().iterator().next();
+            forget(key);
+            if (directory != null) {
+                evicted.add(key);
+            }
+        }
+        return evicted;
+    }
+
+    private void deleteFiles(List<String> keys) {
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(entryPath(key));
+            } catch (IOException ex) {
+                // The file is no longer indexed, so failing to delete it only leaves it behind until the next load.
+                logger.warning("Failed to delete cached query output.", ex);
+            }
+        }
+    }
+
+    private void forget(String key) {
+        entries.remove(key);
+        Long entrySize = entrySizes.remove(key);
+        if (entrySize != null) {
+            size -= entrySize;
+        }
+    }
+
+    private void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            logger.warning("Failed to close cached query output.", ex);
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    /*
+     * Indexes the entries already in the directory, treating the least recently modified as the least recently used.
+     * Temporary files left behind by output which was being cached when a process stopped are deleted.
+     */
+    private void loadDirectory() {
+        List<Path> files = new ArrayList<>();
+        List<String> evicted;
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+                for (Path file : stream) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+                stream.forEach(files::add);
+            }
+            Map<Path, Long> modified = new LinkedHashMap<>();
+            for (Path file : files) {
+                modified.put(file, Files.getLastModifiedTime(file).toMillis());
+            }
+            files.sort(Comparator.comparing(modified::get));
+            synchronized (this) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    String key = name.substring(0, name.length() - ENTRY_SUFFIX.length());
+                    long entrySize = Files.size(file);
+                    entries.put(key, null);
+                    entrySizes.put(key, entrySize);
+                    size += entrySize;
+                }
+                evicted = evict();
+            }
+        } catch (IOException ex) {
+            throw logger.logExceptionAsError(new UncheckedIOException(ex));
+        }
+        deleteFiles(evicted);
+    }
+
+    /*
+     * A copy of the output of one query, kept until the query completes.
+     */
+    private interface Capture {
+        void write(ByteBuffer buffer);
+
+        void commit();
+
+        void discard();
+    }
+
+    private final class MemoryCapture implements Capture {
+        private final String key;
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        MemoryCapture(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            if (captured == null) {
+                return;
+            }
+            if (captured.size() + (long) buffer.remaining() > Math.min(maxSize, MAX_MEMORY_ENTRY_SIZE)) {
+                captured = null;
+                return;
+            }
+            ByteBuffer copy = buffer.duplicate();
+            byte[] bytes = new byte[copy.remaining()];
+            copy.get(bytes);
+            captured.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void commit() {
+            if (captured != null) {
+                byte[] data = captured.toByteArray();
+                captured = null;
+                put(key, data, data.length);
+            }
+        }
+
+        @Override
+        public void discard() {
+            captured = null;
+        }
+    }
+
+    /*
+     * Writes the output to a temporary file of the directory. Each method blocks, so is called on a bounded elastic
+     * thread, and may be called from another thread than the last when the query is cancelled.
+     */
+    private final class FileCapture implements Capture {
+        private final String key;
+        private Path temp;
+        private FileChannel channel;
+        private long written;
+        private boolean done;
+
+        FileCapture(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public synchronized void write(ByteBuffer buffer) {
+            if (done) {
+                return;
+            }
+            if (written + buffer.remaining() > maxSize) {
+                discard();
+                return;
+            }
+            try {
+                if (channel == null) {
+                    temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+                    channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                }
+                ByteBuffer copy = buffer.duplicate();
+                while (copy.hasRemaining()) {
+                    written += channel.write(copy);
+                }
+            } catch (IOException ex) {
+                // Failing to cache must not fail the query.
+                logger.warning("Failed to cache query output.", ex);
+                discard();
+            }
+        }
+
+        @Override
+        public synchronized void commit() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                if (channel == null) {
+                    temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+                } else {
+                    channel.close();
+                }
+                Files.move(temp, entryPath(key), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                logger.warning("Failed to cache query output.", ex);
+                deleteTemp();
+                return;
+            }
+            put(key, null, written);
+        }
+
+        @Override
+        public synchronized void discard() {
+            if (!done) {
+                done = true;
+                deleteTemp();
+            }
+        }
+
+        private void deleteTemp() {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException ex) {
+                logger.warning("Failed to delete partially cached query output.", ex);
+            }
+        }
+    }
+}
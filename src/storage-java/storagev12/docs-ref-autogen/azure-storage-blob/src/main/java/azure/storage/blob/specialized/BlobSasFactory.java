@@ -0,0 +1,247 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.BlobServiceAsyncClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.options.BlobSasFactoryOptions;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.common.StorageSharedKeyCredential;
+import com.azure.storage.common.implementation.StorageImplUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Mints service SAS for the blobs of an account at a high rate.
+ *
+ * <p>A factory signs either with a {@link StorageSharedKeyCredential} or with user delegation keys it requests from
+ * the service itself. The user delegation key is kept for as long as the SAS signed with it do not outlive it and a
+ * replacement is requested in the background before they would, so that signing does not wait on the service once
+ * the first key has been received. Until then, minting waits for the key to be received, so a SAS minted on a thread
+ * which may not block, such as a Reactor non-blocking thread, is minted with
+ * {@link BlobSasTemplate#generateSasAsync(String)} instead.</p>
+ *
+ * <p>SAS are minted from a {@link BlobSasTemplate}, which holds the parts of the string to sign that are the same for
+ * every blob of a container signed with the same values, so that only the blob name is signed for each SAS.</p>
+ *
+ * <p>A factory is safe to share between threads.</p>
+ */
+public final class BlobSasFactory {
+    private static final Duration DEFAULT_KEY_VALIDITY = Duration.ofDays(1);
+    private static final Duration DEFAULT_KEY_REFRESH_WINDOW = Duration.ofHours(1);
+
+    private final ClientLogger logger = new ClientLogger(BlobSasFactory.class);
+    private final String accountName;
+    private final StorageSharedKeyCredential storageSharedKeyCredential;
+    private final Function<OffsetDateTime, Mono<UserDelegationKey>> userDelegationKeySource;
+    private final Duration keyValidity;
+    private final Duration keyRefreshWindow;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile UserDelegationKey userDelegationKey;
+
+    // The request in flight for a key expiring at pendingKeyExpiry, shared by every SAS which needs a new key.
+    private Mono<UserDelegationKey> pendingKeyRequest;
+    private OffsetDateTime pendingKeyExpiry;
+
+    /**
+     * Creates a factory which signs with user delegation keys requested through the given client.
+     *
+     * @param client The {@link BlobServiceAsyncClient} user delegation keys are requested through. It must be
+     * authenticated with a token credential.
+     */
+    public BlobSasFactory(BlobServiceAsyncClient client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates a factory which signs with user delegation keys requested through the given client.
+     *
+     * @param client The {@link BlobServiceAsyncClient} user delegation keys are requested through. It must be
+     * authenticated with a token credential.
+     * @param options {@link BlobSasFactoryOptions}
+     * @throws IllegalArgumentException If the key refresh window is not shorter than the key validity.
+     */
+    public BlobSasFactory(BlobServiceAsyncClient client, BlobSasFactoryOptions options) {
+        this(Objects.requireNonNull(client, "'client' cannot be null.").getAccountName(), null,
+            expiry -> client.getUserDelegationKey(null, expiry), options);
+    }
+
+    /**
+     * Creates a factory which signs with user delegation keys requested through the given client.
+     *
+     * @param client The {@link BlobServiceClient} user delegation keys are requested through. It must be
+     * authenticated with a token credential.
+     */
+    public BlobSasFactory(BlobServiceClient client) {
+        this(client, null);
+    }
+
+    /**
+     * Creates a factory which signs with user delegation keys requested through the given client.
+     *
+     * @param client The {@link BlobServiceClient} user delegation keys are requested through. It must be
+     * authenticated with a token credential.
+     * @param options {@link BlobSasFactoryOptions}
+     * @throws IllegalArgumentException If the key refresh window is not shorter than the key validity.
+     */
+    public BlobSasFactory(BlobServiceClient client, BlobSasFactoryOptions options) {
+        this(Objects.requireNonNull(client, "'client' cannot be null.").getAccountName(), null,
+            expiry -> Mono.fromCallable(() -> client.getUserDelegationKey(null, expiry))
+                .subscribeOn(Schedulers.boundedElastic()), options);
+    }
+
+    /**
+     * Creates a factory which signs with the given credential.
+     *
+     * @param storageSharedKeyCredential {@link StorageSharedKeyCredential}
+     */
+    public BlobSasFactory(StorageSharedKeyCredential storageSharedKeyCredential) {
+        this(Objects.requireNonNull(storageSharedKeyCredential, "'storageSharedKeyCredential' cannot be null.")
+            .getAccountName(), storageSharedKeyCredential, null, null);
+    }
+
+    private BlobSasFactory(String accountName, StorageSharedKeyCredential storageSharedKeyCredential,
+        Function<OffsetDateTime, Mono<UserDelegationKey>> userDelegationKeySource, BlobSasFactoryOptions options) {
+        options = options == null ? new BlobSasFactoryOptions() : options;
+        this.accountName = accountName;
+        this.storageSharedKeyCredential = storageSharedKeyCredential;
+        this.userDelegationKeySource = userDelegationKeySource;
+        this.keyValidity = options.getKeyValidity() == null ? DEFAULT_KEY_VALIDITY : options.getKeyValidity();
+        this.keyRefreshWindow = options.getKeyRefreshWindow() == null
+            ? DEFAULT_KEY_REFRESH_WINDOW : options.getKeyRefreshWindow();
+        if (keyRefreshWindow.compareTo(keyValidity) >= 0) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("'keyRefreshWindow' must be shorter than 'keyValidity'."));
+        }
+    }
+
+    /**
+     * Gets a template which mints SAS for the blobs of a container with the given values. A template is immutable,
+     * so the values may be changed once it is created without affecting it.
+     *
+     * @param containerName The name of the container the SAS are for.
+     * @param blobServiceSasSignatureValues {@link BlobServiceSasSignatureValues} of the SAS. Any stored access policy,
+     * start time, IP range, protocol and response headers are included in every SAS.
+     * @return A {@link BlobSasTemplate} for the blobs of the container.
+     * @throws IllegalStateException If the values set neither an identifier nor both an expiry time and permissions.
+     */
+    public BlobSasTemplate getTemplate(String containerName,
+        BlobServiceSasSignatureValues blobServiceSasSignatureValues) {
+        StorageImplUtils.assertNotNull("containerName", containerName);
+        StorageImplUtils.assertNotNull("blobServiceSasSignatureValues", blobServiceSasSignatureValues);
+        return new BlobSasTemplate(this, containerName, blobServiceSasSignatureValues);
+    }
+
+    /**
+     * @return The name of the account SAS are minted for.
+     */
+    public String getAccountName() {
+        return accountName;
+    }
+
+    StorageSharedKeyCredential getStorageSharedKeyCredential() {
+        return storageSharedKeyCredential;
+    }
+
+    /*
+    Gets a user delegation key which a SAS expiring at the given time does not outlive. The cached key is returned
+    unless the SAS would outlive it, in which case a new one is requested and waited for. A replacement is requested
+    in the background once the SAS would outlive the key within the refresh window.
+     */
+    UserDelegationKey getUserDelegationKey(OffsetDateTime sasExpiry) {
+        OffsetDateTime needed = getNeededExpiry(sasExpiry);
+        UserDelegationKey key = getCachedUserDelegationKey(needed);
+        return key == null ? requestUserDelegationKey(needed).block() : key;
+    }
+
+    /*
+    Like getUserDelegationKey, but emits the key once a new one has been received rather than waiting for it.
+     */
+    Mono<UserDelegationKey> getUserDelegationKeyAsync(OffsetDateTime sasExpiry) {
+        OffsetDateTime needed = getNeededExpiry(sasExpiry);
+        UserDelegationKey key = getCachedUserDelegationKey(needed);
+        return key == null ? requestUserDelegationKey(needed) : Mono.just(key);
+    }
+
+    private OffsetDateTime getNeededExpiry(OffsetDateTime sasExpiry) {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime needed = sasExpiry == null || sasExpiry.isBefore(now) ? now : sasExpiry;
+        if (needed.isAfter(now.plus(BlobSasFactoryOptions.MAX_KEY_VALIDITY))) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(
+                "A user delegation SAS may expire at most %s from now, as it does not outlive its key.",
+                BlobSasFactoryOptions.MAX_KEY_VALIDITY)));
+        }
+        return needed;
+    }
+
+    /*
+    Returns the cached key, or null if the SAS would outlive it, starting a refresh in the background if the SAS would
+    outlive it within the refresh window.
+     */
+    private UserDelegationKey getCachedUserDelegationKey(OffsetDateTime needed) {
+        UserDelegationKey key = userDelegationKey;
+        if (key == null || !key.getSignedExpiry().isAfter(needed)) {
+            return null;
+        }
+
+        if (!key.getSignedExpiry().isAfter(needed.plus(keyRefreshWindow)) && refreshing.compareAndSet(false, true)) {
+            userDelegationKeySource.apply(getKeyExpiry(needed))
+                .doFinally(ignored -> refreshing.set(false))
+                .subscribe(this::offerUserDelegationKey,
+                    error -> logger.warning("Failed to refresh the user delegation key.", error));
+        }
+        return key;
+    }
+
+    /*
+    The lock is only held to find or start the request, never while the key is waited for, so that a caller may wait
+    for the key without blocking the threads which receive it.
+     */
+    private synchronized Mono<UserDelegationKey> requestUserDelegationKey(OffsetDateTime needed) {
+        // Another thread may have received a key, or requested one which will do, since this one found none.
+        UserDelegationKey key = userDelegationKey;
+        if (key != null && key.getSignedExpiry().isAfter(needed)) {
+            return Mono.just(key);
+        }
+        if (pendingKeyRequest != null && pendingKeyExpiry.isAfter(needed)) {
+            return pendingKeyRequest;
+        }
+
+        OffsetDateTime expiry = getKeyExpiry(needed);
+        pendingKeyExpiry = expiry;
+        pendingKeyRequest = userDelegationKeySource.apply(expiry)
+            .doOnNext(this::offerUserDelegationKey)
+            .doFinally(ignored -> clearPendingKeyRequest(expiry))
+            .cache();
+        return pendingKeyRequest;
+    }
+
+    private synchronized void clearPendingKeyRequest(OffsetDateTime expiry) {
+        // A failed request is forgotten so that the next SAS requests the key again.
+        if (pendingKeyExpiry == expiry) {
+            pendingKeyRequest = null;
+            pendingKeyExpiry = null;
+        }
+    }
+
+    private synchronized void offerUserDelegationKey(UserDelegationKey key) {
+        if (userDelegationKey == null || key.getSignedExpiry().isAfter(userDelegationKey.getSignedExpiry())) {
+            userDelegationKey = key;
+        }
+    }
+
+    private OffsetDateTime getKeyExpiry(OffsetDateTime needed) {
+        OffsetDateTime limit = OffsetDateTime.now().plus(BlobSasFactoryOptions.MAX_KEY_VALIDITY);
+        OffsetDateTime expiry = needed.plus(keyValidity);
+        return expiry.isAfter(limit) ? limit : expiry;
+    }
+}
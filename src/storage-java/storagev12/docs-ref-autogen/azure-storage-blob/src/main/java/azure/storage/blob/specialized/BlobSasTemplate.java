@@ -0,0 +1,270 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.specialized;
+
+import com.azure.core.util.CoreUtils;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.implementation.util.BlobSasImplUtil;
+import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.common.StorageSharedKeyCredential;
+import com.azure.storage.common.Utility;
+import com.azure.storage.common.implementation.StorageImplUtils;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static com.azure.core.util.FluxUtil.monoError;
+
+/**
+ * Mints service SAS for the blobs of a container, all signed with the same values. Created by
+ * {@link BlobSasFactory#getTemplate(String, BlobServiceSasSignatureValues)}.
+ *
+ * <p>Everything in the string to sign but the blob name is computed once for each signing key, as is everything in
+ * the SAS but the signature, so minting a SAS costs one HMAC over the string to sign and the encoding of the
+ * signature. A SAS minted from a template is the same as the one
+ * {@link BlobAsyncClientBase#generateSas(BlobServiceSasSignatureValues)} or
+ * {@link BlobAsyncClientBase#generateUserDelegationSas(BlobServiceSasSignatureValues, UserDelegationKey)} generate
+ * for the blob with the same values and key.</p>
+ *
+ * <p>A template signing with user delegation keys waits for the factory to receive the first key, or a new key once a
+ * SAS would outlive the current one. {@link #generateSasAsync(String)} mints without waiting, for use on threads which
+ * may not block, such as Reactor non-blocking threads.</p>
+ *
+ * <p>A template is safe to share between threads.</p>
+ */
+public final class BlobSasTemplate {
+    /*
+    Stands in for the blob name while the parts around it are computed. It may not be in a blob name, nor in any of
+    the values which are signed.
+     */
+    private static final String BLOB_NAME_PLACEHOLDER = "\u0000";
+    private static final String SIGNATURE_PARAMETER = "sig=";
+    private static final String SIGNATURE_PLACEHOLDER = SIGNATURE_PARAMETER + Utility.urlEncode(BLOB_NAME_PLACEHOLDER);
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final ThreadLocal<MacHolder> MACS = ThreadLocal.withInitial(MacHolder::new);
+
+    private final ClientLogger logger = new ClientLogger(BlobSasTemplate.class);
+    private final BlobSasFactory factory;
+    private final BlobSasImplUtil sasImplUtil;
+    private final OffsetDateTime expiryTime;
+    private volatile SasParts parts;
+
+    BlobSasTemplate(BlobSasFactory factory, String containerName, BlobServiceSasSignatureValues values) {
+        this.factory = factory;
+        this.sasImplUtil = new BlobSasImplUtil(values, containerName, BLOB_NAME_PLACEHOLDER, null, null);
+        this.expiryTime = values.getExpiryTime();
+        if (factory.getStorageSharedKeyCredential() != null) {
+            this.parts = createParts(null);
+        } else {
+            // Fails on values which cannot be signed now rather than once the first key has been requested.
+            sasImplUtil.getStringToSign(factory.getAccountName());
+        }
+    }
+
+    /**
+     * Mints a SAS for a blob. If a user delegation key must be requested first, this waits for it to be received.
+     *
+     * @param blobName The name of the blob.
+     * @return A String representing the SAS.
+     * @throws IllegalArgumentException If the SAS would outlive the longest lived user delegation key the service
+     * grants.
+     */
+    public String generateSas(String blobName) {
+        checkBlobName(blobName);
+        return getParts().sign(blobName, MACS.get());
+    }
+
+    /**
+     * Mints a SAS for each of the given blobs. If a user delegation key must be requested first, this waits for it to
+     * be received.
+     *
+     * @param blobNames The names of the blobs.
+     * @return The SAS for each blob, in the order of {@code blobNames}.
+     * @throws IllegalArgumentException If the SAS would outlive the longest lived user delegation key the service
+     * grants.
+     */
+    public List<String> generateSas(Iterable<String> blobNames) {
+        StorageImplUtils.assertNotNull("blobNames", blobNames);
+        SasParts sasParts = getParts();
+        return sign(sasParts, blobNames);
+    }
+
+    /**
+     * Mints a SAS for a blob, once a user delegation key has been received if one must be requested first.
+     *
+     * @param blobName The name of the blob.
+     * @return A reactive response emitting the SAS.
+     * @throws IllegalArgumentException If the SAS would outlive the longest lived user delegation key the service
+     * grants.
+     */
+    public Mono<String> generateSasAsync(String blobName) {
+        try {
+            checkBlobName(blobName);
+            return getPartsAsync().map(sasParts -> sasParts.sign(blobName, MACS.get()));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    /**
+     * Mints a SAS for each of the given blobs, once a user delegation key has been received if one must be requested
+     * first.
+     *
+     * @param blobNames The names of the blobs.
+     * @return A reactive response emitting the SAS for each blob, in the order of {@code blobNames}.
+     * @throws IllegalArgumentException If the SAS would outlive the longest lived user delegation key the service
+     * grants.
+     */
+    public Mono<List<String>> generateSasAsync(Iterable<String> blobNames) {
+        try {
+            StorageImplUtils.assertNotNull("blobNames", blobNames);
+            return getPartsAsync().map(sasParts -> sign(sasParts, blobNames));
+        } catch (RuntimeException ex) {
+            return monoError(logger, ex);
+        }
+    }
+
+    private List<String> sign(SasParts sasParts, Iterable<String> blobNames) {
+        MacHolder mac = MACS.get();
+        List<String> sasTokens = new ArrayList<>();
+        for (String blobName : blobNames) {
+            checkBlobName(blobName);
+            sasTokens.add(sasParts.sign(blobName, mac));
+        }
+        return sasTokens;
+    }
+
+    private void checkBlobName(String blobName) {
+        if (CoreUtils.isNullOrEmpty(blobName)) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'blobName' cannot be null or empty."));
+        }
+    }
+
+    private SasParts getParts() {
+        if (factory.getStorageSharedKeyCredential() != null) {
+            return parts;
+        }
+
+        return getParts(factory.getUserDelegationKey(expiryTime));
+    }
+
+    private Mono<SasParts> getPartsAsync() {
+        if (factory.getStorageSharedKeyCredential() != null) {
+            return Mono.just(parts);
+        }
+
+        return factory.getUserDelegationKeyAsync(expiryTime).map(this::getParts);
+    }
+
+    private SasParts getParts(UserDelegationKey key) {
+        SasParts current = parts;
+        if (current == null || current.userDelegationKey != key) {
+            current = createParts(key);
+            parts = current;
+        }
+        return current;
+    }
+
+    /*
+    BlobSasImplUtil settles its state each time it is used, so it is only used by one thread at a time.
+     */
+    private synchronized SasParts createParts(UserDelegationKey key) {
+        String accountName = factory.getAccountName();
+        String stringToSign = key == null
+            ? sasImplUtil.getStringToSign(accountName)
+            : sasImplUtil.getUserDelegationStringToSign(key, accountName);
+        String sas = sasImplUtil.encodeSas(key, BLOB_NAME_PLACEHOLDER);
+
+        int blobNameIndex = stringToSign.indexOf(BLOB_NAME_PLACEHOLDER);
+        int signatureIndex = sas.indexOf(SIGNATURE_PLACEHOLDER);
+        if (blobNameIndex < 0 || stringToSign.indexOf(BLOB_NAME_PLACEHOLDER, blobNameIndex + 1) >= 0
+            || signatureIndex < 0) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(
+                "The SAS signature values cannot contain the null character."));
+        }
+
+        return new SasParts(key, factory.getStorageSharedKeyCredential(), stringToSign.substring(0, blobNameIndex),
+            stringToSign.substring(blobNameIndex + BLOB_NAME_PLACEHOLDER.length()),
+            sas.substring(0, signatureIndex + SIGNATURE_PARAMETER.length()),
+            sas.substring(signatureIndex + SIGNATURE_PLACEHOLDER.length()));
+    }
+
+    /*
+    The parts of the string to sign and the SAS around the blob name and the signature for one signing key.
+     */
+    private static final class SasParts {
+        private final UserDelegationKey userDelegationKey;
+        private final StorageSharedKeyCredential storageSharedKeyCredential;
+        private final SecretKeySpec keySpec;
+        private final String stringToSignPrefix;
+        private final String stringToSignSuffix;
+        private final byte[] stringToSignPrefixBytes;
+        private final byte[] stringToSignSuffixBytes;
+        private final String sasPrefix;
+        private final String sasSuffix;
+
+        SasParts(UserDelegationKey userDelegationKey, StorageSharedKeyCredential storageSharedKeyCredential,
+            String stringToSignPrefix, String stringToSignSuffix, String sasPrefix, String sasSuffix) {
+            this.userDelegationKey = userDelegationKey;
+            this.storageSharedKeyCredential = storageSharedKeyCredential;
+            this.keySpec = userDelegationKey == null ? null
+                : new SecretKeySpec(Base64.getDecoder().decode(userDelegationKey.getValue()), HMAC_SHA256);
+            this.stringToSignPrefix = stringToSignPrefix;
+            this.stringToSignSuffix = stringToSignSuffix;
+            this.stringToSignPrefixBytes = stringToSignPrefix.getBytes(StandardCharsets.UTF_8);
+            this.stringToSignSuffixBytes = stringToSignSuffix.getBytes(StandardCharsets.UTF_8);
+            this.sasPrefix = sasPrefix;
+            this.sasSuffix = sasSuffix;
+        }
+
+        String sign(String blobName, MacHolder macHolder) {
+            String canonicalBlobName = blobName.replace('\\', '/');
+            String signature;
+            if (keySpec == null) {
+                // The credential does not expose its key, so it signs the whole string itself.
+                signature = storageSharedKeyCredential.computeHmac256(
+                    stringToSignPrefix + canonicalBlobName + stringToSignSuffix);
+            } else {
+                Mac mac = macHolder.getMac(keySpec);
+                mac.update(stringToSignPrefixBytes);
+                mac.update(canonicalBlobName.getBytes(StandardCharsets.UTF_8));
+                mac.update(stringToSignSuffixBytes);
+                signature = Base64.getEncoder().encodeToString(mac.doFinal());
+            }
+
+            return sasPrefix + Utility.urlEncode(signature) + sasSuffix;
+        }
+    }
+
+    /*
+    A Mac for each thread, initialized again only when the thread signs with another key.
+     */
+    private static final class MacHolder {
+        private Mac mac;
+        private SecretKeySpec keySpec;
+
+        Mac getMac(SecretKeySpec keySpec) {
+            try {
+                if (mac == null) {
+                    mac = Mac.getInstance(HMAC_SHA256);
+                }
+                if (this.keySpec != keySpec) {
+                    mac.init(keySpec);
+                    this.keySpec = keySpec;
+                }
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -31,9 +33,10 @@ import java.util.function.Function;
  * </p>
  */
 final class ReliableDownload {
+    private static final int STALL_CHECKS_PER_INTERVAL = 4;
+
     private final ClientLogger logger = new ClientLogger(ReliableDownload.class);
 
-    private static final Duration TIMEOUT_VALUE = Duration.ofSeconds(60);
     private final BlobsDownloadResponse rawResponse;
     private final DownloadRetryOptions options;
     private final HttpGetterInfo info;
@@ -83,7 +86,7 @@ final class ReliableDownload {
         add 1 before calling into tryContinueFlux, we set the initial value to -1.
          */
         Flux<ByteBuffer> value = (options.getMaxRetryRequests() == 0)
-            ? rawResponse.getValue().timeout(TIMEOUT_VALUE)
+            ? detectStalls(rawResponse.getValue())
             : applyReliableDownload(rawResponse.getValue(), -1, options);
 
         return value.switchIfEmpty(Flux.just(ByteBuffer.wrap(new byte[0])));
@@ -118,8 +121,7 @@ final class ReliableDownload {
 
     private Flux<ByteBuffer> applyReliableDownload(Flux<ByteBuffer> data, int currentRetryCount,
         DownloadRetryOptions options) {
-        return data
-            .timeout(TIMEOUT_VALUE)
+        return detectStalls(data)
             .doOnNext(buffer -> {
                 /*
                 Update how much data we have received in case we need to retry and propagate to the user the data we
@@ -146,4 +148,68 @@ final class ReliableDownload {
                 return tryContinueFlux(t2, currentRetryCount + 1, options);
             });
     }
+
+    /*
+    Fails the stream with a TimeoutException if fewer than the configured minimum number of bytes arrive during a
+    stall detection interval. A single periodic check per stream replaces a per-buffer timeout, which would schedule
+    and cancel a timer task for every buffer received. The check runs several times per interval over the bytes of the
+    last whole interval, so a stall is detected soon after it has lasted an interval rather than up to two intervals
+    later. When a stall is detected the network stream is cancelled and the TimeoutException is surfaced so
+    applyReliableDownload can resume from the current offset.
+
+    Only time spent waiting on the network counts. While the subscriber has no outstanding demand, for instance
+    because it is writing the previous buffers to a slow disk, no data is read from the connection, so the stall
+    clock only runs once demand has been outstanding for a whole interval.
+     */
+    private Flux<ByteBuffer> detectStalls(Flux<ByteBuffer> data) {
+        Duration interval = options.getStallDetectionInterval();
+        long minimumBytes = options.getMinimumBytesPerInterval();
+        int checks = interval.toNanos() >= STALL_CHECKS_PER_INTERVAL ? STALL_CHECKS_PER_INTERVAL : 1;
+        Duration period = interval.dividedBy(checks);
+
+        return Flux.defer(() -> {
+            AtomicLong bytesInPeriod = new AtomicLong();
+            AtomicBoolean stalled = new AtomicBoolean();
+            AtomicLong outstandingDemand = new AtomicLong();
+            // The System.nanoTime() at which outstanding demand was last raised from none.
+            AtomicLong demandSince = new AtomicLong();
+
+            // The bytes received in each of the last periods. Ticks are delivered one at a time.
+            long[] window = new long[checks];
+            Mono<Long> watchdog = Flux.interval(period, period)
+                .filter(tick -> {
+                    window[(int) (tick % checks)] = bytesInPeriod.getAndSet(0);
+                    long bytesInInterval = 0;
+                    for (long bytes : window) {
+                        bytesInInterval += bytes;
+                    }
+                    return tick >= checks - 1 && bytesInInterval < minimumBytes && outstandingDemand.get() > 0
+                        && System.nanoTime() - demandSince.get() >= interval.toNanos();
+                })
+                .next()
+                .doOnNext(tick -> stalled.set(true));
+
+            return data
+                .doOnRequest(requested -> {
+                    long now = System.nanoTime();
+                    if (outstandingDemand.getAndAccumulate(requested, ReliableDownload::addCapped) == 0) {
+                        demandSince.set(now);
+                    }
+                })
+                .doOnNext(buffer -> {
+                    bytesInPeriod.addAndGet(buffer.remaining());
+                    outstandingDemand.updateAndGet(demand -> demand == Long.MAX_VALUE ? demand : demand - 1);
+                })
+                .takeUntilOther(watchdog)
+                .concatWith(Mono.defer(() -> stalled.get()
+                    ? Mono.error(new TimeoutException("Download stalled: fewer than " + minimumBytes
+                        + " bytes were received in " + interval + "."))
+                    : Mono.empty()));
+        });
+    }
+
+    private static long addCapped(long demand, long requested) {
+        long sum = demand + requested;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
 }